@@ -0,0 +1,116 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: BenchmarkDispatcher.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
+/**
+ * It is the dispatcher used by the benchmarks of the scheduling policies. It
+ * has a process table and a clock, but no process in execution, so the
+ * policies are measured without preemptions and without producing states.
+ *
+ * @version 1.0
+ */
+public class BenchmarkDispatcher implements ProcessDispatcherInterface {
+
+	/**
+	 * The process table.
+	 */
+	private HashMap<Integer, PCB> pcbTable = new HashMap<Integer, PCB>();
+
+	/**
+	 * The current time.
+	 */
+	private int currentTime = 0;
+
+	/**
+	 * It activates a process: it is added to the process table and inserted
+	 * in the ready queue of the policy, like the Scheduler does.
+	 *
+	 * @param policy
+	 *            The scheduling policy.
+	 * @param pcb
+	 *            The activated process.
+	 */
+	public void activate(SchedulingPolicy policy, PCB pcb) {
+		pcbTable.put(pcb.getSimulatedProcess().getId(), pcb);
+		policy.insert(pcb);
+	}
+
+	/**
+	 * It increases the current time of a tick.
+	 */
+	public void tick() {
+		currentTime++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public State increaseSchedulerTime(int time) {
+		currentTime = currentTime + time;
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public PCB getPCBCurrent() {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getCurrentTime() {
+		return currentTime;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public HashMap<Integer, PCB> getPCBTable() {
+		return pcbTable;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void preemptionPCBCurrent() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void removePCBCurrent() {
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: SchedulingPolicyBenchmark.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.1
+ *
+ * Modifies:
+ * v.1.1 (17/10/2026): Added the Linux (Completely Fair Scheduler) policy.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+
+/**
+ * It measures the operations of the scheduling policies on a ready queue of
+ * a given depth. The processes have execution times between 1 and 100 and
+ * priorities spread over a range centered in 0 (1 means all the processes
+ * have the same priority).
+ *
+ * <ul>
+ * <li>dispatch: a process is extracted and inserted again, so the depth does
+ * not change. It is the cost of a dispatch of the Scheduler.</li>
+ * <li>getReadyQueue: the copy of the ready queue done for every state.</li>
+ * <li>size: the size of the ready queue, asked at every iteration of the
+ * Scheduler.</li>
+ * </ul>
+ *
+ * The allocation rate is reported with the gc profiler (-prof gc).
+ *
+ * @version 1.1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingPolicyBenchmark {
+
+	@Param({ "First In First Out", "Shortest Job First",
+			"Shortest Remaining Time First", "Round Robin",
+			"Priority Round Robin", "Preemptive on Priority Round Robin",
+			"Linux", "Highest Priority First", "Preemptive Highest Priority First",
+			"Highest Remaining Ratio First", "Multilevel Feedback",
+			"Preemptive Multilevel Feedback",
+			"Multilevel Feedback Dynamic Quantum",
+			"Preemptive Multilevel Feedback Dynamic Quantum" })
+	public String policy;
+
+	@Param({ "10", "1000", "100000", "1000000" })
+	public int depth;
+
+	@Param({ "1", "101" })
+	public int prioritySpread;
+
+	/**
+	 * The measured policy.
+	 */
+	private SchedulingPolicy schedulingPolicy;
+
+	/**
+	 * The dispatcher of the policy.
+	 */
+	private BenchmarkDispatcher dispatcher;
+
+	/**
+	 * It fills the ready queue.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		Configuration conf = new Configuration("First In First Out", policy,
+				null, null, 2);
+		schedulingPolicy = RainbowConfig.getSchedulingPolicy(conf);
+		dispatcher = new BenchmarkDispatcher();
+		schedulingPolicy.setProcessDispatcherInterface(dispatcher);
+		SimulationContext context = new SimulationContext();
+		Random random = new Random(1);
+		int spread = Math.min(prioritySpread, RainbowConfig.getMaxPriority()
+				- RainbowConfig.getMinPriority() + 1);
+		for (int i = 0; i < depth; i++) {
+			SimulatedProcess process = new SimulatedProcess(context, "P" + i,
+					0, 1 + random.nextInt(100), random.nextInt(spread)
+							- spread / 2);
+			dispatcher.activate(schedulingPolicy, new PCB(process));
+		}
+	}
+
+	@Benchmark
+	public PCB dispatch() {
+		dispatcher.tick();
+		PCB pcb = schedulingPolicy.extract();
+		schedulingPolicy.insert(pcb);
+		return pcb;
+	}
+
+	@Benchmark
+	public void getReadyQueue(Blackhole blackhole) {
+		blackhole.consume(schedulingPolicy.getReadyQueue());
+	}
+
+	@Benchmark
+	public int size() {
+		return schedulingPolicy.size();
+	}
+}
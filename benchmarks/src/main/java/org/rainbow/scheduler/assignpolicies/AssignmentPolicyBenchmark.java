@@ -0,0 +1,106 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: AssignmentPolicyBenchmark.java
+ * Package: scheduler.assignpolicies
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.scheduler.assignpolicies;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+
+/**
+ * It measures the operations of the assignment policies on a queue of
+ * requests of a given depth, with the priorities spread over a range
+ * centered in 0.
+ *
+ * <ul>
+ * <li>cycle: a request is extracted and inserted again, so the depth does
+ * not change. It is the cost of a release followed by a refused request.</li>
+ * <li>getRequestsQueue: the copy of the queue done for every state.</li>
+ * </ul>
+ *
+ * The allocation rate is reported with the gc profiler (-prof gc).
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentPolicyBenchmark {
+
+	@Param({ "First In First Out", "Random", "Highest Priority First" })
+	public String policy;
+
+	@Param({ "10", "1000", "100000", "1000000" })
+	public int depth;
+
+	@Param({ "1", "101" })
+	public int prioritySpread;
+
+	/**
+	 * The measured policy.
+	 */
+	private AssignmentPolicy assignmentPolicy;
+
+	/**
+	 * It fills the queue of requests.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		Configuration conf = new Configuration(policy, "First In First Out",
+				null, null);
+		assignmentPolicy = RainbowConfig.getAssignmentPolicy(conf);
+		SimulationContext context = new SimulationContext();
+		Random random = new Random(1);
+		int spread = Math.min(prioritySpread, RainbowConfig.getMaxPriority()
+				- RainbowConfig.getMinPriority() + 1);
+		for (int i = 0; i < depth; i++) {
+			SimulatedProcess process = new SimulatedProcess(context, "P" + i,
+					0, 1, random.nextInt(spread) - spread / 2);
+			assignmentPolicy.insert(new Request(new PCB(process)));
+		}
+	}
+
+	@Benchmark
+	public Request cycle() {
+		Request request = assignmentPolicy.extract();
+		assignmentPolicy.insert(request);
+		return request;
+	}
+
+	@Benchmark
+	public void getRequestsQueue(Blackhole blackhole) {
+		blackhole.consume(assignmentPolicy.getRequestsQueue());
+	}
+}
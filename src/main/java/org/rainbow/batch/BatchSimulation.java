@@ -0,0 +1,181 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: BatchSimulation.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.4
+ *
+ * Modifies:
+ * v.1.4 (17/10/2026): The ticks of every core are accumulated.
+ * v.1.3 (17/10/2026): The states are computed without the queues. Number of states.
+ * v.1.2 (17/10/2026): The states are consumed while the scheduler produces them.
+ * v.1.1 (17/10/2026): The statistics are accumulated while the ticks are produced.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import org.rainbow.data.*;
+import org.rainbow.scheduler.*;
+import org.rainbow.simulation.*;
+
+/**
+ * It executes a simulation until the end without the GUI and computes its
+ * statistics. The statistics are the same shown by the GUI when the
+ * simulation is moved to the final state.
+ *
+ * @version 1.4
+ */
+public class BatchSimulation {
+
+	/**
+	 * The name of the simulation (usually the configuration file).
+	 */
+	private String name;
+
+	/**
+	 * The simulated configuration.
+	 */
+	private Configuration configuration;
+
+	/**
+	 * The final state of the simulation.
+	 */
+	private State last = null;
+
+	/**
+	 * The duration of the simulation expressed in tick of time.
+	 */
+	private int duration = 0;
+
+	/**
+	 * The number of states produced by the scheduler.
+	 */
+	private int states = 0;
+
+	/**
+	 * The statistics of the simulation.
+	 */
+	private Statistics statistics = null;
+
+	/**
+	 * It creates a simulation to execute without the GUI.
+	 *
+	 * @param name
+	 *            The name of the simulation.
+	 * @param configuration
+	 *            The configuration to simulate.
+	 */
+	public BatchSimulation(String name, Configuration configuration) {
+		this.name = name;
+		this.configuration = configuration;
+	}
+
+	/**
+	 * It executes the simulation until the end and computes the statistics.
+	 *
+	 * @return the statistics of the simulation.
+	 */
+	public Statistics run() {
+		Scheduler scheduler = Evolution.createScheduler(configuration);
+		// only the final state is used, the others need no queues.
+		scheduler.setSnapshots(false);
+		StatisticsAccumulator executed = new StatisticsAccumulator();
+		// the states are aggregated as they are produced, none is kept.
+		while (scheduler.hasNext()) {
+			State s = scheduler.next();
+			executed.add(s.getRunningCores(), s.getDuration());
+			last = s;
+			states++;
+		}
+		duration = executed.getTicks();
+		if (last == null) {
+			return null;
+		}
+		// The last state is the final state and it does not execute any
+		// process (see Simulation.statistics()).
+		executed.remove(last.getRunningCores(), 1);
+		statistics = new Statistics(last, executed);
+		return statistics;
+	}
+
+	/**
+	 * It returns the name of the simulation.
+	 *
+	 * @return the name of the simulation.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * It returns the simulated configuration.
+	 *
+	 * @return the configuration.
+	 */
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * It returns the duration of the simulation.
+	 *
+	 * @return the duration of the simulation expressed in tick of time.
+	 */
+	public int getDuration() {
+		return duration;
+	}
+
+	/**
+	 * It returns the number of states produced by the scheduler.
+	 *
+	 * @return the number of states.
+	 */
+	public int getStates() {
+		return states;
+	}
+
+	/**
+	 * It returns true if the simulation terminated in deadlock.
+	 *
+	 * @return true if the simulation terminated in deadlock.
+	 */
+	public boolean isDeadlock() {
+		return last != null && last.getDeadlock();
+	}
+
+	/**
+	 * It returns the final state of the simulation.
+	 *
+	 * @return the final state, null if the simulation was not executed.
+	 */
+	public State getFinalState() {
+		return last;
+	}
+
+	/**
+	 * It returns the statistics of the simulation.
+	 *
+	 * @return the statistics, null if the simulation was not executed.
+	 */
+	public Statistics getStatistics() {
+		return statistics;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: ConfigurationReader.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.2
+ *
+ * Modifies:
+ * v.1.2 (17/10/2026): The file is parsed by ConfigurationParser.
+ * v.1.1 (17/10/2026): The names of processes and resources are indexed.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import java.io.*;
+
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+import org.xml.sax.SAXParseException;
+
+/**
+ * It reads a configuration file saved by Rainbow without any window. The file
+ * is parsed by ConfigurationParser, like FileManager.openFile() does, but
+ * errors are printed instead of being shown in a dialog. Each configuration
+ * read has its own SimulationContext, so its ids do not depend on the other
+ * configurations.
+ *
+ * @version 1.2
+ */
+public class ConfigurationReader {
+
+	/**
+	 * The last error found reading a file.
+	 */
+	private String error = null;
+
+	/**
+	 * It creates a reader of configuration files.
+	 */
+	public ConfigurationReader() {
+	}
+
+	/**
+	 * It returns the last error found reading a file, null if the last file was
+	 * read correctly.
+	 *
+	 * @return the last error found.
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * It reads a configuration saved in xml format.
+	 *
+	 * @param file
+	 *            The configuration file.
+	 * @return The configuration, null if the file is not valid.
+	 */
+	public Configuration read(File file) {
+		ConfigurationParser parser = new ConfigurationParser();
+		Configuration conf;
+		error = null;
+		try {
+			conf = parser.parse(file, new SimulationContext());
+		} catch (SAXParseException err) {
+			error = "Parsing error, line " + err.getLineNumber() + ": "
+					+ err.getMessage();
+			return null;
+		} catch (Exception e) {
+			error = "Configuration file corrupted!";
+			return null;
+		}
+		error = parser.getError();
+		return conf;
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: MacroBenchmark.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.2
+ *
+ * Modifies:
+ * v.1.2 (17/10/2026): The ticks and the states are compared with the baseline.
+ * v.1.1 (17/10/2026): The ticks of every core are accumulated.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import java.io.*;
+import java.lang.management.*;
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
+/**
+ * It measures whole simulations as the GUI executes them: every tick is
+ * requested to an Evolution and the statistics are computed at the end. The
+ * workloads are configuration files and synthetic configurations scaled from
+ * 10 processes. For each workload it records the time, the states produced
+ * per second and the peak of the heap, and it compares them with a baseline
+ * saved by a previous run.
+ *
+ * A workload is simulated once before the measure and then it is repeated
+ * until it lasts at least MIN_TIME milliseconds. The fastest run is kept,
+ * since the slower ones measure the noise of the machine.
+ *
+ * @version 1.2
+ */
+public class MacroBenchmark {
+
+	/**
+	 * The minimum time of the measurement of a workload, in milliseconds.
+	 */
+	public static final long MIN_TIME = 200;
+
+	/**
+	 * The peak of the heap is compared only above this slack, in MB, so the
+	 * small workloads do not fail for the noise of the garbage collector.
+	 */
+	public static final long HEAP_SLACK = 16;
+
+	/**
+	 * The results of the measured workloads.
+	 */
+	private ArrayList<Result> results = new ArrayList<Result>();
+
+	/**
+	 * It creates a macro benchmark.
+	 */
+	public MacroBenchmark() {
+	}
+
+	/**
+	 * It measures a workload and keeps its result.
+	 *
+	 * @param name
+	 *            The name of the workload.
+	 * @param conf
+	 *            The configuration to simulate.
+	 * @return the result of the workload.
+	 */
+	public Result measure(String name, Configuration conf) {
+		Result result = new Result(name);
+		// a first run, not measured, warms up the JIT compiler.
+		simulate(conf, result);
+		resetPeakHeap();
+		long start = System.nanoTime();
+		long best = Long.MAX_VALUE;
+		do {
+			long run = System.nanoTime();
+			simulate(conf, result);
+			best = Math.min(best, System.nanoTime() - run);
+		} while (System.nanoTime() - start < MIN_TIME * 1000000L);
+		result.milliseconds = best / 1000000.0;
+		result.peakHeapMB = peakHeap() / (1024 * 1024);
+		results.add(result);
+		return result;
+	}
+
+	/**
+	 * It simulates a configuration until the end, tick by tick, and computes
+	 * its statistics.
+	 */
+	private void simulate(Configuration conf, Result result) {
+		Evolution evolution = new Evolution(conf);
+		StatisticsAccumulator executed = new StatisticsAccumulator();
+		State s, last = null;
+		int states = 0;
+		while ((s = evolution.forward()) != null) {
+			executed.add(s.getRunningCores(), 1);
+			if (s != last) {
+				states++;
+				last = s;
+			}
+		}
+		if (last != null) {
+			// the last tick is the final state (see Simulation.statistics()).
+			executed.remove(last.getRunningCores(), 1);
+			new Statistics(last, executed);
+		}
+		result.ticks = executed.getTicks() + (last != null ? 1 : 0);
+		result.states = states;
+	}
+
+	/**
+	 * It returns the results of the measured workloads.
+	 *
+	 * @return the results.
+	 */
+	public ArrayList<Result> getResults() {
+		return results;
+	}
+
+	/**
+	 * It writes the results in CSV format. The output can be read as a
+	 * baseline.
+	 *
+	 * @param out
+	 *            The output.
+	 * @throws IOException
+	 *             if the output cannot be written.
+	 */
+	public void write(Writer out) throws IOException {
+		out.write("workload,ticks,states,milliseconds,statesPerSecond,peakHeapMB\n");
+		for (int i = 0; i < results.size(); i++) {
+			Result r = results.get(i);
+			out.write(r.name + "," + r.ticks + "," + r.states + ","
+					+ String.format(Locale.ROOT, "%.3f", r.milliseconds) + ","
+					+ String.format(Locale.ROOT, "%.0f", r.getStatesPerSecond())
+					+ "," + r.peakHeapMB + "\n");
+		}
+		out.flush();
+	}
+
+	/**
+	 * It compares the results with a baseline. The throughput regresses if
+	 * the geometric mean of the ratios between the states per second of each
+	 * workload and of the baseline decreases more than the threshold: a
+	 * single small workload is too sensitive to the noise of the machine to
+	 * fail alone, so the workloads slower than the threshold are only
+	 * reported as warnings. The memory regresses if the peak of the heap of a
+	 * workload increases more than the threshold (plus HEAP_SLACK). A workload
+	 * whose ticks or states differ from the baseline simulates something else:
+	 * it is reported as a mismatch and its time and heap are not compared,
+	 * until the baseline is written again. The workloads not in the baseline
+	 * are not compared.
+	 *
+	 * @param baseline
+	 *            The CSV written by write().
+	 * @param threshold
+	 *            The allowed relative change (0.25 means 25%).
+	 * @param warnings
+	 *            The list where the slower workloads are added.
+	 * @return the description of the regressions, empty if there is none.
+	 * @throws IOException
+	 *             if the baseline cannot be read.
+	 */
+	public ArrayList<String> compare(Reader baseline, double threshold,
+			ArrayList<String> warnings) throws IOException {
+		HashMap<String, String[]> rows = new HashMap<String, String[]>();
+		BufferedReader in = new BufferedReader(baseline);
+		String line = in.readLine();
+		while ((line = in.readLine()) != null) {
+			String[] fields = line.split(",");
+			if (fields.length == 6) {
+				rows.put(fields[0], fields);
+			}
+		}
+		ArrayList<String> regressions = new ArrayList<String>();
+		double logRatios = 0;
+		int compared = 0;
+		for (int i = 0; i < results.size(); i++) {
+			Result r = results.get(i);
+			String[] row = rows.get(r.name);
+			if (row == null) {
+				continue;
+			}
+			if (r.ticks != Integer.parseInt(row[1])
+					|| r.states != Integer.parseInt(row[2])) {
+				regressions.add(r.name + ": " + r.ticks + " ticks and "
+						+ r.states + " states, baseline " + row[1]
+						+ " ticks and " + row[2] + " states");
+				continue;
+			}
+			double rate = Double.parseDouble(row[4]);
+			long heap = Long.parseLong(row[5]);
+			if (rate > 0 && r.getStatesPerSecond() > 0) {
+				logRatios += Math.log(r.getStatesPerSecond() / rate);
+				compared++;
+			}
+			if (r.getStatesPerSecond() < rate * (1 - threshold)) {
+				warnings.add(r.name
+						+ ": "
+						+ String.format(Locale.ROOT, "%.0f",
+								r.getStatesPerSecond())
+						+ " states/s, baseline " + row[4]);
+			}
+			if (r.peakHeapMB > heap * (1 + threshold) + HEAP_SLACK) {
+				regressions.add(r.name + ": " + r.peakHeapMB
+						+ " MB of heap, baseline " + row[5]);
+			}
+		}
+		if (compared > 0) {
+			double mean = Math.exp(logRatios / compared);
+			if (mean < 1 - threshold) {
+				regressions.add("states/s are "
+						+ String.format(Locale.ROOT, "%.0f%%", mean * 100)
+						+ " of the baseline (geometric mean of " + compared
+						+ " workloads)");
+			}
+		}
+		return regressions;
+	}
+
+	/**
+	 * It returns the peak of the heap since the last reset, in bytes.
+	 *
+	 * @return the peak of the heap.
+	 */
+	public static long peakHeap() {
+		long peak = 0;
+		Iterator<MemoryPoolMXBean> it = ManagementFactory
+				.getMemoryPoolMXBeans().iterator();
+		while (it.hasNext()) {
+			MemoryPoolMXBean pool = it.next();
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * It collects the garbage and resets the peak of the heap.
+	 */
+	public static void resetPeakHeap() {
+		System.gc();
+		Iterator<MemoryPoolMXBean> it = ManagementFactory
+				.getMemoryPoolMXBeans().iterator();
+		while (it.hasNext()) {
+			it.next().resetPeakUsage();
+		}
+	}
+
+	/**
+	 * It is the measure of a workload.
+	 */
+	public static class Result {
+
+		/**
+		 * The name of the workload.
+		 */
+		private String name;
+
+		/**
+		 * The ticks of the simulation.
+		 */
+		private int ticks;
+
+		/**
+		 * The states of the simulation.
+		 */
+		private int states;
+
+		/**
+		 * The time of the fastest simulation.
+		 */
+		private double milliseconds;
+
+		/**
+		 * The peak of the heap.
+		 */
+		private long peakHeapMB;
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * It returns the name of the workload.
+		 *
+		 * @return the name of the workload.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * It returns the states produced per second.
+		 *
+		 * @return the states per second.
+		 */
+		public double getStatesPerSecond() {
+			return milliseconds == 0 ? 0 : states * 1000 / milliseconds;
+		}
+	}
+}
@@ -0,0 +1,377 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: ParameterSweep.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.4
+ *
+ * Modifies:
+ * v.1.4 (17/10/2026): The seed of the base configuration is kept.
+ * v.1.3 (17/10/2026): Added the load balancing of the run queues per core to the swept parameters.
+ * v.1.2 (17/10/2026): Added the number of cores to the swept parameters.
+ * v.1.1 (17/10/2026): The recovery from the deadlocks of the base configuration is kept.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+import org.rainbow.scheduler.*;
+
+/**
+ * It simulates a configuration for every combination of scheduling policy,
+ * assignment policy, time slice, number of levels of the multilevel feedback
+ * policies, number of cores and load balancing of the run queues per core.
+ * The simulations are independent and they are executed in parallel by a
+ * fork-join pool.
+ *
+ * A parameter which is not swept keeps the value of the base configuration.
+ * The time slice is swept only for time-sharing policies and the number of
+ * levels only for multilevel feedback policies. The balancing interval, the
+ * balancing threshold and the migration cost are swept only if the base
+ * configuration has run queues per core and the CPU has more cores. If the
+ * base configuration uses
+ * the immediate ceiling priority protocol, the scheduling policies which do
+ * not support it are skipped, and the CPU has a single core.
+ *
+ * @version 1.4
+ */
+public class ParameterSweep {
+
+	/**
+	 * The name of the base configuration.
+	 */
+	private String name;
+
+	/**
+	 * The base configuration.
+	 */
+	private Configuration base;
+
+	/**
+	 * The scheduling policies to simulate. Null for the base one.
+	 */
+	private String[] schedulingPolicies = null;
+
+	/**
+	 * The assignment policies to simulate. Null for the base one.
+	 */
+	private String[] assignmentPolicies = null;
+
+	/**
+	 * The time slices to simulate. Null for the base one.
+	 */
+	private int[] timeslices = null;
+
+	/**
+	 * The numbers of levels of multilevel feedback policies to simulate. Null
+	 * for the base one.
+	 */
+	private int[] levels = null;
+
+	/**
+	 * The numbers of cores to simulate. Null for the base one.
+	 */
+	private int[] cores = null;
+
+	/**
+	 * The balancing intervals of the run queues per core to simulate. Null for
+	 * the base one.
+	 */
+	private int[] balanceIntervals = null;
+
+	/**
+	 * The balancing thresholds of the run queues per core to simulate. Null
+	 * for the base one.
+	 */
+	private int[] balanceThresholds = null;
+
+	/**
+	 * The migration costs of the run queues per core to simulate. Null for the
+	 * base one.
+	 */
+	private int[] migrationCosts = null;
+
+	/**
+	 * It creates a sweep over a configuration.
+	 *
+	 * @param name
+	 *            The name of the base configuration.
+	 * @param base
+	 *            The base configuration.
+	 */
+	public ParameterSweep(String name, Configuration base) {
+		this.name = name;
+		this.base = base;
+	}
+
+	/**
+	 * It sets the scheduling policies to simulate.
+	 *
+	 * @param schedulingPolicies
+	 *            The names of the scheduling policies.
+	 */
+	public void setSchedulingPolicies(String[] schedulingPolicies) {
+		this.schedulingPolicies = schedulingPolicies;
+	}
+
+	/**
+	 * It sets the assignment policies to simulate.
+	 *
+	 * @param assignmentPolicies
+	 *            The names of the assignment policies.
+	 */
+	public void setAssignmentPolicies(String[] assignmentPolicies) {
+		this.assignmentPolicies = assignmentPolicies;
+	}
+
+	/**
+	 * It sets the time slices to simulate.
+	 *
+	 * @param timeslices
+	 *            The time slices.
+	 */
+	public void setTimeslices(int[] timeslices) {
+		this.timeslices = timeslices;
+	}
+
+	/**
+	 * It sets the numbers of levels of multilevel feedback policies to
+	 * simulate.
+	 *
+	 * @param levels
+	 *            The numbers of levels.
+	 */
+	public void setLevels(int[] levels) {
+		this.levels = levels;
+	}
+
+	/**
+	 * It sets the numbers of cores to simulate.
+	 *
+	 * @param cores
+	 *            The numbers of cores.
+	 */
+	public void setCores(int[] cores) {
+		this.cores = cores;
+	}
+
+	/**
+	 * It sets the balancing intervals of the run queues per core to simulate.
+	 *
+	 * @param balanceIntervals
+	 *            The balancing intervals.
+	 */
+	public void setBalanceIntervals(int[] balanceIntervals) {
+		this.balanceIntervals = balanceIntervals;
+	}
+
+	/**
+	 * It sets the balancing thresholds of the run queues per core to
+	 * simulate.
+	 *
+	 * @param balanceThresholds
+	 *            The balancing thresholds.
+	 */
+	public void setBalanceThresholds(int[] balanceThresholds) {
+		this.balanceThresholds = balanceThresholds;
+	}
+
+	/**
+	 * It sets the migration costs of the run queues per core to simulate.
+	 *
+	 * @param migrationCosts
+	 *            The migration costs.
+	 */
+	public void setMigrationCosts(int[] migrationCosts) {
+		this.migrationCosts = migrationCosts;
+	}
+
+	/**
+	 * It returns the simulations of the sweep, one for each combination of
+	 * parameters, without executing them.
+	 *
+	 * @return the list of simulations.
+	 */
+	public ArrayList<BatchSimulation> getSimulations() {
+		String[] sps = schedulingPolicies != null ? schedulingPolicies
+				: new String[] { base.getSchedulingPolicy() };
+		String[] aps = assignmentPolicies != null ? assignmentPolicies
+				: new String[] { base.getAssignmentPolicy() };
+		int[] tss = timeslices != null ? timeslices : new int[] { base
+				.getTimeslice() };
+		int[] lvs = levels != null ? levels : new int[] { base.getLevels() };
+		int[] crs = cores != null ? cores : new int[] { base.getCores() };
+		int[] bis = balanceIntervals != null ? balanceIntervals
+				: new int[] { base.getBalanceInterval() };
+		int[] bts = balanceThresholds != null ? balanceThresholds
+				: new int[] { base.getBalanceThreshold() };
+		int[] mcs = migrationCosts != null ? migrationCosts
+				: new int[] { base.getMigrationCost() };
+		List<String> icppPolicies = Arrays.asList(RainbowConfig
+				.getSchedulingPoliciesICPP());
+
+		ArrayList<BatchSimulation> simulations = new ArrayList<BatchSimulation>();
+		// the index of each parameter: the last one changes first.
+		int[] lengths = { sps.length, aps.length, tss.length, lvs.length,
+				crs.length, bis.length, bts.length, mcs.length };
+		int[] index = new int[lengths.length];
+		for (int d = 0; d < lengths.length; d++) {
+			if (lengths[d] == 0)
+				return simulations;
+		}
+		do {
+			int i = index[0], j = index[1], t = index[2], l = index[3];
+			int k = index[4], b = index[5], h = index[6], m = index[7];
+			if (accepts(sps[i], index, crs[k], icppPolicies)) {
+				Configuration conf = new Configuration(aps[j], sps[i],
+						base.getProcesses(), base.getResources(), tss[t]);
+				conf.setICPP(base.isICPP());
+				conf.setLevels(lvs[l]);
+				conf.setCores(base.isICPP() ? 1 : crs[k]);
+				conf.setSMP(base.isSMP());
+				conf.setBalanceInterval(bis[b]);
+				conf.setBalanceThreshold(bts[h]);
+				conf.setMigrationCost(mcs[m]);
+				conf.setDeadlockRecovery(base.getDeadlockRecovery());
+				conf.setVictimCost(base.getVictimCost());
+				conf.setSeed(base.getSeed());
+				conf.setContext(base.getContext());
+				SchedulingPolicy policy = RainbowConfig
+						.getSchedulingPolicy(conf);
+				// parameters not used by the policy are not swept.
+				if ((t == 0 || policy instanceof TimeSharing)
+						&& (l == 0 || policy instanceof MF))
+					simulations.add(new BatchSimulation(name, conf));
+			}
+		} while (next(index, lengths));
+		return simulations;
+	}
+
+	/**
+	 * It returns true if a combination of parameters is simulated, whatever
+	 * the scheduling policy is.
+	 */
+	private boolean accepts(String policy, int[] index, int cores,
+			List<String> icppPolicies) {
+		if (base.isICPP()) {
+			// the ICPP scheduler has a single core.
+			return icppPolicies.contains(policy) && index[4] == 0
+					&& index[5] == 0 && index[6] == 0 && index[7] == 0;
+		}
+		// the load balancing is used only by the run queues per core.
+		if (!base.isSMP() || cores < 2) {
+			return index[5] == 0 && index[6] == 0 && index[7] == 0;
+		}
+		return true;
+	}
+
+	/**
+	 * It moves to the next combination of indexes, the last one first.
+	 *
+	 * @return false if all the combinations were visited.
+	 */
+	private static boolean next(int[] index, int[] lengths) {
+		for (int d = index.length - 1; d >= 0; d--) {
+			if (++index[d] < lengths[d])
+				return true;
+			index[d] = 0;
+		}
+		return false;
+	}
+
+	/**
+	 * It executes the sweep in a fork-join pool with a thread for each
+	 * processor.
+	 *
+	 * @return the executed simulations, in the order of getSimulations().
+	 */
+	public ArrayList<BatchSimulation> run() {
+		return run(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * It executes the sweep in a fork-join pool.
+	 *
+	 * @param threads
+	 *            The number of threads of the pool.
+	 * @return the executed simulations, in the order of getSimulations().
+	 */
+	public ArrayList<BatchSimulation> run(int threads) {
+		ArrayList<BatchSimulation> simulations = getSimulations();
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+		try {
+			pool.invoke(new SweepTask(simulations, 0, simulations.size()));
+		} finally {
+			pool.shutdown();
+		}
+		return simulations;
+	}
+
+	/**
+	 * It executes a range of simulations splitting it in halves until a
+	 * single simulation is left.
+	 */
+	private static class SweepTask extends RecursiveAction {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -7000L;
+
+		/**
+		 * The simulations of the sweep.
+		 */
+		private List<BatchSimulation> simulations;
+
+		/**
+		 * The first simulation of the range.
+		 */
+		private int from;
+
+		/**
+		 * The simulation following the range.
+		 */
+		private int to;
+
+		SweepTask(List<BatchSimulation> simulations, int from, int to) {
+			this.simulations = simulations;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		protected void compute() {
+			if (to - from == 1) {
+				simulations.get(from).run();
+			} else if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new SweepTask(simulations, from, middle),
+						new SweepTask(simulations, middle, to));
+			}
+		}
+	}
+}
@@ -0,0 +1,459 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: StatisticsWriter.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.6
+ *
+ * Modifies:
+ * v.1.6 (17/10/2026): Added the processes aborted to recover from the deadlocks.
+ * v.1.5 (17/10/2026): Added the run queues per core, the utilization and the steals of each core and the migration overhead.
+ * v.1.4 (17/10/2026): Added the number of cores.
+ * v.1.3 (17/10/2026): Added the victims of the deadlocks and the work lost.
+ * v.1.2 (17/10/2026): Added the cycle of the deadlock.
+ * v.1.1 (17/10/2026): Added the comparison table of the simulations.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import java.io.*;
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+import org.rainbow.scheduler.*;
+import org.rainbow.simulation.*;
+
+/**
+ * It writes the statistics of one or more batch simulations in a machine
+ * readable format (JSON or CSV).
+ *
+ * @version 1.6
+ */
+public class StatisticsWriter {
+
+	/**
+	 * The JSON format.
+	 */
+	public static final String JSON = "json";
+
+	/**
+	 * The CSV format.
+	 */
+	public static final String CSV = "csv";
+
+	/**
+	 * The output format.
+	 */
+	private String format;
+
+	/**
+	 * It creates a writer of statistics.
+	 *
+	 * @param format
+	 *            The output format (JSON or CSV).
+	 */
+	public StatisticsWriter(String format) {
+		this.format = format;
+	}
+
+	/**
+	 * It returns true if the format is supported.
+	 *
+	 * @param format
+	 *            The name of the format.
+	 * @return true if the format is supported.
+	 */
+	public static boolean isFormat(String format) {
+		return JSON.equals(format) || CSV.equals(format);
+	}
+
+	/**
+	 * It writes the statistics of the simulations.
+	 *
+	 * @param simulations
+	 *            The executed simulations.
+	 * @param out
+	 *            The output.
+	 * @throws IOException
+	 *             if the output cannot be written.
+	 */
+	public void write(List<BatchSimulation> simulations, Writer out)
+			throws IOException {
+		if (CSV.equals(format)) {
+			writeCSV(simulations, out);
+		} else {
+			writeJSON(simulations, out);
+		}
+		out.flush();
+	}
+
+	/**
+	 * It writes a comparison table of the simulations, with a row for each
+	 * simulation containing its parameters and the average statistics. It is
+	 * meant for the simulations of a ParameterSweep.
+	 *
+	 * @param simulations
+	 *            The executed simulations.
+	 * @param out
+	 *            The output.
+	 * @throws IOException
+	 *             if the output cannot be written.
+	 */
+	public void writeComparison(List<BatchSimulation> simulations, Writer out)
+			throws IOException {
+		boolean json = !CSV.equals(format);
+		if (json) {
+			out.write("[\n");
+		} else {
+			out.write("simulation,schedulingPolicy,assignmentPolicy,timeSlice,levels,icpp,"
+					+ "cores,smp,balanceInterval,balanceThreshold,migrationCost,duration,deadlock,"
+					+ "victims,aborted,lostWork,coreUtilization,coreSteals,migrationOverhead,throughput,"
+					+ "averageWaitingTime,averageResponseTime,averageTurnAround\n");
+		}
+		for (int i = 0; i < simulations.size(); i++) {
+			BatchSimulation sim = simulations.get(i);
+			Configuration conf = sim.getConfiguration();
+			Statistics stat = sim.getStatistics();
+			int levels = getLevels(conf);
+			double throughput = stat == null ? 0 : stat.getThroughput();
+			double waiting = stat == null ? 0 : stat.getWaitingTimeAV();
+			double response = stat == null ? 0 : stat.getResponseTimeAV();
+			double turnAround = stat == null ? 0 : stat.getTurnAroundAV();
+			if (json) {
+				out.write("  {\"simulation\": " + quote(sim.getName())
+						+ ", \"schedulingPolicy\": "
+						+ quote(conf.getSchedulingPolicy())
+						+ ", \"assignmentPolicy\": "
+						+ quote(conf.getAssignmentPolicy())
+						+ ", \"timeSlice\": " + conf.getTimeslice()
+						+ ", \"levels\": "
+						+ (levels < 0 ? "null" : String.valueOf(levels))
+						+ ", \"icpp\": " + conf.isICPP() + ", \"cores\": "
+						+ conf.getCores() + ", \"smp\": " + conf.isSMP()
+						+ ", \"balanceInterval\": "
+						+ conf.getBalanceInterval()
+						+ ", \"balanceThreshold\": "
+						+ conf.getBalanceThreshold() + ", \"migrationCost\": "
+						+ conf.getMigrationCost() + ", \"duration\": "
+						+ sim.getDuration() + ", \"deadlock\": "
+						+ sim.isDeadlock() + ", \"victims\": "
+						+ getVictims(sim) + ", \"aborted\": "
+						+ getAborted(sim) + ", \"lostWork\": "
+						+ getLostWork(sim) + ", \"coreUtilization\": ["
+						+ getCoreUtilization(stat, ", ")
+						+ "], \"coreSteals\": ["
+						+ getCoreSteals(stat, ", ")
+						+ "], \"migrationOverhead\": "
+						+ getMigrationOverhead(sim) + ", \"throughput\": "
+						+ number(throughput) + ", \"averageWaitingTime\": "
+						+ number(waiting) + ", \"averageResponseTime\": "
+						+ number(response) + ", \"averageTurnAround\": "
+						+ number(turnAround) + "}"
+						+ (i < simulations.size() - 1 ? "," : "") + "\n");
+			} else {
+				out.write(csv(sim.getName()) + ","
+						+ csv(conf.getSchedulingPolicy()) + ","
+						+ csv(conf.getAssignmentPolicy()) + ","
+						+ conf.getTimeslice() + ","
+						+ (levels < 0 ? "" : String.valueOf(levels)) + ","
+						+ conf.isICPP() + "," + conf.getCores() + ","
+						+ conf.isSMP() + "," + conf.getBalanceInterval() + ","
+						+ conf.getBalanceThreshold() + ","
+						+ conf.getMigrationCost() + ","
+						+ sim.getDuration() + "," + sim.isDeadlock() + ","
+						+ getVictims(sim) + "," + getAborted(sim) + ","
+						+ getLostWork(sim) + ","
+						+ getCoreUtilization(stat, ";") + ","
+						+ getCoreSteals(stat, ";") + ","
+						+ getMigrationOverhead(sim) + "," + number(throughput) + ","
+						+ number(waiting) + "," + number(response) + ","
+						+ number(turnAround) + "\n");
+			}
+		}
+		if (json) {
+			out.write("]\n");
+		}
+		out.flush();
+	}
+
+	/**
+	 * It returns the number of levels used by a multilevel feedback policy, -1
+	 * if the policy of the configuration is not a multilevel feedback one.
+	 */
+	private int getLevels(Configuration conf) {
+		if (!(RainbowConfig.getSchedulingPolicy(conf) instanceof MF)) {
+			return -1;
+		}
+		return conf.getLevels() < 1 ? RainbowConfig.getMaxLevelInMFpolicies()
+				: conf.getLevels();
+	}
+
+	/**
+	 * It writes the statistics in JSON format. The result is an array with an
+	 * object for each simulation.
+	 */
+	private void writeJSON(List<BatchSimulation> simulations, Writer out)
+			throws IOException {
+		out.write("[\n");
+		for (int i = 0; i < simulations.size(); i++) {
+			BatchSimulation sim = simulations.get(i);
+			Configuration conf = sim.getConfiguration();
+			Statistics stat = sim.getStatistics();
+			out.write("  {\n");
+			out.write("    \"simulation\": " + quote(sim.getName()) + ",\n");
+			out.write("    \"schedulingPolicy\": "
+					+ quote(conf.getSchedulingPolicy()) + ",\n");
+			out.write("    \"assignmentPolicy\": "
+					+ quote(conf.getAssignmentPolicy()) + ",\n");
+			out.write("    \"timeSlice\": " + conf.getTimeslice() + ",\n");
+			out.write("    \"icpp\": " + conf.isICPP() + ",\n");
+			out.write("    \"cores\": " + conf.getCores() + ",\n");
+			out.write("    \"smp\": " + conf.isSMP() + ",\n");
+			out.write("    \"balanceInterval\": " + conf.getBalanceInterval()
+					+ ",\n");
+			out.write("    \"balanceThreshold\": " + conf.getBalanceThreshold()
+					+ ",\n");
+			out.write("    \"migrationCost\": " + conf.getMigrationCost()
+					+ ",\n");
+			out.write("    \"duration\": " + sim.getDuration() + ",\n");
+			out.write("    \"deadlock\": " + sim.isDeadlock() + ",\n");
+			String cycle = getDeadlockCycle(sim);
+			out.write("    \"deadlockCycle\": "
+					+ (cycle.length() == 0 ? "null" : quote(cycle)) + ",\n");
+			out.write("    \"victims\": " + getVictims(sim) + ",\n");
+			out.write("    \"aborted\": " + getAborted(sim) + ",\n");
+			out.write("    \"lostWork\": " + getLostWork(sim) + ",\n");
+			out.write("    \"migrationOverhead\": " + getMigrationOverhead(sim)
+					+ ",\n");
+			if (stat == null) {
+				out.write("    \"processes\": []\n");
+			} else {
+				out.write("    \"throughput\": " + number(stat.getThroughput())
+						+ ",\n");
+				out.write("    \"averageWaitingTime\": "
+						+ number(stat.getWaitingTimeAV()) + ",\n");
+				out.write("    \"averageResponseTime\": "
+						+ number(stat.getResponseTimeAV()) + ",\n");
+				out.write("    \"averageTurnAround\": "
+						+ number(stat.getTurnAroundAV()) + ",\n");
+				out.write("    \"coreUtilization\": ["
+						+ getCoreUtilization(stat, ", ") + "],\n");
+				out.write("    \"coreSteals\": [" + getCoreSteals(stat, ", ")
+						+ "],\n");
+				out.write("    \"processes\": [\n");
+				ArrayList<ProcessStatistics> procStat = sortById(stat
+						.getProcessesStatistics());
+				for (int j = 0; j < procStat.size(); j++) {
+					ProcessStatistics ps = procStat.get(j);
+					SimulatedProcess p = ps.getProcess();
+					out.write("      {\"name\": " + quote(p.getName())
+							+ ", \"activationTime\": " + p.getActivationTime()
+							+ ", \"executionTime\": " + p.getExecutionTime()
+							+ ", \"cpuUsage\": " + ps.getCPUUsage()
+							+ ", \"cpuUsagePercent\": "
+							+ number(ps.getCPUUsagePercent())
+							+ ", \"waitingTime\": " + ps.getWaitingTime()
+							+ ", \"responseTime\": " + ps.getResponseTime()
+							+ ", \"turnAround\": " + ps.getTurnAround()
+							+ ", \"aborted\": " + ps.isAborted() + "}"
+							+ (j < procStat.size() - 1 ? "," : "") + "\n");
+				}
+				out.write("    ]\n");
+			}
+			out.write("  }" + (i < simulations.size() - 1 ? "," : "") + "\n");
+		}
+		out.write("]\n");
+	}
+
+	/**
+	 * It writes the statistics in CSV format. There is a row for each process
+	 * of each simulation, followed by a summary row (process name "*") for
+	 * each simulation.
+	 */
+	private void writeCSV(List<BatchSimulation> simulations, Writer out)
+			throws IOException {
+		out.write("simulation,schedulingPolicy,assignmentPolicy,timeSlice,icpp,cores,duration,deadlock,"
+				+ "deadlockCycle,victims,lostWork,process,activationTime,executionTime,cpuUsage,cpuUsagePercent,"
+				+ "waitingTime,responseTime,turnAround,aborted,throughput\n");
+		for (int i = 0; i < simulations.size(); i++) {
+			BatchSimulation sim = simulations.get(i);
+			Configuration conf = sim.getConfiguration();
+			Statistics stat = sim.getStatistics();
+			String prefix = csv(sim.getName()) + ","
+					+ csv(conf.getSchedulingPolicy()) + ","
+					+ csv(conf.getAssignmentPolicy()) + ","
+					+ conf.getTimeslice() + "," + conf.isICPP() + ","
+					+ conf.getCores() + "," + sim.getDuration() + "," + sim.isDeadlock() + ","
+					+ csv(getDeadlockCycle(sim)) + "," + getVictims(sim) + ","
+					+ getLostWork(sim) + ",";
+			if (stat == null) {
+				continue;
+			}
+			ArrayList<ProcessStatistics> procStat = sortById(stat
+					.getProcessesStatistics());
+			for (int j = 0; j < procStat.size(); j++) {
+				ProcessStatistics ps = procStat.get(j);
+				SimulatedProcess p = ps.getProcess();
+				out.write(prefix + csv(p.getName()) + ","
+						+ p.getActivationTime() + "," + p.getExecutionTime()
+						+ "," + ps.getCPUUsage() + ","
+						+ number(ps.getCPUUsagePercent()) + ","
+						+ ps.getWaitingTime() + "," + ps.getResponseTime()
+						+ "," + ps.getTurnAround() + "," + ps.isAborted()
+						+ ",\n");
+			}
+			out.write(prefix + "*,,,,," + number(stat.getWaitingTimeAV())
+					+ "," + number(stat.getResponseTimeAV()) + ","
+					+ number(stat.getTurnAroundAV()) + ",,"
+					+ number(stat.getThroughput()) + "\n");
+		}
+	}
+
+	/**
+	 * It returns the cycle of the deadlock of a simulation, an empty string if
+	 * there is not a deadlock.
+	 */
+	private String getDeadlockCycle(BatchSimulation sim) {
+		State last = sim.getFinalState();
+		return last == null ? "" : last.getDeadlockCycleText();
+	}
+
+	/**
+	 * It returns the number of victims of the deadlocks of a simulation.
+	 */
+	private int getVictims(BatchSimulation sim) {
+		State last = sim.getFinalState();
+		return last == null ? 0 : last.getVictims();
+	}
+
+	/**
+	 * It returns the number of processes aborted to recover from the deadlocks
+	 * of a simulation.
+	 */
+	private int getAborted(BatchSimulation sim) {
+		Statistics stat = sim.getStatistics();
+		return stat == null ? 0 : stat.getAborted();
+	}
+
+	/**
+	 * It returns the executed time lost by the victims of the deadlocks of a
+	 * simulation.
+	 */
+	private int getLostWork(BatchSimulation sim) {
+		State last = sim.getFinalState();
+		return last == null ? 0 : last.getLostWork();
+	}
+
+	/**
+	 * It returns the warm-up time charged to the processes migrated between
+	 * the run queues of the cores of a simulation.
+	 */
+	private int getMigrationOverhead(BatchSimulation sim) {
+		State last = sim.getFinalState();
+		return last == null ? 0 : last.getMigrationOverhead();
+	}
+
+	/**
+	 * It returns the utilization of each core of a simulation, separated by a
+	 * separator. It is empty if there are not statistics.
+	 */
+	private String getCoreUtilization(Statistics stat, String separator) {
+		StringBuilder sb = new StringBuilder();
+		if (stat != null) {
+			double[] utilization = stat.getCoreUtilization();
+			for (int i = 0; i < utilization.length; i++) {
+				sb.append(i > 0 ? separator : "").append(number(utilization[i]));
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * It returns the processes stolen by each core of a simulation, separated
+	 * by a separator. It is empty if there are not statistics.
+	 */
+	private String getCoreSteals(Statistics stat, String separator) {
+		StringBuilder sb = new StringBuilder();
+		if (stat != null) {
+			int[] steals = stat.getCoreSteals();
+			for (int i = 0; i < steals.length; i++) {
+				sb.append(i > 0 ? separator : "").append(steals[i]);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * It returns the statistics sorted by process identifier, that is the
+	 * order of the processes in the configuration.
+	 */
+	private ArrayList<ProcessStatistics> sortById(
+			ArrayList<ProcessStatistics> procStat) {
+		ArrayList<ProcessStatistics> sorted = new ArrayList<ProcessStatistics>(
+				procStat);
+		Collections.sort(sorted, new Comparator<ProcessStatistics>() {
+			public int compare(ProcessStatistics a, ProcessStatistics b) {
+				return a.getProcess().getId().compareTo(b.getProcess().getId());
+			}
+		});
+		return sorted;
+	}
+
+	/**
+	 * It returns a JSON string.
+	 */
+	private static String quote(String s) {
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < 0x20) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	/**
+	 * It returns a CSV field.
+	 */
+	private static String csv(String s) {
+		if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+			return s;
+		}
+		return "\"" + s.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * It returns a number with two decimal digits. NaN (no tick of simulation)
+	 * is written as 0.
+	 */
+	private static String number(double d) {
+		if (Double.isNaN(d) || Double.isInfinite(d)) {
+			d = 0;
+		}
+		return String.format(Locale.ROOT, "%.2f", d);
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: WorkloadGenerator.java
+ * Package: batch
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.batch;
+
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+
+/**
+ * It generates synthetic configurations of any size. The processes arrive
+ * uniformly in an interval of time, the execution times and the priorities
+ * are uniform in their ranges and each process accesses some non preemptive
+ * resources. The same seed generates the same configuration.
+ *
+ * @version 1.0
+ */
+public class WorkloadGenerator {
+
+	/**
+	 * The generator of random numbers.
+	 */
+	private Random random;
+
+	/**
+	 * The maximum activation time.
+	 */
+	private int maxActivationTime = 1000;
+
+	/**
+	 * The maximum execution time.
+	 */
+	private int maxExecutionTime = 50;
+
+	/**
+	 * The number of accesses to resources of each process.
+	 */
+	private int accessesPerProcess = 1;
+
+	/**
+	 * It creates a generator of configurations.
+	 *
+	 * @param seed
+	 *            The seed of the random numbers.
+	 */
+	public WorkloadGenerator(long seed) {
+		random = new Random(seed);
+	}
+
+	/**
+	 * It sets the maximum activation time of the processes.
+	 *
+	 * @param maxActivationTime
+	 *            The maximum activation time.
+	 */
+	public void setMaxActivationTime(int maxActivationTime) {
+		this.maxActivationTime = maxActivationTime;
+	}
+
+	/**
+	 * It sets the maximum execution time of the processes.
+	 *
+	 * @param maxExecutionTime
+	 *            The maximum execution time.
+	 */
+	public void setMaxExecutionTime(int maxExecutionTime) {
+		this.maxExecutionTime = maxExecutionTime;
+	}
+
+	/**
+	 * It sets the number of accesses to resources of each process.
+	 *
+	 * @param accessesPerProcess
+	 *            The number of accesses.
+	 */
+	public void setAccessesPerProcess(int accessesPerProcess) {
+		this.accessesPerProcess = accessesPerProcess;
+	}
+
+	/**
+	 * It generates a configuration.
+	 *
+	 * @param processes
+	 *            The number of processes.
+	 * @param resources
+	 *            The number of resources.
+	 * @param schedulingPolicy
+	 *            The scheduling policy.
+	 * @param assignmentPolicy
+	 *            The assignment policy.
+	 * @param timeslice
+	 *            The time slice.
+	 * @return the configuration.
+	 */
+	public Configuration generate(int processes, int resources,
+			String schedulingPolicy, String assignmentPolicy, int timeslice) {
+		SimulationContext context = new SimulationContext();
+		ArrayList<Resource> confResources = new ArrayList<Resource>(resources);
+		for (int i = 0; i < resources; i++) {
+			confResources.add(new NoPreemptiveResource(context, "R" + i,
+					1 + random.nextInt(2), uniform(
+							RainbowConfig.getMinCeilingPriority(),
+							RainbowConfig.getMaxCeilingPriority())));
+		}
+		ArrayList<SimulatedProcess> confProcesses = new ArrayList<SimulatedProcess>(
+				processes);
+		for (int i = 0; i < processes; i++) {
+			int executionTime = uniform(1, maxExecutionTime);
+			SimulatedProcess process = new SimulatedProcess(context, "P" + i,
+					uniform(0, maxActivationTime), executionTime, uniform(
+							RainbowConfig.getMinPriority(),
+							RainbowConfig.getMaxPriority()));
+			for (int j = 0; j < accessesPerProcess && resources > 0
+					&& executionTime > 1; j++) {
+				int requestTime = random.nextInt(executionTime - 1);
+				// the accesses which overlap others are discarded.
+				process.addNewAccessRequest(
+						confResources.get(random.nextInt(resources)),
+						requestTime,
+						uniform(1, executionTime - requestTime - 1));
+			}
+			confProcesses.add(process);
+		}
+		Configuration conf = new Configuration(assignmentPolicy,
+				schedulingPolicy, confProcesses, confResources, timeslice);
+		conf.setContext(context);
+		return conf;
+	}
+
+	/**
+	 * It returns a uniform random number between min and max included.
+	 */
+	private int uniform(int min, int max) {
+		return min + random.nextInt(max - min + 1);
+	}
+}
@@ -21,9 +21,10 @@
  * Package: data
  * Author: Piero Dalle Pezze
  * Date: 27/11/2014
- * Version: 1.0
+ * Version: 1.1
  * 
  * Modifies:
+ * v1.1 (17/10/2026): Constructor with a SimulationContext.
  * v1.0 (27/11/2014): Class documentation. Class codify. Piero Dalle Pezze 
  */
 package org.rainbow.data;
@@ -32,7 +33,7 @@ package org.rainbow.data;
  * This class represents a CPU
  * 
  * @author Piero Dalle Pezze
- * @version 1.0
+ * @version 1.1
  */
 public class CPU extends PreemptiveResource {
 
@@ -50,4 +51,16 @@ public class CPU extends PreemptiveResource {
 	public CPU(int core) {
 		super("CPU", core);
 	}
+
+	/**
+	 * It creates a CPU
+	 * 
+	 * @param context
+	 *            The context which gives the resource id.
+	 * @param core
+	 *            The number of cores for this CPU. It must be grater than 0.
+	 */
+	public CPU(SimulationContext context, int core) {
+		super(context, "CPU", core);
+	}
 }
\ No newline at end of file
@@ -21,9 +21,15 @@
  * Package: data
  * Author: Bertolin Stefano, Dalle Pezze Piero
  * Date: 31/01/2006
- * Version: 1.2
+ * Version: 1.7
  * 
  * Modifies:
+ * v.1.7 (17/10/2026): Added the seed of the random assignment policy.
+ * v.1.6 (17/10/2026): Added the run queues per core (SMP) and their load balancing.
+ * v.1.5 (17/10/2026): Added the number of cores of the CPU.
+ * v.1.4 (17/10/2026): Added the recovery from a deadlock and the cost of its victim.
+ * v.1.3 (17/10/2026): Added the SimulationContext of the configuration and the
+ *                     number of levels of multilevel feedback policies.
  * v.1.2 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  * v.1.1 (01/02/2006): Class codify.
  * v.1.0 (31/01/2006): Documentation.
@@ -39,7 +45,7 @@ import java.util.*;
  * 
  * @author Bertolin Stefano
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.7
  */
 public class Configuration implements Serializable {
 
@@ -48,6 +54,36 @@ public class Configuration implements Serializable {
 	 */
 	private static final long serialVersionUID = -100L;
 
+	/**
+	 * The simulation stops at the first deadlock.
+	 */
+	public static final String NO_RECOVERY = "None";
+
+	/**
+	 * The victim of a deadlock is aborted.
+	 */
+	public static final String ABORT_VICTIM = "Abort";
+
+	/**
+	 * The victim of a deadlock is restarted.
+	 */
+	public static final String RESTART_VICTIM = "Restart";
+
+	/**
+	 * The victim of a deadlock is the process with the least executed time.
+	 */
+	public static final String LEAST_EXECUTED_TIME = "Least executed time";
+
+	/**
+	 * The victim of a deadlock is the process with the lowest priority.
+	 */
+	public static final String LOWEST_PRIORITY = "Lowest priority";
+
+	/**
+	 * The victim of a deadlock is the process with the fewest held resources.
+	 */
+	public static final String FEWEST_HELD_RESOURCES = "Fewest held resources";
+
 	/**
 	 * The assignment policy of the resources.
 	 */
@@ -63,11 +99,65 @@ public class Configuration implements Serializable {
 	 */
 	private int timeslice = -1;
 
+	/**
+	 * The number of levels for multilevel feedback policies. (-1) to use the
+	 * value of Rainbow's configuration.
+	 */
+	private int levels = -1;
+
 	/**
 	 * A flag to notify if there the immediate ceiling priority protocol.
 	 */
 	private boolean ICPP = false;
 
+	/**
+	 * The recovery from a deadlock: NO_RECOVERY, ABORT_VICTIM or
+	 * RESTART_VICTIM.
+	 */
+	private String deadlockRecovery = NO_RECOVERY;
+
+	/**
+	 * The cost used to choose the victim of a deadlock: LEAST_EXECUTED_TIME,
+	 * LOWEST_PRIORITY or FEWEST_HELD_RESOURCES.
+	 */
+	private String victimCost = LEAST_EXECUTED_TIME;
+
+	/**
+	 * The number of cores of the CPU. The ready processes share a single run
+	 * queue and up to one process runs on each core.
+	 */
+	private int cores = 1;
+
+	/**
+	 * A flag to notify if each core has its own run queue (SMP) instead of a
+	 * run queue shared by all the cores.
+	 */
+	private boolean SMP = false;
+
+	/**
+	 * The interval between two attempts of an idle core to steal a process
+	 * from the busiest run queue, with SMP.
+	 */
+	private int balanceInterval = 1;
+
+	/**
+	 * The minimum number of ready processes of the busiest run queue to steal
+	 * one of them, with SMP.
+	 */
+	private int balanceThreshold = 1;
+
+	/**
+	 * The warm-up time charged to a process for each migration to another
+	 * core, with SMP.
+	 */
+	private int migrationCost = 0;
+
+	/**
+	 * The seed of the random assignment policy. (0) to use a different seed
+	 * in each simulation.
+	 */
+	private long seed = 0;
+
 	/**
 	 * A list of processes.
 	 */
@@ -78,6 +168,12 @@ public class Configuration implements Serializable {
 	 */
 	private ArrayList<Resource> resources = new ArrayList<Resource>();
 
+	/**
+	 * The context which gave the ids to processes and resources. Null if the
+	 * shared context was used.
+	 */
+	private SimulationContext context = null;
+
 	/**
 	 * It creates a configuration.
 	 */
@@ -199,6 +295,183 @@ public class Configuration implements Serializable {
 		this.timeslice = timeslice;
 	}
 
+	/**
+	 * It returns the number of levels for multilevel feedback policies. (-1) if
+	 * the value of Rainbow's configuration is used.
+	 * @return The number of levels.
+	 */
+	public int getLevels() {
+		return levels;
+	}
+
+	/**
+	 * It sets the number of levels for multilevel feedback policies. (-1) to
+	 * use the value of Rainbow's configuration.
+	 * @param levels
+	 *            The number of levels.
+	 */
+	public void setLevels(int levels) {
+		this.levels = levels;
+	}
+
+	/**
+	 * It returns the recovery from a deadlock.
+	 * 
+	 * @return NO_RECOVERY, ABORT_VICTIM or RESTART_VICTIM.
+	 */
+	public String getDeadlockRecovery() {
+		return deadlockRecovery;
+	}
+
+	/**
+	 * It sets the recovery from a deadlock.
+	 * 
+	 * @param deadlockRecovery
+	 *            NO_RECOVERY, ABORT_VICTIM or RESTART_VICTIM.
+	 */
+	public void setDeadlockRecovery(String deadlockRecovery) {
+		this.deadlockRecovery = deadlockRecovery;
+	}
+
+	/**
+	 * It returns the cost used to choose the victim of a deadlock.
+	 * 
+	 * @return LEAST_EXECUTED_TIME, LOWEST_PRIORITY or FEWEST_HELD_RESOURCES.
+	 */
+	public String getVictimCost() {
+		return victimCost;
+	}
+
+	/**
+	 * It sets the cost used to choose the victim of a deadlock.
+	 * 
+	 * @param victimCost
+	 *            LEAST_EXECUTED_TIME, LOWEST_PRIORITY or FEWEST_HELD_RESOURCES.
+	 */
+	public void setVictimCost(String victimCost) {
+		this.victimCost = victimCost;
+	}
+
+	/**
+	 * It returns the number of cores of the CPU.
+	 * 
+	 * @return The number of cores.
+	 */
+	public int getCores() {
+		return cores;
+	}
+
+	/**
+	 * It sets the number of cores of the CPU. It must be greater than 0.
+	 * 
+	 * @param cores
+	 *            The number of cores.
+	 */
+	public void setCores(int cores) {
+		this.cores = cores;
+	}
+
+	/**
+	 * It returns true if each core has its own run queue (SMP).
+	 * 
+	 * @return true if the run queues are per core, false if they are shared.
+	 */
+	public boolean isSMP() {
+		return SMP;
+	}
+
+	/**
+	 * It sets if each core has its own run queue (SMP).
+	 * 
+	 * @param SMP
+	 *            true if the run queues are per core, false if they are
+	 *            shared.
+	 */
+	public void setSMP(boolean SMP) {
+		this.SMP = SMP;
+	}
+
+	/**
+	 * It returns the interval between two attempts of an idle core to steal
+	 * a process.
+	 * 
+	 * @return The balancing interval.
+	 */
+	public int getBalanceInterval() {
+		return balanceInterval;
+	}
+
+	/**
+	 * It sets the interval between two attempts of an idle core to steal a
+	 * process. It must be greater than 0.
+	 * 
+	 * @param balanceInterval
+	 *            The balancing interval.
+	 */
+	public void setBalanceInterval(int balanceInterval) {
+		this.balanceInterval = balanceInterval;
+	}
+
+	/**
+	 * It returns the minimum number of ready processes of the busiest run
+	 * queue to steal one of them.
+	 * 
+	 * @return The balancing threshold.
+	 */
+	public int getBalanceThreshold() {
+		return balanceThreshold;
+	}
+
+	/**
+	 * It sets the minimum number of ready processes of the busiest run queue
+	 * to steal one of them. It must be greater than 0.
+	 * 
+	 * @param balanceThreshold
+	 *            The balancing threshold.
+	 */
+	public void setBalanceThreshold(int balanceThreshold) {
+		this.balanceThreshold = balanceThreshold;
+	}
+
+	/**
+	 * It returns the warm-up time charged to a process for each migration.
+	 * 
+	 * @return The migration cost.
+	 */
+	public int getMigrationCost() {
+		return migrationCost;
+	}
+
+	/**
+	 * It sets the warm-up time charged to a process for each migration.
+	 * 
+	 * @param migrationCost
+	 *            The migration cost.
+	 */
+	public void setMigrationCost(int migrationCost) {
+		this.migrationCost = migrationCost;
+	}
+
+	/**
+	 * It returns the seed of the random assignment policy.
+	 * 
+	 * @return The seed, 0 if each simulation uses a different seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * It sets the seed of the random assignment policy, so the simulations of
+	 * the configuration are repeatable.
+	 * 
+	 * @param seed
+	 *            The seed, 0 to use a different seed in each simulation.
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
 	/**
 	 * It returns a list of processes.
 	 * 
@@ -237,4 +510,23 @@ public class Configuration implements Serializable {
 		this.resources = resources;
 	}
 
+	/**
+	 * It returns the context which gave the ids to processes and resources.
+	 * @return the context of the configuration.
+	 */
+	public SimulationContext getContext() {
+		if (context == null)
+			return SimulationContext.getSharedContext();
+		return context;
+	}
+
+	/**
+	 * It sets the context which gave the ids to processes and resources.
+	 * @param context
+	 *            The context of the configuration.
+	 */
+	public void setContext(SimulationContext context) {
+		this.context = context;
+	}
+
 }
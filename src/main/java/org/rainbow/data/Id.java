@@ -21,9 +21,10 @@
  * Package: data
  * Author: Michele Perin, Dalle Pezze Piero
  * Date: 16/02/2006
- * Version: 1.1
+ * Version: 1.2
  *
  * Modifies:
+ * v.1.2 (17/10/2026): The counter is kept by the shared SimulationContext.
  * v.1.1 (31/01/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v.1.0 (16/02/2006): Class and documentation definition.
  */
@@ -31,17 +32,15 @@
 package org.rainbow.data;
 
 /**
- * It generates unique process identification (ID).
+ * It generates unique process identification (ID) in the shared
+ * SimulationContext. Configurations which must be simulated independently
+ * should be built with their own SimulationContext.
  * 
  * @author Michele Perin
  * @author Dalle Pezze Piero
- * @version 1.1
+ * @version 1.2
  */
 public class Id {
-	/**
-	 * Id type instance counter.
-	 */
-	private static int counter = 0;
 
 	/**
 	 * It returns a new increased id.
@@ -49,8 +48,7 @@ public class Id {
 	 * @return a new unique id.
 	 */
 	public final static int returnNewId() {
-		counter++;
-		return counter;
+		return SimulationContext.getSharedContext().returnNewProcessId();
 	}
 
 	/**
@@ -60,7 +58,7 @@ public class Id {
 	 *            the current counter id.
 	 */
 	public final static void setCounterId(int id) {
-		counter = id;
+		SimulationContext.getSharedContext().setProcessCounter(id);
 	}
 
 	/**
@@ -69,20 +67,20 @@ public class Id {
 	 * @return the last id.
 	 */
 	public final static int getCounterId() {
-		return counter;
+		return SimulationContext.getSharedContext().getProcessCounter();
 	}
 
 	/**
 	 * It decreases the counter id.
 	 */
 	public final static void decreaseId() {
-		counter--;
+		SimulationContext.getSharedContext().decreaseProcessCounter();
 	}
 
 	/**
 	 * It resets the counter.
 	 */
 	public final static void resetCounter() {
-		counter = 0;
+		SimulationContext.getSharedContext().resetProcessCounter();
 	}
 }
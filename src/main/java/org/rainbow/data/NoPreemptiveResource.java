@@ -21,9 +21,10 @@
  * Package: data
  * Author: Piero Dalle Pezze
  * Date: 04/02/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies:
+ * v1.3 (17/10/2026): Constructor with a SimulationContext.
  * v1.2 (31/01/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (04/02/2006): Class codify. Piero Dalle Pezze 
  * v1.0 (04/02/2006): Class documentation. Piero Dalle Pezze
@@ -34,7 +35,7 @@ package org.rainbow.data;
  * This class represents a non preemptive resource.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.3
  */
 public class NoPreemptiveResource extends Resource {
 
@@ -64,6 +65,24 @@ public class NoPreemptiveResource extends Resource {
 		this.ceilingPriority = ceilingPriority;
 	}
 
+	/**
+	 * It creates a non preemptive resource instance.
+	 * 
+	 * @param context
+	 *            The context which gives the resource id.
+	 * @param name
+	 *            The name of the resource.
+	 * @param multiplicity
+	 *            The multiplicity of the resource. It must be grater than 0.
+	 * @param ceilingPriority
+	 *            The ceiling priority of the resource.
+	 */
+	public NoPreemptiveResource(SimulationContext context, String name,
+			int multiplicity, int ceilingPriority) {
+		super(context, name, multiplicity);
+		this.ceilingPriority = ceilingPriority;
+	}
+
 	/**
 	 * It returns the ceiling priority of the resource.
 	 * 
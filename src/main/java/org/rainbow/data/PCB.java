@@ -21,9 +21,14 @@
  * Package: data
  * Author: Michele Perin, Piero Dalle Pezze
  * Date: 31/01/2006
- * Version: 1.2
+ * Version: 1.7
  * 
  * Modifies:
+ * v.1.7 (17/10/2026): Added the warm-up time charged by all the migrations.
+ * v.1.6 (17/10/2026): Added the warm-up time charged by a migration to another core.
+ * v.1.5 (17/10/2026): Added getNextRequest(), for the maximum claims of the Banker's algorithm.
+ * v.1.4 (17/10/2026): Used resources with absolute release times in a min-heap, without allocations.
+ * v.1.3 (17/10/2026): Serializable, to save the state of the scheduler.
  * v.1.2 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  * v.1.1 (01/02/2006): Class codify.
  * v.1.0 (31/01/2006): Class documentation.
@@ -31,6 +36,7 @@
 
 package org.rainbow.data;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -39,9 +45,14 @@ import java.util.*;
  * 
  * @author Michele Perin
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.7
  */
-public class PCB {
+public class PCB implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = 300L;
 
 	/**
 	 * The refered process.
@@ -94,15 +105,57 @@ public class PCB {
 	 *            the value to increase.
 	 */
 	public void increaseExecutedTime(int time) {
-		executedTime = executedTime + time;
+		// the warm-up is executed first, without progress.
+		int warmup = Math.min(time, warmupTime);
+		warmupTime = warmupTime - warmup;
+		executedTime = executedTime + time - warmup;
 		remainingTime = remainingTime - time;
-		/*
-		 * It decreases the remaining time of the access to the resources used
-		 * by the process.
-		 */
-		for (int i = 0; i < usedResources.size(); i++) {
-			(usedResources.get(i)).decreaseRemainingTime(time);
-		}
+		// the release times of the used resources are absolute.
+	}
+
+	/**
+	 * The time the process must execute to warm up the cache before it
+	 * progresses again.
+	 */
+	private int warmupTime = 0;
+
+	/**
+	 * The warm-up time charged to the process by all its migrations.
+	 */
+	private int chargedWarmupTime = 0;
+
+	/**
+	 * It returns the time the process must execute to warm up the cache
+	 * before it progresses again.
+	 * 
+	 * @return the warm-up time left.
+	 */
+	public int getWarmupTime() {
+		return warmupTime;
+	}
+
+	/**
+	 * It returns the warm-up time charged to the process by all its
+	 * migrations. The process executes it besides its execution time.
+	 * 
+	 * @return the warm-up time charged.
+	 */
+	public int getChargedWarmupTime() {
+		return chargedWarmupTime;
+	}
+
+	/**
+	 * It charges a warm-up time to the process, after a migration to another
+	 * core. The following requests, releases and the termination are delayed
+	 * by the same time.
+	 * 
+	 * @param time
+	 *            the warm-up time.
+	 */
+	public void addWarmupTime(int time) {
+		warmupTime = warmupTime + time;
+		chargedWarmupTime = chargedWarmupTime + time;
+		remainingTime = remainingTime + time;
 	}
 
 	/**
@@ -125,27 +178,55 @@ public class PCB {
 	/**
 	 * It store the access duration to the above resource.
 	 */
-	private Integer accessDuration = null;
+	private int accessDuration = 0;
+
+	/**
+	 * The initial capacity of the used resources.
+	 */
+	private static final int CAPACITY = 4;
+
+	/**
+	 * The resources used by the process, in order of attribution.
+	 */
+	private Resource[] usedResources = new Resource[CAPACITY];
+
+	/**
+	 * The executed time at which each used resource is released.
+	 */
+	private int[] releaseTimes = new int[CAPACITY];
 
 	/**
-	 * A list of dynamic uses of resources wanted.
+	 * The positions of the used resources in a min-heap ordered by release
+	 * time, and by order of attribution for the same release time.
 	 */
-	private LinkedList<UseResource> usedResources = new LinkedList<UseResource>();
+	private int[] releaseHeap = new int[CAPACITY];
 
 	/**
-	 * It returns the list of the resource actually used by the process.
+	 * The number of resources used by the process.
+	 */
+	private int usedCount = 0;
+
+	/**
+	 * It returns the number of resources actually used by the process.
 	 * 
-	 * @return a stack of resources currently used by the process.
+	 * @return the number of resources used.
 	 */
-	public LinkedList<Resource> getUsedResources() {
-		LinkedList<Resource> resourcesStack = new LinkedList<Resource>();
-		/*
-		 * Extract and add only the Resource.
-		 */
-		for (int i = 0; i < usedResources.size(); i++) {
-			resourcesStack.push(usedResources.get(i).getResource());
-		}
-		return resourcesStack;
+	public int getUsedResourceCount() {
+		return usedCount;
+	}
+
+	/**
+	 * It returns a resource actually used by the process. The resources are
+	 * in order of attribution, so the last one is the top of the stack of the
+	 * used resources.
+	 * 
+	 * @param index
+	 *            The position of the resource, from 0 to
+	 *            getUsedResourceCount() - 1.
+	 * @return the resource.
+	 */
+	public Resource getUsedResource(int index) {
+		return usedResources[index];
 	}
 
 	/**
@@ -172,7 +253,7 @@ public class PCB {
 				&& (accessesList.get(nextRequest)).getRequestTime() == executedTime) {
 			Access access = accessesList.get(nextRequest);
 			resource = access.getResource();
-			accessDuration = new Integer(access.getDuration());
+			accessDuration = access.getDuration();
 			return resource;
 		}
 		/* No next request */
@@ -183,44 +264,141 @@ public class PCB {
 	 * Signal to the PCB that the resource is given to the process.
 	 */
 	public void resourceAttribuited() {
-		usedResources.add(new UseResource(resource, accessDuration.intValue()));
+		if (usedCount == usedResources.length) {
+			usedResources = Arrays.copyOf(usedResources, 2 * usedCount);
+			releaseTimes = Arrays.copyOf(releaseTimes, 2 * usedCount);
+			releaseHeap = Arrays.copyOf(releaseHeap, 2 * usedCount);
+		}
+		usedResources[usedCount] = resource;
+		releaseTimes[usedCount] = executedTime + accessDuration;
+		releaseHeap[usedCount] = usedCount;
+		siftUp(usedCount);
+		usedCount++;
 		resource = null;
-		accessDuration = null;
+		accessDuration = 0;
 		nextRequest++;
 	}
 
 	/**
-	 * It returns the resources that is released.
+	 * It returns the resources that is released. If more resources are
+	 * released, it is the first attributed.
 	 * 
-	 * @return a stack of resources.
+	 * @return the resource released, null if there is not.
 	 */
 	public Resource getReleasedResource() {
-		Resource r = null;
-		boolean found = false;
-		// Extract the resource with remainingTime = 0
-		for (int i = 0; i < usedResources.size() && !found; i++) {
-			if (usedResources.get(i).getRemainingTime() == 0) {
-				r = usedResources.remove(i).getResource();
-				found = true;
-			}
+		if (usedCount == 0 || releaseTimes[releaseHeap[0]] > executedTime) {
+			return null;
 		}
+		int position = firstReleased(0, usedCount);
+		Resource r = usedResources[position];
+		removeUsedResource(position);
 		return r;
 	}
 
 	/**
-	 * It returns the stack of the preemptive resources.
+	 * It returns the first attributed resource released in a subtree of the
+	 * heap. The subtrees whose root is not released are skipped.
+	 * 
+	 * @param node
+	 *            The root of the subtree.
+	 * @param first
+	 *            The position of the first released resource found.
+	 * @return the position of the first released resource.
+	 */
+	private int firstReleased(int node, int first) {
+		if (node >= usedCount || releaseTimes[releaseHeap[node]] > executedTime) {
+			return first;
+		}
+		first = Math.min(first, releaseHeap[node]);
+		first = firstReleased(2 * node + 1, first);
+		return firstReleased(2 * node + 2, first);
+	}
+
+	/**
+	 * It removes a used resource.
+	 * 
+	 * @param position
+	 *            The position of the resource in order of attribution.
+	 */
+	private void removeUsedResource(int position) {
+		int node = 0;
+		while (releaseHeap[node] != position) {
+			node++;
+		}
+		usedCount--;
+		if (node < usedCount) {
+			releaseHeap[node] = releaseHeap[usedCount];
+			siftDown(node);
+			siftUp(node);
+		}
+		// the following resources move back, the order does not change.
+		System.arraycopy(usedResources, position + 1, usedResources,
+				position, usedCount - position);
+		System.arraycopy(releaseTimes, position + 1, releaseTimes, position,
+				usedCount - position);
+		usedResources[usedCount] = null;
+		for (int i = 0; i < usedCount; i++) {
+			if (releaseHeap[i] > position) {
+				releaseHeap[i]--;
+			}
+		}
+	}
+
+	/**
+	 * It returns true if the resource in position a is released before the
+	 * one in position b.
+	 * 
+	 * @param a
+	 *            A position.
+	 * @param b
+	 *            Another position.
+	 * @return true if a precedes b in the heap.
+	 */
+	private boolean precedes(int a, int b) {
+		return releaseTimes[a] < releaseTimes[b]
+				|| (releaseTimes[a] == releaseTimes[b] && a < b);
+	}
+
+	/**
+	 * It moves a node of the heap up to its place.
+	 * 
+	 * @param node
+	 *            The node.
+	 */
+	private void siftUp(int node) {
+		int position = releaseHeap[node];
+		while (node > 0) {
+			int parent = (node - 1) >>> 1;
+			if (!precedes(position, releaseHeap[parent])) {
+				break;
+			}
+			releaseHeap[node] = releaseHeap[parent];
+			node = parent;
+		}
+		releaseHeap[node] = position;
+	}
+
+	/**
+	 * It moves a node of the heap down to its place.
 	 * 
-	 * @return a stack of resources.
-	 */
-	public LinkedList<Resource> getPreemptiveResources() {
-		LinkedList<Resource> preemptiveResourcesStack = new LinkedList<Resource>();
-		for (int i = 0; i < usedResources.size(); i++) {
-			if (usedResources.get(i).getResource() instanceof PreemptiveResource) {
-				preemptiveResourcesStack.push(usedResources.get(i)
-						.getResource());
+	 * @param node
+	 *            The node.
+	 */
+	private void siftDown(int node) {
+		int position = releaseHeap[node];
+		while (2 * node + 1 < usedCount) {
+			int child = 2 * node + 1;
+			if (child + 1 < usedCount
+					&& precedes(releaseHeap[child + 1], releaseHeap[child])) {
+				child++;
+			}
+			if (!precedes(releaseHeap[child], position)) {
+				break;
 			}
+			releaseHeap[node] = releaseHeap[child];
+			node = child;
 		}
-		return preemptiveResourcesStack;
+		releaseHeap[node] = position;
 	}
 
 	/**
@@ -240,6 +418,17 @@ public class PCB {
 		return false;
 	}
 
+	/**
+	 * It returns the position of the next access to request in the list of
+	 * accesses of the process. The accesses from this position are not
+	 * attributed yet.
+	 * 
+	 * @return the position of the next access.
+	 */
+	public int getNextRequest() {
+		return nextRequest;
+	}
+
 	/**
 	 * It returns the time of the next access request.
 	 * 
@@ -249,7 +438,7 @@ public class PCB {
 		ArrayList<Access> accessesList = process.getAccessesList();
 		if (nextRequest < accessesList.size()) {
 			return accessesList.get(nextRequest).getRequestTime()
-					- executedTime;
+					- executedTime + warmupTime;
 		}
 		return -1;
 	}
@@ -260,21 +449,11 @@ public class PCB {
 	 * @return the time of the first resource release, if exists. -1 otherwise.
 	 */
 	public int firstReleaseTime() {
-		int tr;
-		/*
-		 * I search the minimum remaining time of access to the used resources.
-		 */
-		if (usedResources.size() != 0) {
-			tr = usedResources.get(0).getRemainingTime();
-			// searching
-			for (int i = 1; i < this.usedResources.size(); i++) {
-				int temp = usedResources.get(i).getRemainingTime();
-				if (temp < tr)
-					tr = temp;
-			}
-		} else
-			tr = -1; // no attribuited resource
-		return tr;
+		if (usedCount == 0) {
+			return -1; // no attribuited resource
+		}
+		return Math.max(0, releaseTimes[releaseHeap[0]] - executedTime)
+				+ warmupTime;
 	}
 
 	/**
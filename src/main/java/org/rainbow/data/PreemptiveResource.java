@@ -21,9 +21,10 @@
  * Package: data
  * Author: Piero Dalle Pezze
  * Date: 04/02/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies:
+ * v1.3 (17/10/2026): Constructor with a SimulationContext.
  * v1.2 (31/01/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (04/02/2006): Class codify. Piero Dalle Pezze 
  * v1.0 (04/02/2006): Class documentation. Piero Dalle Pezze
@@ -34,7 +35,7 @@ package org.rainbow.data;
  * This class represents a preemptive resource.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.3
  */
 public class PreemptiveResource extends Resource {
 
@@ -54,4 +55,19 @@ public class PreemptiveResource extends Resource {
 	public PreemptiveResource(String name, int molteplicity) {
 		super(name, molteplicity);
 	}
+
+	/**
+	 * It creates a preemptive resource instance.
+	 * 
+	 * @param context
+	 *            The context which gives the resource id.
+	 * @param name
+	 *            The resource name.
+	 * @param molteplicity
+	 *            The resource molteplicity. It must be grater than 0.
+	 */
+	public PreemptiveResource(SimulationContext context, String name,
+			int molteplicity) {
+		super(context, name, molteplicity);
+	}
 }
\ No newline at end of file
@@ -21,9 +21,11 @@
  * Package: data
  * Author: Piero Dalle Pezze
  * Date: 04/02/2006
- * Version: 1.2
+ * Version: 1.4
  * 
  * Modifies:
+ * v1.4 (17/10/2026): Added getId().
+ * v1.3 (17/10/2026): The id is given by a SimulationContext.
  * v1.2 (31/01/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (04/02/2006): Class codify. Piero Dalle Pezze 
  * v1.0 (04/02/2006): Class documentation. Piero Dalle Pezze
@@ -36,7 +38,7 @@ import java.io.Serializable;
  * This class represents a generic resource.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.4
  */
 public abstract class Resource implements Serializable {
 
@@ -45,15 +47,10 @@ public abstract class Resource implements Serializable {
 	 */
 	private static final long serialVersionUID = 5L;
 
-	/**
-	 * A counter of instance of Resource type.
-	 */
-	private static int counter = 0;
-
 	/**
 	 * The resource identification.
 	 */
-	private int id = counter;
+	private int id;
 
 	/**
 	 * The resource multiplicity. The number of shared access accepted.
@@ -74,7 +71,21 @@ public abstract class Resource implements Serializable {
 	 *            The resource multiplicity. It must be grater than 0.
 	 */
 	public Resource(String name, int multiplicity) {
-		counter++;
+		this(SimulationContext.getSharedContext(), name, multiplicity);
+	}
+
+	/**
+	 * It creates a resource instance.
+	 * 
+	 * @param context
+	 *            The context which gives the resource id.
+	 * @param name
+	 *            The resource name.
+	 * @param multiplicity
+	 *            The resource multiplicity. It must be grater than 0.
+	 */
+	public Resource(SimulationContext context, String name, int multiplicity) {
+		id = context.returnNewResourceId();
 		this.name = name;
 		if (multiplicity < 1) {
 			this.multiplicity = 1;
@@ -98,6 +109,15 @@ public abstract class Resource implements Serializable {
 		return false;
 	}
 
+	/**
+	 * It returns the resource identification.
+	 * 
+	 * @return the resource identification.
+	 */
+	public int getId() {
+		return id;
+	}
+
 	/**
 	 * It returns the resource multiplicity.
 	 * 
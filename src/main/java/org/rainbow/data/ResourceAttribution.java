@@ -21,15 +21,17 @@
  * Package: data
  * Author: Piero Dalle Pezze
  * Date: 04/02/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies:
+ * v1.3 (17/10/2026): Serializable, to save the states of the simulation.
  * v1.2 (31/01/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (04/02/2006): Class codify. Piero Dalle Pezze 
  * v1.0 (04/02/2006): Class documentation. Piero Dalle Pezze
  */
 package org.rainbow.data;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 
 /**
@@ -37,9 +39,14 @@ import java.util.ArrayList;
  * list of Process objects that want to access it.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.3
  */
-public class ResourceAttribution {
+public class ResourceAttribution implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = 302L;
 
 	/**
 	 * A list of Process objects that want to access the resource.
@@ -21,9 +21,10 @@
  * Package: data
  * Author: Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.2
+ * Version: 1.3
  *
  * Modifies:
+ * v.1.3 (17/10/2026): Constructor with a SimulationContext.
  * v.1.2 (31/01/2007): English translation. Java6 compatible.
  *                      More generalization of the class. Priority management.
  * v.1.1 (06/02/2006): Class codify.
@@ -40,7 +41,7 @@ import java.io.Serializable;
  * view except the dynamic priority of a process that can be changed.
  *
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.3
  */
 public class SimulatedProcess implements Serializable {
 
@@ -50,8 +51,8 @@ public class SimulatedProcess implements Serializable {
 	private static final long serialVersionUID = 200L;
 
 	/**
-	 * The unique process identification. It must initialized by calling methods
-	 * in the Id class.
+	 * The unique process identification. It is given by the SimulationContext
+	 * of the process.
 	 */
 	private Integer id;
 
@@ -288,7 +289,27 @@ public class SimulatedProcess implements Serializable {
 	 */
 	public SimulatedProcess(String name, int activationTime, int executionTime,
 			int initialPriority) {
-		id = new Integer(Id.returnNewId()); // get the new id (unique)
+		this(SimulationContext.getSharedContext(), name, activationTime,
+				executionTime, initialPriority);
+	}
+
+	/**
+	 * It creates a process.
+	 *
+	 * @param context
+	 *            The context which gives the process id.
+	 * @param name
+	 *            The process name
+	 * @param activationTime
+	 *            The process activation time
+	 * @param executionTime
+	 *            The process execution time
+	 * @param initialPriority
+	 *            The process initial priority.
+	 */
+	public SimulatedProcess(SimulationContext context, String name,
+			int activationTime, int executionTime, int initialPriority) {
+		id = new Integer(context.returnNewProcessId()); // get the new id
 		this.name = name;
 		this.activationTime = activationTime;
 		this.executionTime = executionTime;
@@ -0,0 +1,144 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: SimulationContext.java
+ * Package: data
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v.1.0 (17/10/2026): Class documentation and codify.
+ */
+
+package org.rainbow.data;
+
+import java.io.Serializable;
+
+/**
+ * It generates the identifications of the processes and of the resources of
+ * a simulation. Each configuration built with its own context has dense and
+ * deterministic ids, independently from the other configurations loaded or
+ * simulated at the same time. Processes ids start from 1 (0 means no running
+ * process in the views), resources ids start from 0.
+ *
+ * The shared context is used by the GUI through the class Id.
+ *
+ * @version 1.0
+ */
+public class SimulationContext implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -101L;
+
+	/**
+	 * The context used when no context is specified.
+	 */
+	private static final SimulationContext sharedContext = new SimulationContext();
+
+	/**
+	 * The last process id.
+	 */
+	private int processCounter = 0;
+
+	/**
+	 * The number of resources created.
+	 */
+	private int resourceCounter = 0;
+
+	/**
+	 * It creates a new context. The first process id is 1 and the first
+	 * resource id is 0.
+	 */
+	public SimulationContext() {
+	}
+
+	/**
+	 * It returns the context shared by the processes and resources created
+	 * without a context.
+	 *
+	 * @return the shared context.
+	 */
+	public static SimulationContext getSharedContext() {
+		return sharedContext;
+	}
+
+	/**
+	 * It returns a new increased process id.
+	 *
+	 * @return a new process id.
+	 */
+	public synchronized int returnNewProcessId() {
+		processCounter++;
+		return processCounter;
+	}
+
+	/**
+	 * It returns a new resource id.
+	 *
+	 * @return a new resource id.
+	 */
+	public synchronized int returnNewResourceId() {
+		return resourceCounter++;
+	}
+
+	/**
+	 * It gets the last process id.
+	 *
+	 * @return the last process id.
+	 */
+	public synchronized int getProcessCounter() {
+		return processCounter;
+	}
+
+	/**
+	 * It sets the last process id.
+	 *
+	 * @param id
+	 *            the last process id.
+	 */
+	public synchronized void setProcessCounter(int id) {
+		processCounter = id;
+	}
+
+	/**
+	 * It decreases the last process id.
+	 */
+	public synchronized void decreaseProcessCounter() {
+		processCounter--;
+	}
+
+	/**
+	 * It resets the process counter.
+	 */
+	public synchronized void resetProcessCounter() {
+		processCounter = 0;
+	}
+
+	/**
+	 * It returns the number of resources created in this context.
+	 *
+	 * @return the number of resources.
+	 */
+	public synchronized int getResourceCounter() {
+		return resourceCounter;
+	}
+}
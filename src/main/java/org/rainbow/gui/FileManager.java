@@ -21,9 +21,10 @@
  * Package: gui
  * Author: Sarto Carlo, Dalle Pezze Piero
  * Date: 16/03/2006
- * Version: 1.4
+ * Version: 1.5
  *
  * Modifies
+ * - v.1.5 (17/10/2026): openFile() parses the file with ConfigurationParser.
  * - v.1.4 (1/04/2008): Removed method exportXML. XML is used now to save and open regulary 
  *                      configuration files. To retro-compatibility importFCS() is kept. Dalle Pezze Piero.
  * - v.1.3 (08/02/2008): Method importXML(). It remains the control of accesses. Executed test on
@@ -45,12 +46,9 @@ import javax.swing.JFrame;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileFilter;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.DocumentBuilder;
 
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
-import org.w3c.dom.*;
 
 /**
  * It realizes the functionalities to:
@@ -63,7 +61,7 @@ import org.w3c.dom.*;
  *
  * @author Sarto Carlo
  * @author Piero Dalle Pezze
- * @version 1.4
+ * @version 1.5
  */
 public class FileManager {
 
@@ -296,11 +294,6 @@ public class FileManager {
 	public Configuration openFile(JFrame frame) {
 
 		Configuration conf = null;
-		ArrayList<SimulatedProcess> confProcesses = new ArrayList<SimulatedProcess>();
-		ArrayList<Resource> confResources = new ArrayList<Resource>();
-		String SP = "", AP = "";
-		int TS = 1;
-		boolean ICPP = false;
 
 		try {
 			JFileChooser chooser = new JFileChooser();
@@ -324,409 +317,18 @@ public class FileManager {
 				}
 			});
 
-			Boolean error = false;
-			DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory
-					.newInstance();
-			DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-			Document doc = null;
-
 			int returnVal = chooser.showOpenDialog(frame);
-			if (returnVal == JFileChooser.APPROVE_OPTION) {
-				doc = docBuilder.parse(chooser.getSelectedFile());
-			} else {
-				return null;
-			}
-
-			// normalize text representation
-			doc.getDocumentElement().normalize();
-			// System.out.println ("Root element of the doc is " +
-			// doc.getDocumentElement().getNodeName());
-
-			// READ GENERAL CONFIGURATION
-			// schedulingPolicy
-			NodeList schedulingPolicy = doc
-					.getElementsByTagName("schedulingPolicy");
-			NodeList SPList = ((Element) schedulingPolicy.item(0))
-					.getChildNodes();
-			if (InputControl.isSchedulingPolicyWrong(((Node) SPList.item(0))
-					.getNodeValue())) {
-				new org.rainbow.gui.Error("Scheduling policy is not valid!",
-						frame);
-				gui.setStatusMessage("Scheduling policy is not valid!");
-				return null;
-			} else {
-				SP = (String) ((Node) SPList.item(0)).getNodeValue();
-			}
-			// System.out.println("SP : " +
-			// ((Node)SPList.item(0)).getNodeValue());
-
-			// assignmentPolicy
-			NodeList assignmentPolicy = doc
-					.getElementsByTagName("assignmentPolicy");
-			NodeList APList = ((Element) assignmentPolicy.item(0))
-					.getChildNodes();
-			if (InputControl.isAssignmentPolicyWrong((String) ((Node) APList
-					.item(0)).getNodeValue())) {
-				new org.rainbow.gui.Error("Assignment policy is not valid!",
-						frame);
-				gui.setStatusMessage("Assignment policy is not valid!");
-				return null;
-			} else {
-				AP = (String) ((Node) APList.item(0)).getNodeValue();
-			}
-			// System.out.println("AP : " +
-			// ((Node)APList.item(0)).getNodeValue());
-
-			// timeSlice
-			NodeList timeSlice = doc.getElementsByTagName("timeSlice");
-			NodeList TSList = ((Element) timeSlice.item(0)).getChildNodes();
-			if (InputControl.isQuantumWrong((String) ((Node) TSList.item(0))
-					.getNodeValue())) {
-				new org.rainbow.gui.Error("Time slice is not valid!", frame);
-				gui.setStatusMessage("Time slice is not valid!");
+			if (returnVal != JFileChooser.APPROVE_OPTION) {
 				return null;
-			} else {
-				TS = Integer.parseInt(((Node) TSList.item(0)).getNodeValue());
 			}
-			// System.out.println("TS : " +
-			// ((Node)TSList.item(0)).getNodeValue());
 
-			// icpp
-			NodeList icpp = doc.getElementsByTagName("icpp");
-			NodeList ICPPList = ((Element) icpp.item(0)).getChildNodes();
-			if (!((Node) ICPPList.item(0)).getNodeValue().equals("true")
-					&& !((Node) ICPPList.item(0)).getNodeValue()
-							.equals("false")) {
-				new org.rainbow.gui.Error("ICPP is not valid!", frame);
-				gui.setStatusMessage("ICPP is not valid!");
+			ConfigurationParser parser = new ConfigurationParser();
+			conf = parser.parse(chooser.getSelectedFile(), SimulationContext
+					.getSharedContext());
+			if (conf == null) {
+				new org.rainbow.gui.Error(parser.getError(), frame);
+				gui.setStatusMessage(parser.getError());
 				return null;
-			} else {
-				if (((Node) ICPPList.item(0)).getNodeValue().equals("true")) {
-					ICPP = true;
-				} else {
-					ICPP = false;
-				}
-			}
-			// System.out.println("ICPP : " +
-			// ((Node)ICPPList.item(0)).getNodeValue());
-
-			// READ PROCESSES
-			NodeList listOfProcesses = doc.getElementsByTagName("process");
-			// System.out.println("Total no of processes : " +
-			// listOfProcesses.getLength());
-			for (int s = 0; s < listOfProcesses.getLength() && !error; s++) {
-				Node processNode = listOfProcesses.item(s);
-				if (processNode.getNodeType() == Node.ELEMENT_NODE) {
-					Element processElement = (Element) processNode;
-					// NAME
-					NodeList nameList = processElement
-							.getElementsByTagName("name");
-					Element nameElement = (Element) nameList.item(0);
-					NodeList textFNList = nameElement.getChildNodes();
-					// System.out.println("Name : " +
-					// ((Node)textFNList.item(0)).getNodeValue());
-					// ACTIVATION TIME
-					NodeList activationTimeList = processElement
-							.getElementsByTagName("activationTime");
-					Element activationTimeElement = (Element) activationTimeList
-							.item(0);
-					NodeList textLNList = activationTimeElement.getChildNodes();
-					// System.out.println("Activation Time : " +
-					// ((Node)textLNList.item(0)).getNodeValue());
-					// EXECUTION TIME
-					NodeList executionTimeList = processElement
-							.getElementsByTagName("executionTime");
-					Element executionTimeElement = (Element) executionTimeList
-							.item(0);
-					NodeList executionTimeCNList = executionTimeElement
-							.getChildNodes();
-					// System.out.println("Execution Time : " +
-					// ((Node)executionTimeCNList.item(0)).getNodeValue());
-					// BASE PRIORITY
-					NodeList basePriorityList = processElement
-							.getElementsByTagName("basePriority");
-					Element basePriorityElement = (Element) basePriorityList
-							.item(0);
-					NodeList textbasePriorityList = basePriorityElement
-							.getChildNodes();
-					// System.out.println("Base Priority : " +
-					// ((Node)textbasePriorityList.item(0)).getNodeValue());
-					boolean nameUsed = false;
-					for (int j = 0; j < confProcesses.size() && !nameUsed; j++) {
-						if ((((Node) textFNList.item(0)).getNodeValue())
-								.equals(confProcesses.get(j).getName())) {
-							nameUsed = true;
-						}
-					}
-					if (nameUsed) {
-						new org.rainbow.gui.Error("The process's name "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is already used", frame);
-						gui.setStatusMessage("The process's name "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is already used");
-						return null;
-					}
-
-					if (InputControl
-							.isProcessWrong(((Node) textLNList.item(0))
-									.getNodeValue(),
-									((Node) executionTimeCNList.item(0))
-											.getNodeValue(),
-									((Node) textbasePriorityList.item(0))
-											.getNodeValue())) {
-						new org.rainbow.gui.Error("The process "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is not valid!", frame);
-						gui.setStatusMessage("The process "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is not valid");
-						return null;
-					} else {
-						confProcesses.add(new SimulatedProcess(
-								((Node) textFNList.item(0)).getNodeValue(),
-								Integer.parseInt(((Node) textLNList.item(0))
-										.getNodeValue()), Integer
-										.parseInt(((Node) executionTimeCNList
-												.item(0)).getNodeValue()),
-								Integer.parseInt(((Node) textbasePriorityList
-										.item(0)).getNodeValue())));
-
-					}
-				}
-			}
-			// READ RESOURCE
-			NodeList listOfResources = doc.getElementsByTagName("resource");
-			// System.out.println("Total no of resources : " +
-			// listOfResources.getLength());
-			for (int s = 0; s < listOfResources.getLength() && !error; s++) {
-				Node resourceNode = listOfResources.item(s);
-				if (resourceNode.getNodeType() == Node.ELEMENT_NODE) {
-					Element resourceElement = (Element) resourceNode;
-					// NAME
-					NodeList nameList = resourceElement
-							.getElementsByTagName("name");
-					Element nameElement = (Element) nameList.item(0);
-					NodeList textFNList = nameElement.getChildNodes();
-					// System.out.println("Name : " +
-					// ((Node)textFNList.item(0)).getNodeValue());
-
-					// PREEMPTIVE
-					NodeList preemptiveList = resourceElement
-							.getElementsByTagName("preemptive");
-					Element preemptiveElement = (Element) preemptiveList
-							.item(0);
-					NodeList preemptiveCNList = preemptiveElement
-							.getChildNodes();
-					// System.out.println("Preemptive : " +
-					// ((Node)preemptiveCNList.item(0)).getNodeValue());
-
-					// MULTIPLICITY
-					NodeList multiplicityList = resourceElement
-							.getElementsByTagName("multiplicity");
-					Element multiplicityElement = (Element) multiplicityList
-							.item(0);
-					NodeList multiplicityCNList = multiplicityElement
-							.getChildNodes();
-					// System.out.println("Multiplicity : " +
-					// ((Node)multiplicityCNList.item(0)).getNodeValue());
-
-					// CEILING PRIORITY
-					NodeList cpList = resourceElement
-							.getElementsByTagName("ceilingPriority");
-					Element cpElement = (Element) cpList.item(0);
-					NodeList cpCNList = cpElement.getChildNodes();
-					// System.out.println("Ceiling Priority : " +
-					// ((Node)cpCNList.item(0)).getNodeValue());
-					boolean nameUsed = false;
-					for (int j = 0; j < confResources.size() && !nameUsed; j++) {
-						if ((((Node) textFNList.item(0)).getNodeValue())
-								.equals(confResources.get(j).getName())) {
-							nameUsed = true;
-						}
-					}
-					if (nameUsed) {
-						new org.rainbow.gui.Error("The resource's name "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is already used", frame);
-						gui.setStatusMessage("The resource's name "
-								+ ((Node) textFNList.item(0)).getNodeValue()
-								+ " is already used");
-						return null;
-					}
-					if ((((Node) preemptiveCNList.item(0)).getNodeValue())
-							.equals("true")) {
-						if (InputControl
-								.isPreemptiveResourceWrong(((Node) multiplicityCNList
-										.item(0)).getNodeValue())) {
-							new org.rainbow.gui.Error(
-									"The resource "
-											+ ((Node) textFNList.item(0)).getNodeValue()
-											+ " is not valid", frame);
-							gui.setStatusMessage("The resource "
-									+ ((Node) textFNList.item(0))
-											.getNodeValue() + " is not valid");
-							return null;
-						} else {
-							confResources.add(new PreemptiveResource(
-									((Node) textFNList.item(0)).getNodeValue(),
-									Integer.parseInt(((Node) multiplicityCNList
-											.item(0)).getNodeValue())));
-						}
-					} else {
-						if ((((Node) preemptiveCNList.item(0)).getNodeValue())
-								.equals("false")) {
-							if (InputControl.isNoPreemptiveResourceWrong(
-									((Node) multiplicityCNList.item(0))
-											.getNodeValue(), ((Node) cpCNList
-											.item(0)).getNodeValue())) {
-								new org.rainbow.gui.Error(
-										"The resource "
-												+ ((Node) textFNList.item(0)).getNodeValue()
-												+ " is not valid", frame);
-								gui.setStatusMessage("The resource "
-										+ ((Node) textFNList.item(0))
-												.getNodeValue()
-										+ " is not valid");
-								return null;
-							} else {
-								confResources
-										.add(new NoPreemptiveResource(
-												((Node) textFNList.item(0))
-														.getNodeValue(),
-												Integer.parseInt(((Node) multiplicityCNList
-														.item(0))
-														.getNodeValue()),
-												Integer.parseInt(((Node) cpCNList
-														.item(0))
-														.getNodeValue())));
-							}
-						} else {
-							new org.rainbow.gui.Error(
-									"The resource "
-											+ ((Node) textFNList.item(0)).getNodeValue()
-											+ " is not valid", frame);
-							gui.setStatusMessage("The resource "
-									+ ((Node) textFNList.item(0))
-											.getNodeValue() + " is not valid");
-							return null;
-						}
-
-					}
-				}
-			}
-
-			// READ ACCESSES
-			NodeList listOfAccesses = doc.getElementsByTagName("access");
-			// System.out.println("Total no of accesses : " +
-			// listOfAccesses.getLength());
-			for (int s = 0; s < listOfAccesses.getLength() && !error; s++) {
-				Node accessNode = listOfAccesses.item(s);
-				if (accessNode.getNodeType() == Node.ELEMENT_NODE) {
-					Element accessElement = (Element) accessNode;
-					// PROCESS NAME
-					NodeList pList = accessElement
-							.getElementsByTagName("processName");
-					Element pElement = (Element) pList.item(0);
-					NodeList pCNList = pElement.getChildNodes();
-					// System.out.println("Process Name : " +
-					// ((Node)pCNList.item(0)).getNodeValue());
-
-					// RESOURCE NAME
-					NodeList rList = accessElement
-							.getElementsByTagName("resourceName");
-					Element rElement = (Element) rList.item(0);
-					NodeList rCNList = rElement.getChildNodes();
-					// System.out.println("Resource Name : " +
-					// ((Node)rCNList.item(0)).getNodeValue());
-
-					// REQUEST TIME
-					NodeList rtList = accessElement
-							.getElementsByTagName("requestTime");
-					Element rtElement = (Element) rtList.item(0);
-					NodeList rtCNList = rtElement.getChildNodes();
-					// System.out.println("Request Time : " +
-					// ((Node)rtCNList.item(0)).getNodeValue());
-
-					// REQUEST DURATION
-					NodeList rdList = accessElement
-							.getElementsByTagName("requestDuration");
-					Element rdElement = (Element) rdList.item(0);
-					NodeList rdCNList = rdElement.getChildNodes();
-					// System.out.println("Request Duration : " +
-					// ((Node)rdCNList.item(0)).getNodeValue());
-
-					boolean found = false;
-					SimulatedProcess currentProcess = null;
-					for (int j = 0; j < confProcesses.size() && !found; j++) {
-						if ((((Node) pCNList.item(0)).getNodeValue())
-								.equals(confProcesses.get(j).getName())) {
-							currentProcess = confProcesses.get(j);
-							found = true;
-						}
-					}
-					if (!found) {
-						new org.rainbow.gui.Error("The process in the access "
-								+ s + " does not exist", frame);
-						gui.setStatusMessage("The process in the access " + s
-								+ " does not exist");
-						return null;
-					}
-					found = false;
-					Resource currentResource = null;
-					for (int j = 0; j < confResources.size() && !found; j++) {
-						if ((((Node) rCNList.item(0)).getNodeValue())
-								.equals(confResources.get(j).getName())) {
-							currentResource = confResources.get(j);
-							found = true;
-						}
-					}
-					if (!found) {
-						new org.rainbow.gui.Error("The resource in the access "
-								+ s + " does not exist", frame);
-						gui.setStatusMessage("The resource in the access " + s
-								+ " does not exist");
-						return null;
-					}
-					if (InputControl.isRequestTimeWrong(
-							String.valueOf(currentProcess.getExecutionTime()),
-							((Node) rtCNList.item(0)).getNodeValue())) {
-						new org.rainbow.gui.Error(
-								"The request time of the access " + s
-										+ " is not valid", frame);
-						gui.setStatusMessage("The request time of the access "
-								+ s + " is not valid");
-						return null;
-					}
-					if (InputControl.isRequestDurationWrong(
-							String.valueOf(currentProcess.getExecutionTime()),
-							((Node) rtCNList.item(0)).getNodeValue(),
-							((Node) rdCNList.item(0)).getNodeValue())) {
-						new org.rainbow.gui.Error(
-								"The request duration of the access " + s
-										+ " is not valid", frame);
-						gui.setStatusMessage("The request duration of the access "
-								+ s + " is not valid");
-						return null;
-					}
-					if (InputControl.isAccessWrong(
-							String.valueOf(currentProcess.getActivationTime()),
-							String.valueOf(currentProcess.getExecutionTime()),
-							((Node) rtCNList.item(0)).getNodeValue(),
-							((Node) rdCNList.item(0)).getNodeValue())) {
-						new org.rainbow.gui.Error("The access " + s
-								+ " is not valid", frame);
-						gui.setStatusMessage("The access " + s
-								+ " is not valid");
-						return null;
-					} else {
-						currentProcess.addNewAccessRequest(currentResource,
-								Integer.parseInt(((Node) rtCNList.item(0))
-										.getNodeValue()), Integer
-										.parseInt(((Node) rdCNList.item(0))
-												.getNodeValue()));
-					}
-				}
 			}
 
 		} catch (SAXParseException err) {
@@ -746,9 +348,6 @@ public class FileManager {
 					+ "] [MESSAGE: " + "The selected file is corrupted" + "]");
 			return null;
 		}
-		conf = new Configuration(AP, SP, confProcesses, confResources);
-		conf.setICPP(ICPP);
-		conf.setTimeslice(TS);
 		gui.setStatusMessage("Configuration file opened!");
 		return conf;
 	}
@@ -21,9 +21,11 @@
  * Package: gui
  * Author: Dalle Pezze Piero, Sarto Carlo, Fabio Gallonetto 
  * Date: 13/02/2005
- * Version: 2.14
+ * Version: 2.16
  *
  * Modifies
+ *  - v.2.16 (17/10/2026): The length of the simulation is checked only simulating it, the sums of the times could overflow.
+ *  - v.2.15 (17/10/2026): The length of the simulation is checked without simulating it all.
  *  - v.2.14  (25/11/2014): Separation of the Views, Toolbar and Menubar from the main GUI. 
  *  - v.2.13 (24/11/2014): Simplified the language management. This file does not need to be edited when adding new languages to Rainbow. 
  *  - v.2.12 (19/11/2014): Removed automatic advancement and inserted manual incremental step. 
@@ -83,7 +85,7 @@ import java.awt.event.WindowAdapter;
  * @author Dalle Pezze Piero (Rainbow)
  * @author Sarto Carlo (SGPEMv2)
  * @author Fabio Gallonetto (SGPEMv1)
- * @version 2.14
+ * @version 2.16
  */
 public class RainbowMainGUI {
 
@@ -380,58 +382,25 @@ public class RainbowMainGUI {
 		// It sets the new current configuration
 		configuration = conf;
 
-		// it controls that the simulation is not greater than
-		// RainbowConfig.getMaxLengthSimulation() ticks.
-		int totalDurationExecution = 0;
-		int totalDurationActivation = 0;
-		int totalDuration = 0;
-		boolean isCorrect = true;
-		for (int i = 0; i < conf.getProcesses().size(); i++) {
-			totalDurationExecution += conf.getProcesses().get(i)
-					.getExecutionTime();
-			if (totalDurationExecution > RainbowConfig.getMaxLengthSimulation()) {
-				isCorrect = false;
-				break;
-			}
-			totalDurationActivation += conf.getProcesses().get(i)
-					.getActivationTime();
-			if (totalDurationActivation > RainbowConfig
-					.getMaxLengthSimulation()) {
-				isCorrect = false;
-				break;
-			}
-			totalDuration = totalDurationExecution + totalDurationActivation;
-			if (totalDuration > RainbowConfig.getMaxLengthSimulation()) {
-				isCorrect = false;
-				break;
-			}
-		}
-
-		if (isCorrect) {
-			// it creates a new simulation
-			simulation = new Simulation(configuration, this);
-			if (simulation.getDuration() < RainbowConfig
-					.getMaxLengthSimulation()) {
+		// it creates a new simulation. It controls that the simulation is not
+		// greater than RainbowConfig.getMaxLengthSimulation() ticks, simulating
+		// at most that length.
+		simulation = new Simulation(configuration, this);
+		if (!simulation.lastsAtLeast(RainbowConfig.getMaxLengthSimulation())) {
 
-				// It sets true if the configuration was opened from file, false
-				// otherwise.
-				setConfigurationSaved(saved);
+			// It sets true if the configuration was opened from file, false
+			// otherwise.
+			setConfigurationSaved(saved);
 
-				rainbowToolbar.setButtonsCreateSimulation();
-				rainbowMenubar.setMenuItemsCreateSimulation();
+			rainbowToolbar.setButtonsCreateSimulation();
+			rainbowMenubar.setMenuItemsCreateSimulation();
 
-				// It sets the simulation at start.
-				setStartUp();
-			} else {
-				System.out.println(Language.getER003());
-				new Error(Language.getER003(), frame);
-			}
+			// It sets the simulation at start.
+			setStartUp();
 		} else {
 			System.out.println(Language.getER003());
 			new Error(Language.getER003(), frame);
-
 		}
-
 	}
 
 	/** It sets the simulation in the terminate state. */
@@ -21,9 +21,10 @@
  * Package: gui
  * Author: Dalle Pezze Piero
  * Date: 25/11/2014
- * Version: 1.0
+ * Version: 1.1
  *
  * Modifies
+ *  - v.1.1 (17/10/2026): The deadlock message shows its cycle.
  *  - v.1.0  (25/11/2014): Separation of the Views from the main GUI.
  */
 package org.rainbow.gui;
@@ -46,7 +47,7 @@ import java.util.ArrayList;
  * It is the Rainbow View system.
  * 
  * @author Dalle Pezze Piero
- * @version 1.0
+ * @version 1.1
  */
 public class RainbowViews {
 
@@ -129,6 +130,9 @@ public class RainbowViews {
 				currView.setLabelText(Language.getDeadlock());
 				String simTerminatedMessage = Language
 						.getDeadlockSimulationTerminated();
+				if (state.getDeadlockCycle() != null) {
+					simTerminatedMessage += " " + state.getDeadlockCycleText();
+				}
 				currView.setLabelText(simTerminatedMessage);
 			}
 		} else if ((views[3]).getComponent() instanceof ViewRunningGraph) {
@@ -0,0 +1,268 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: ConfigurationParser.java
+ * Package: gui.input
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v.1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.gui.input;
+
+import java.io.*;
+import java.util.*;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.rainbow.data.*;
+import org.w3c.dom.*;
+import org.xml.sax.SAXException;
+
+/**
+ * It parses a configuration file saved by Rainbow in xml format and checks
+ * its values with InputControl. It does not use any window: the invalid
+ * values are reported by getError(), so it is used both by the GUI and by the
+ * batch simulations.
+ *
+ * @version 1.0
+ */
+public class ConfigurationParser {
+
+	/**
+	 * The error found in the values of the last file parsed.
+	 */
+	private String error = null;
+
+	/**
+	 * It creates a parser of configuration files.
+	 */
+	public ConfigurationParser() {
+	}
+
+	/**
+	 * It returns the error found in the values of the last file parsed, null
+	 * if its values are valid.
+	 *
+	 * @return the last error found.
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * It parses a configuration saved in xml format. The processes and the
+	 * resources take their ids from the given context.
+	 *
+	 * @param file
+	 *            The configuration file.
+	 * @param context
+	 *            The context of the configuration.
+	 * @return The configuration, null if a value is not valid.
+	 * @throws IOException
+	 *             if the file cannot be read or an element is missing.
+	 * @throws SAXException
+	 *             if the file is not well formed.
+	 * @throws ParserConfigurationException
+	 *             if no xml parser is available.
+	 */
+	public Configuration parse(File file, SimulationContext context)
+			throws IOException, SAXException, ParserConfigurationException {
+		ArrayList<SimulatedProcess> confProcesses = new ArrayList<SimulatedProcess>();
+		ArrayList<Resource> confResources = new ArrayList<Resource>();
+		// the names are indexed, so large configurations are read in linear
+		// time.
+		HashMap<String, SimulatedProcess> processNames = new HashMap<String, SimulatedProcess>();
+		HashMap<String, Resource> resourceNames = new HashMap<String, Resource>();
+		error = null;
+
+		DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory
+				.newInstance();
+		DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
+		Document doc = docBuilder.parse(file);
+		doc.getDocumentElement().normalize();
+
+		// READ GENERAL CONFIGURATION
+		String SP = getValue(doc.getDocumentElement(), "schedulingPolicy");
+		if (InputControl.isSchedulingPolicyWrong(SP)) {
+			return fail("Scheduling policy is not valid!");
+		}
+		String AP = getValue(doc.getDocumentElement(), "assignmentPolicy");
+		if (InputControl.isAssignmentPolicyWrong(AP)) {
+			return fail("Assignment policy is not valid!");
+		}
+		String value = getValue(doc.getDocumentElement(), "timeSlice");
+		if (InputControl.isQuantumWrong(value)) {
+			return fail("Time slice is not valid!");
+		}
+		int TS = Integer.parseInt(value);
+		value = getValue(doc.getDocumentElement(), "icpp");
+		if (!value.equals("true") && !value.equals("false")) {
+			return fail("ICPP is not valid!");
+		}
+		boolean ICPP = value.equals("true");
+
+		// READ PROCESSES
+		NodeList listOfProcesses = doc.getElementsByTagName("process");
+		for (int s = 0; s < listOfProcesses.getLength(); s++) {
+			Node processNode = listOfProcesses.item(s);
+			if (processNode.getNodeType() != Node.ELEMENT_NODE)
+				continue;
+			Element processElement = (Element) processNode;
+			String name = getValue(processElement, "name");
+			String activationTime = getValue(processElement, "activationTime");
+			String executionTime = getValue(processElement, "executionTime");
+			String basePriority = getValue(processElement, "basePriority");
+			if (processNames.containsKey(name)) {
+				return fail("The process's name " + name + " is already used");
+			}
+			if (InputControl.isProcessWrong(activationTime, executionTime,
+					basePriority)) {
+				return fail("The process " + name + " is not valid!");
+			}
+			SimulatedProcess process = new SimulatedProcess(context, name,
+					Integer.parseInt(activationTime),
+					Integer.parseInt(executionTime),
+					Integer.parseInt(basePriority));
+			confProcesses.add(process);
+			processNames.put(name, process);
+		}
+
+		// READ RESOURCES
+		NodeList listOfResources = doc.getElementsByTagName("resource");
+		for (int s = 0; s < listOfResources.getLength(); s++) {
+			Node resourceNode = listOfResources.item(s);
+			if (resourceNode.getNodeType() != Node.ELEMENT_NODE)
+				continue;
+			Element resourceElement = (Element) resourceNode;
+			String name = getValue(resourceElement, "name");
+			String preemptive = getValue(resourceElement, "preemptive");
+			String multiplicity = getValue(resourceElement, "multiplicity");
+			String ceilingPriority = getValue(resourceElement,
+					"ceilingPriority");
+			Resource resource;
+			if (resourceNames.containsKey(name)) {
+				return fail("The resource's name " + name + " is already used");
+			}
+			if (preemptive.equals("true")) {
+				if (InputControl.isPreemptiveResourceWrong(multiplicity)) {
+					return fail("The resource " + name + " is not valid");
+				}
+				resource = new PreemptiveResource(context, name,
+						Integer.parseInt(multiplicity));
+			} else if (preemptive.equals("false")) {
+				if (InputControl.isNoPreemptiveResourceWrong(multiplicity,
+						ceilingPriority)) {
+					return fail("The resource " + name + " is not valid");
+				}
+				resource = new NoPreemptiveResource(context, name,
+						Integer.parseInt(multiplicity),
+						Integer.parseInt(ceilingPriority));
+			} else {
+				return fail("The resource " + name + " is not valid");
+			}
+			confResources.add(resource);
+			resourceNames.put(name, resource);
+		}
+
+		// READ ACCESSES
+		NodeList listOfAccesses = doc.getElementsByTagName("access");
+		for (int s = 0; s < listOfAccesses.getLength(); s++) {
+			Node accessNode = listOfAccesses.item(s);
+			if (accessNode.getNodeType() != Node.ELEMENT_NODE)
+				continue;
+			Element accessElement = (Element) accessNode;
+			SimulatedProcess currentProcess = processNames.get(getValue(
+					accessElement, "processName"));
+			if (currentProcess == null) {
+				return fail("The process in the access " + s
+						+ " does not exist");
+			}
+			Resource currentResource = resourceNames.get(getValue(
+					accessElement, "resourceName"));
+			if (currentResource == null) {
+				return fail("The resource in the access " + s
+						+ " does not exist");
+			}
+			String requestTime = getValue(accessElement, "requestTime");
+			String requestDuration = getValue(accessElement, "requestDuration");
+			String executionTime = String.valueOf(currentProcess
+					.getExecutionTime());
+			if (InputControl.isRequestTimeWrong(executionTime, requestTime)) {
+				return fail("The request time of the access " + s
+						+ " is not valid");
+			}
+			if (InputControl.isRequestDurationWrong(executionTime,
+					requestTime, requestDuration)) {
+				return fail("The request duration of the access " + s
+						+ " is not valid");
+			}
+			if (InputControl.isAccessWrong(
+					String.valueOf(currentProcess.getActivationTime()),
+					executionTime, requestTime, requestDuration)) {
+				return fail("The access " + s + " is not valid");
+			}
+			currentProcess.addNewAccessRequest(currentResource,
+					Integer.parseInt(requestTime),
+					Integer.parseInt(requestDuration));
+		}
+
+		Configuration conf = new Configuration(AP, SP, confProcesses,
+				confResources);
+		conf.setICPP(ICPP);
+		conf.setTimeslice(TS);
+		conf.setContext(context);
+		return conf;
+	}
+
+	/**
+	 * It returns the text of the first element with the given tag.
+	 *
+	 * @param parent
+	 *            The element containing the tag.
+	 * @param tag
+	 *            The name of the tag.
+	 * @return the text of the element.
+	 * @throws IOException
+	 *             if the element does not exist.
+	 */
+	private String getValue(Element parent, String tag) throws IOException {
+		NodeList list = parent.getElementsByTagName(tag);
+		if (list.getLength() == 0 || list.item(0).getFirstChild() == null) {
+			throw new IOException("Missing element " + tag);
+		}
+		return list.item(0).getFirstChild().getNodeValue();
+	}
+
+	/**
+	 * It records an error.
+	 *
+	 * @param message
+	 *            The error message.
+	 * @return always null.
+	 */
+	private Configuration fail(String message) {
+		error = message;
+		return null;
+	}
+}
@@ -21,9 +21,13 @@
  * Package: gui.input
  * Author: Dalle Pezze Piero
  * Date: 01/03/2007
- * Version: 1.2
+ * Version: 1.6
  *
  * Modifies:
+ *  - v.1.6 (17/10/2026): Added the Linux (Completely Fair Scheduler) scheduling policy.
+ *  - v.1.5 (17/10/2026): Added the Banker's algorithm assignment policy.
+ *  - v.1.4 (17/10/2026): Added the scale mode for large batch simulations.
+ *  - v.1.3 (17/10/2026): The number of levels of MF policies can be set by the configuration.
  *  - v.1.2 (24/11/2014): Simplified the language management. This file does not need to be edited when adding new languages to Rainbow.
  *  - v.1.1 (19/11/2014): Correction: Moved applicationName from Language to here. 
  *  - v.1.0 (01/03/2007): Code and documentation.
@@ -33,6 +37,7 @@ package org.rainbow.gui.input;
 import org.rainbow.gui.language.*;
 import org.rainbow.scheduler.*;
 import org.rainbow.scheduler.assignpolicies.AssignmentPolicy;
+import org.rainbow.scheduler.assignpolicies.BankerAssign;
 import org.rainbow.scheduler.assignpolicies.FIFOAssign;
 import org.rainbow.scheduler.assignpolicies.HPFAssign;
 import org.rainbow.scheduler.assignpolicies.RandomAssign;
@@ -53,7 +58,7 @@ import java.text.*;
  * The configuration of Rainbow.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.6
  */
 public final class RainbowConfig {
 
@@ -97,6 +102,28 @@ public final class RainbowConfig {
 	// simulation
 	private static int maxLengthSimulation = 15000;
 
+	/**
+	 * The limits of the scale mode. The processes, resources and accesses are
+	 * limited only by the memory (see the README), the times by the int range
+	 * of the ticks.
+	 */
+	private static final int SCALE_MAX_PROCESSES = 1000000;
+
+	private static final int SCALE_MAX_RESOURCES = 100000;
+
+	private static final int SCALE_MAX_ACCESSES = 10000000;
+
+	private static final int SCALE_MAX_TIME = 100000000;
+
+	private static final int SCALE_MAX_LENGTH_SIMULATION = Integer.MAX_VALUE - 1;
+
+	/**
+	 * It is true if the limits of the scale mode are used instead of the
+	 * limits of config.xml. It is used by the batch simulations, the GUI
+	 * always uses the limits of config.xml.
+	 */
+	private static boolean scaleMode = false;
+
 	private static String[] schedulingPolicies = new String[] {
 			"First In First Out",
 			"Shortest Job First",
@@ -104,7 +131,7 @@ public final class RainbowConfig {
 			"Round Robin",
 			"Priority Round Robin",
 			"Preemptive on Priority Round Robin",
-			// "Linux", "UNIX",
+			"Linux", // "UNIX",
 			"Highest Priority First", "Preemptive Highest Priority First",
 			"Highest Remaining Ratio First", "Multilevel Feedback",
 			"Preemptive Multilevel Feedback",
@@ -118,7 +145,7 @@ public final class RainbowConfig {
 			"Highest Remaining Ratio First" };
 
 	private static String[] assignmentPolicies = new String[] {
-			"First In First Out", "Random", "Highest Priority First" };
+			"First In First Out", "Random", "Highest Priority First", "Banker" };
 
 	private static String msg = "";
 
@@ -579,6 +606,9 @@ public final class RainbowConfig {
 	 * @return the maximum activation time.
 	 */
 	public static int getMaxActivationTime() {
+		if (scaleMode) {
+			return SCALE_MAX_TIME;
+		}
 		return maxActivationTime;
 	}
 
@@ -597,6 +627,9 @@ public final class RainbowConfig {
 	 * @return the maximum execution time.
 	 */
 	public static int getMaxExecutionTime() {
+		if (scaleMode) {
+			return SCALE_MAX_TIME;
+		}
 		return maxExecutionTime;
 	}
 
@@ -624,6 +657,9 @@ public final class RainbowConfig {
 	 * @return the maximum number of processes.
 	 */
 	public static int getMaxProcessesNumber() {
+		if (scaleMode) {
+			return SCALE_MAX_PROCESSES;
+		}
 		return maxProcessesNumber;
 	}
 
@@ -642,6 +678,9 @@ public final class RainbowConfig {
 	 * @return the maximum number of resources.
 	 */
 	public static int getMaxResourcesNumber() {
+		if (scaleMode) {
+			return SCALE_MAX_RESOURCES;
+		}
 		return maxResourcesNumber;
 	}
 
@@ -714,6 +753,9 @@ public final class RainbowConfig {
 	 * @return the maximum number of accesses.
 	 */
 	public static int getMaxAccessesNumber() {
+		if (scaleMode) {
+			return SCALE_MAX_ACCESSES;
+		}
 		return maxAccessesNumber;
 	}
 
@@ -732,9 +774,34 @@ public final class RainbowConfig {
 	 * @return the maximum length of the simulation.
 	 */
 	public static int getMaxLengthSimulation() {
+		if (scaleMode) {
+			return SCALE_MAX_LENGTH_SIMULATION;
+		}
 		return maxLengthSimulation;
 	}
 
+	/**
+	 * It sets the scale mode. In scale mode the limits of the number of
+	 * processes, resources and accesses, of the times and of the length of
+	 * the simulation are the ones of large workloads instead of the ones of
+	 * config.xml.
+	 *
+	 * @param scale
+	 *            true to use the limits of the scale mode.
+	 */
+	public static void setScaleMode(boolean scale) {
+		scaleMode = scale;
+	}
+
+	/**
+	 * It returns true if the scale mode is used.
+	 *
+	 * @return true if the scale mode is used.
+	 */
+	public static boolean isScaleMode() {
+		return scaleMode;
+	}
+
 	/**
 	 * It returns the scheduling policy of the configuratiion.
 	 *
@@ -747,6 +814,9 @@ public final class RainbowConfig {
 		SchedulingPolicy sched = new FIFO();
 
 		String pol = configuration.getSchedulingPolicy();
+		int levels = configuration.getLevels();
+		if (levels < 1)
+			levels = getMaxLevelInMFpolicies();
 
 		if (pol.equals("First In First Out")) {
 			sched = new FIFO();
@@ -788,19 +858,19 @@ public final class RainbowConfig {
 		}
 		if (pol.equals("Multilevel Feedback")) {
 			sched = new MF(configuration.getTimeslice(),
-					getMaxLevelInMFpolicies());
+					levels);
 		}
 		if (pol.equals("Preemptive Multilevel Feedback")) {
 			sched = new PreemptiveMF(configuration.getTimeslice(),
-					getMaxLevelInMFpolicies());
+					levels);
 		}
 		if (pol.equals("Multilevel Feedback Dynamic Quantum")) {
 			sched = new MFDQ(configuration.getTimeslice(),
-					getMaxLevelInMFpolicies());
+					levels);
 		}
 		if (pol.equals("Preemptive Multilevel Feedback Dynamic Quantum")) {
 			sched = new PreemptiveMFDQ(configuration.getTimeslice(),
-					getMaxLevelInMFpolicies());
+					levels);
 		}
 		return sched;
 	}
@@ -825,6 +895,9 @@ public final class RainbowConfig {
 		if (pol.equals("Highest Priority First")) {
 			assign = new HPFAssign();
 		}
+		if (pol.equals("Banker")) {
+			assign = new BankerAssign();
+		}
 		return assign;
 	}
 
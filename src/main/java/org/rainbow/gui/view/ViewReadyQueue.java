@@ -21,16 +21,16 @@
  * Package: gui.view
  * Author: Sarto Carlo, Dalle Pezze Piero
  * Date: 01/02/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies
+ *  - v.1.3 (17/10/2026): Ready queue levels shown from the ReadyQueue, without placeholder processes.
  *  - v.1.2 (04/05/2007): English translation and Java 6 support. Dalle Pezze Piero.
  *  - v.1.1 (05/02/2006): Documentation of the class. Sarto Carlo.
  *  - v.1.0 (01/02/2006): Codify of the class. Sarto Carlo.
  */
 package org.rainbow.gui.view;
 
-import java.util.ArrayList;
 import javax.swing.JScrollPane;
 import javax.swing.JPanel;
 import javax.swing.JTable;
@@ -38,14 +38,14 @@ import javax.swing.table.*;
 import java.awt.*;
 
 import org.rainbow.gui.language.*;
-import org.rainbow.data.*;
+import org.rainbow.simulation.*;
 
 /**
  * It is the view of the ready queue of a simulation.
  * 
  * @author Sarto Carlo
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.3
  */
 public class ViewReadyQueue extends JScrollPane {
 
@@ -101,16 +101,28 @@ public class ViewReadyQueue extends JScrollPane {
 	}
 
 	/**
-	 * It updates the ready process queue.
+	 * It updates the ready process queue. The queues of the policies with
+	 * priorities or levels are shown one after the other, each one under a
+	 * title row.
 	 * 
 	 * @param readyQueue
 	 *            The ready queue.
 	 */
-	public void update(ArrayList<SimulatedProcess> readyQueue) {
-		data = new Object[readyQueue.size()][2];
+	public void update(ReadyQueue readyQueue) {
+		int levels = readyQueue.getLevelCount();
+		data = new Object[readyQueue.size() + levels][2];
+		int row = 0, i = 0;
+		for (int l = 0; l < levels; l++) {
+			// It inserts the processes before the level.
+			for (; i < readyQueue.getLevelStart(l); i++) {
+				data[row++][0] = readyQueue.get(i).getName();
+			}
+			data[row++][0] = readyQueue.getLevelTitle()
+					+ readyQueue.getLevel(l);
+		}
 		// It inserts the process' name.
-		for (int i = 0; i < readyQueue.size(); i++) {
-			data[i][0] = readyQueue.get(i).getName();
+		for (; i < readyQueue.size(); i++) {
+			data[row++][0] = readyQueue.get(i).getName();
 		}
 
 		readyTable = new JTable(new TableModel());
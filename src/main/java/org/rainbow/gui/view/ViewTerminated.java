@@ -21,9 +21,10 @@
  * Package: gui.view
  * Author: Sarto Carlo, Dalle Pezze Piero
  * Date: 02/02/2006
- * Version: 1.2
+ * Version: 1.3
  *
  * Modifies
+ *  - v.1.3 (17/10/2026): The terminated processes are a List.
  *  - v.1.2 (10/05/2007): English translation and Java 6 support. Dalle Pezze Piero.
  *  - v.1.1 (07/02/2006): Documentation of the class. Sarto Carlo.
  *  - v.1.0 (02/02/2006): Codify of the class. Sarto Carlo.
@@ -34,7 +35,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JPanel;
 import javax.swing.table.DefaultTableModel;
-import java.util.ArrayList;
+import java.util.List;
 import org.rainbow.data.*;
 import org.rainbow.gui.language.*;
 import java.awt.*;
@@ -44,7 +45,7 @@ import java.awt.*;
  * 
  * @author Sarto Carlo
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.3
  */
 public class ViewTerminated extends JScrollPane {
 
@@ -104,7 +105,7 @@ public class ViewTerminated extends JScrollPane {
 	 * @param terminated
 	 *            The processes terminated list.
 	 */
-	public void update(ArrayList<SimulatedProcess> terminated) {
+	public void update(List<SimulatedProcess> terminated) {
 		data = new Object[terminated.size()][2];
 
 		for (int i = 0; i < terminated.size(); i++) {
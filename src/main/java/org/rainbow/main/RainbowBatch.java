@@ -0,0 +1,343 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: RainbowBatch.java
+ * Package: main
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.5
+ *
+ * Modifies:
+ * v.1.5 (17/10/2026): Added the options of the run queues per core and their load balancing.
+ * v.1.4 (17/10/2026): Added the option of the cores of the CPU.
+ * v.1.3 (17/10/2026): Added the options of the recovery from the deadlocks.
+ * v.1.2 (17/10/2026): Added the scale mode option.
+ * v.1.1 (17/10/2026): Added the parameter sweep options.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+
+package org.rainbow.main;
+
+import java.io.*;
+import java.util.*;
+
+import org.rainbow.batch.*;
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+
+/**
+ * It starts Rainbow without the GUI. Each configuration file passed on the
+ * command line is simulated until the end and the statistics are written in
+ * JSON or CSV format.
+ *
+ * <pre>
+ * RainbowBatch [--format json|csv] [--output file] configuration.xml ...
+ * </pre>
+ *
+ * If a sweep option is given, each configuration is simulated for every
+ * combination of the swept parameters in parallel and a comparison table is
+ * written instead of the per process statistics.
+ *
+ * <pre>
+ * --policies all|name,name,...     the scheduling policies
+ * --assignments all|name,name,...  the assignment policies
+ * --quanta 1-5|1,2,4               the time slices
+ * --levels 2-6|2,4                 the levels of multilevel feedback policies
+ * --cores 1-4|1,2,4                the cores of the CPU
+ * --balance-interval 1-8|1,4       the ticks between two steals of a core
+ * --balance-threshold 1-4|1,2      the ready processes of a queue to steal
+ * --migration-cost 0-4|0,2         the warm-up time of a migrated process
+ * --threads n                      the threads of the fork-join pool
+ * </pre>
+ *
+ * The option --smp gives each core its own run queue, balanced by work
+ * stealing, instead of a run queue shared by all the cores. The balancing
+ * options are used only with --smp and more cores.
+ *
+ * By default a simulation stops at the first deadlock. The option --recovery
+ * aborts or restarts a victim of the deadlock instead, chosen with the cost
+ * given by --victim: the least executed time (default), the lowest priority
+ * or the fewest held resources.
+ *
+ * The option --scale uses the limits of the scale mode instead of the limits
+ * of config.xml, to simulate configurations with up to a million processes.
+ *
+ * @version 1.5
+ */
+public class RainbowBatch {
+
+	/**
+	 * It prints the usage of the command.
+	 */
+	private static void usage() {
+		System.out
+				.println("Usage: RainbowBatch [--format json|csv] [--output file] "
+						+ "[--policies all|p1,p2,...] [--assignments all|a1,a2,...] "
+						+ "[--quanta 1-5|1,2,...] [--levels 2-6|2,4,...] [--cores 1-4|1,2,...] "
+						+ "[--smp] [--balance-interval 1-8|1,4,...] "
+						+ "[--balance-threshold 1-4|1,2,...] [--migration-cost 0-4|0,2,...] "
+						+ "[--threads n] "
+						+ "[--recovery abort|restart] [--victim executed|priority|resources] "
+						+ "[--scale] configuration.xml ...");
+	}
+
+	/**
+	 * It returns the policies of a comma separated list, all the policies if
+	 * the list is "all", null if a policy is not valid.
+	 */
+	private static String[] parsePolicies(String list, String[] all,
+			boolean scheduling) {
+		if (list.equals("all")) {
+			return all;
+		}
+		String[] policies = list.split(",");
+		for (int i = 0; i < policies.length; i++) {
+			policies[i] = policies[i].trim();
+			if (scheduling ? InputControl.isSchedulingPolicyWrong(policies[i])
+					: InputControl.isAssignmentPolicyWrong(policies[i])) {
+				return null;
+			}
+		}
+		return policies;
+	}
+
+	/**
+	 * It returns the positive values of a range (min-max) or of a comma
+	 * separated list, null if a value is not valid.
+	 */
+	private static int[] parseValues(String list) {
+		return parseValues(list, 1);
+	}
+
+	/**
+	 * It returns the values not less than least of a range (min-max) or of a
+	 * comma separated list, null if a value is not valid.
+	 */
+	private static int[] parseValues(String list, int least) {
+		try {
+			int dash = list.indexOf('-');
+			if (dash > 0) {
+				int min = Integer.parseInt(list.substring(0, dash).trim());
+				int max = Integer.parseInt(list.substring(dash + 1).trim());
+				if (min < least || max < min) {
+					return null;
+				}
+				int[] values = new int[max - min + 1];
+				for (int i = 0; i < values.length; i++) {
+					values[i] = min + i;
+				}
+				return values;
+			}
+			String[] items = list.split(",");
+			int[] values = new int[items.length];
+			for (int i = 0; i < items.length; i++) {
+				values[i] = Integer.parseInt(items[i].trim());
+				if (values[i] < least) {
+					return null;
+				}
+			}
+			return values;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public static void main(String[] args) {
+		String format = StatisticsWriter.JSON;
+		String output = null;
+		String policies = null, assignments = null, quanta = null, levels = null;
+		String cores = null;
+		String intervals = null, thresholds = null, costs = null;
+		boolean smp = false;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean scale = false;
+		String recovery = Configuration.NO_RECOVERY;
+		String victimCost = Configuration.LEAST_EXECUTED_TIME;
+		ArrayList<String> files = new ArrayList<String>();
+
+		for (int i = 0; i < args.length; i++) {
+			if ((args[i].equals("--format") || args[i].equals("-f"))
+					&& i + 1 < args.length) {
+				format = args[++i].toLowerCase();
+			} else if ((args[i].equals("--output") || args[i].equals("-o"))
+					&& i + 1 < args.length) {
+				output = args[++i];
+			} else if (args[i].equals("--policies") && i + 1 < args.length) {
+				policies = args[++i];
+			} else if (args[i].equals("--assignments") && i + 1 < args.length) {
+				assignments = args[++i];
+			} else if (args[i].equals("--quanta") && i + 1 < args.length) {
+				quanta = args[++i];
+			} else if (args[i].equals("--levels") && i + 1 < args.length) {
+				levels = args[++i];
+			} else if (args[i].equals("--cores") && i + 1 < args.length) {
+				cores = args[++i];
+			} else if (args[i].equals("--smp")) {
+				smp = true;
+			} else if (args[i].equals("--balance-interval")
+					&& i + 1 < args.length) {
+				intervals = args[++i];
+			} else if (args[i].equals("--balance-threshold")
+					&& i + 1 < args.length) {
+				thresholds = args[++i];
+			} else if (args[i].equals("--migration-cost")
+					&& i + 1 < args.length) {
+				costs = args[++i];
+			} else if (args[i].equals("--threads") && i + 1 < args.length) {
+				int[] n = parseValues(args[++i]);
+				if (n == null || n.length != 1) {
+					usage();
+					System.exit(2);
+				}
+				threads = n[0];
+			} else if (args[i].equals("--recovery") && i + 1 < args.length) {
+				String value = args[++i];
+				if (value.equals("abort")) {
+					recovery = Configuration.ABORT_VICTIM;
+				} else if (value.equals("restart")) {
+					recovery = Configuration.RESTART_VICTIM;
+				} else {
+					usage();
+					System.exit(2);
+				}
+			} else if (args[i].equals("--victim") && i + 1 < args.length) {
+				String value = args[++i];
+				if (value.equals("executed")) {
+					victimCost = Configuration.LEAST_EXECUTED_TIME;
+				} else if (value.equals("priority")) {
+					victimCost = Configuration.LOWEST_PRIORITY;
+				} else if (value.equals("resources")) {
+					victimCost = Configuration.FEWEST_HELD_RESOURCES;
+				} else {
+					usage();
+					System.exit(2);
+				}
+			} else if (args[i].equals("--scale")) {
+				scale = true;
+			} else if (args[i].startsWith("-")) {
+				usage();
+				System.exit(2);
+			} else {
+				files.add(args[i]);
+			}
+		}
+		if (files.isEmpty() || !StatisticsWriter.isFormat(format)) {
+			usage();
+			System.exit(2);
+		}
+
+		RainbowConfig.setRainbowConfig();
+		RainbowConfig.setScaleMode(scale);
+
+		boolean sweep = policies != null || assignments != null
+				|| quanta != null || levels != null || cores != null
+				|| intervals != null || thresholds != null || costs != null;
+		String[] sps = null, aps = null;
+		int[] tss = null, lvs = null, crs = null;
+		int[] bis = null, bts = null, mcs = null;
+		if (policies != null) {
+			sps = parsePolicies(policies,
+					RainbowConfig.getSchedulingPolicies(), true);
+		}
+		if (assignments != null) {
+			aps = parsePolicies(assignments,
+					RainbowConfig.getAssignmentPolicies(), false);
+		}
+		if (quanta != null) {
+			tss = parseValues(quanta);
+		}
+		if (levels != null) {
+			lvs = parseValues(levels);
+		}
+		if (cores != null) {
+			crs = parseValues(cores);
+		}
+		if (intervals != null) {
+			bis = parseValues(intervals);
+		}
+		if (thresholds != null) {
+			bts = parseValues(thresholds);
+		}
+		if (costs != null) {
+			mcs = parseValues(costs, 0);
+		}
+		if ((policies != null && sps == null)
+				|| (assignments != null && aps == null)
+				|| (quanta != null && tss == null)
+				|| (levels != null && lvs == null)
+				|| (cores != null && crs == null)
+				|| (intervals != null && bis == null)
+				|| (thresholds != null && bts == null)
+				|| (costs != null && mcs == null)) {
+			usage();
+			System.exit(2);
+		}
+
+		ConfigurationReader reader = new ConfigurationReader();
+		ArrayList<BatchSimulation> simulations = new ArrayList<BatchSimulation>();
+		for (int i = 0; i < files.size(); i++) {
+			Configuration conf = reader.read(new File(files.get(i)));
+			if (conf == null) {
+				System.err.println(files.get(i) + ": " + reader.getError());
+				System.exit(1);
+			}
+			conf.setDeadlockRecovery(recovery);
+			conf.setVictimCost(victimCost);
+			conf.setSMP(smp);
+			if (sweep) {
+				ParameterSweep parameterSweep = new ParameterSweep(
+						files.get(i), conf);
+				parameterSweep.setSchedulingPolicies(sps);
+				parameterSweep.setAssignmentPolicies(aps);
+				parameterSweep.setTimeslices(tss);
+				parameterSweep.setLevels(lvs);
+				parameterSweep.setCores(crs);
+				parameterSweep.setBalanceIntervals(bis);
+				parameterSweep.setBalanceThresholds(bts);
+				parameterSweep.setMigrationCosts(mcs);
+				simulations.addAll(parameterSweep.run(threads));
+			} else {
+				BatchSimulation sim = new BatchSimulation(files.get(i), conf);
+				sim.run();
+				simulations.add(sim);
+			}
+		}
+
+		try {
+			Writer out;
+			if (output == null) {
+				out = new BufferedWriter(new OutputStreamWriter(System.out));
+			} else {
+				out = new BufferedWriter(new FileWriter(output));
+			}
+			if (sweep) {
+				new StatisticsWriter(format).writeComparison(simulations, out);
+			} else {
+				new StatisticsWriter(format).write(simulations, out);
+			}
+			if (output != null) {
+				out.close();
+			}
+		} catch (IOException e) {
+			System.err.println("Impossible to write the statistics: "
+					+ e.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: RainbowBenchmark.java
+ * Package: main
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.2
+ *
+ * Modifies:
+ * v.1.2 (17/10/2026): The workloads of the suite are simulated with the seed.
+ * v.1.1 (17/10/2026): Added the regression suite.
+ * v.1.0 (17/10/2026): Documentation and codify.
+ */
+
+package org.rainbow.main;
+
+import java.io.*;
+import java.util.*;
+
+import org.rainbow.batch.*;
+import org.rainbow.data.*;
+import org.rainbow.gui.input.*;
+
+/**
+ * It measures the batch simulations of synthetic workloads in scale mode. For
+ * each number of processes a configuration is generated and simulated until
+ * the end, and a CSV row is written with the duration of the simulation, the
+ * states produced, the time, the states per second and the peak of the heap.
+ *
+ * <pre>
+ * RainbowBenchmark [--processes 1000,10000,100000] [--resources n]
+ *                  [--policy name] [--assignment name] [--quantum n] [--seed n]
+ * </pre>
+ *
+ * With --suite it runs the regression suite of MacroBenchmark instead: every
+ * configuration of the examples directory and the synthetic workloads scaled
+ * 10x, 100x, ... from 10 processes are simulated through Evolution. The
+ * results are written in CSV and, if a baseline is given, the command fails
+ * when the workloads are slower or use more heap than the baseline beyond
+ * the threshold, or when their ticks or states differ from the baseline (see
+ * MacroBenchmark.compare()). The random assignment policy takes the seed, so
+ * each workload repeats the same simulation.
+ *
+ * <pre>
+ * RainbowBenchmark --suite [--examples dir] [--scales 10,100,1000]
+ *                  [--output file] [--baseline file] [--threshold 0.25]
+ * </pre>
+ *
+ * @version 1.2
+ */
+public class RainbowBenchmark {
+
+	/**
+	 * It prints the usage of the command.
+	 */
+	private static void usage() {
+		System.out
+				.println("Usage: RainbowBenchmark [--processes n1,n2,...] [--resources n] "
+						+ "[--policy name] [--assignment name] [--quantum n] [--seed n] "
+						+ "[--suite [--examples dir] [--scales 10,100,...] [--output file] "
+						+ "[--baseline file] [--threshold 0.25]]");
+	}
+
+	/**
+	 * It runs the regression suite: every configuration of a directory and
+	 * the synthetic workloads scaled from 10 processes are simulated through
+	 * Evolution and compared with the baseline.
+	 *
+	 * @return the exit code, 1 if a workload regressed.
+	 */
+	private static int suite(String examples, int[] scales, String policy,
+			String assignment, int quantum, long seed, String output,
+			String baseline, double threshold) throws IOException {
+		MacroBenchmark benchmark = new MacroBenchmark();
+		File[] files = new File(examples).listFiles();
+		if (files != null) {
+			Arrays.sort(files);
+			ConfigurationReader reader = new ConfigurationReader();
+			for (int i = 0; i < files.length; i++) {
+				if (!files[i].getName().endsWith(".xml")) {
+					continue;
+				}
+				Configuration conf = reader.read(files[i]);
+				if (conf == null) {
+					System.err.println(files[i] + ": " + reader.getError());
+					return 1;
+				}
+				// the random assignment policy repeats the same simulation.
+				conf.setSeed(seed);
+				benchmark.measure(files[i].getName(), conf);
+			}
+		}
+		for (int i = 0; i < scales.length; i++) {
+			int n = 10 * scales[i];
+			WorkloadGenerator generator = new WorkloadGenerator(seed);
+			generator.setMaxActivationTime(n * 20);
+			Configuration conf = generator.generate(n, Math.max(1, n / 100),
+					policy, assignment, quantum);
+			conf.setSeed(seed);
+			benchmark.measure("synthetic-x" + scales[i], conf);
+		}
+
+		Writer out;
+		if (output == null) {
+			out = new BufferedWriter(new OutputStreamWriter(System.out));
+		} else {
+			out = new BufferedWriter(new FileWriter(output));
+		}
+		benchmark.write(out);
+		if (output != null) {
+			out.close();
+		}
+		if (baseline != null) {
+			Reader in = new FileReader(baseline);
+			ArrayList<String> warnings = new ArrayList<String>();
+			ArrayList<String> regressions = benchmark.compare(in, threshold,
+					warnings);
+			in.close();
+			for (int i = 0; i < warnings.size(); i++) {
+				System.err.println("Slower: " + warnings.get(i));
+			}
+			for (int i = 0; i < regressions.size(); i++) {
+				System.err.println("Regression: " + regressions.get(i));
+			}
+			if (!regressions.isEmpty()) {
+				return 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * It returns the positive values of a comma separated list, null if a
+	 * value is not valid.
+	 */
+	private static int[] parseValues(String list) {
+		String[] items = list.split(",");
+		int[] values = new int[items.length];
+		for (int i = 0; i < items.length; i++) {
+			values[i] = Integer.parseInt(items[i].trim());
+			if (values[i] < 1) {
+				return null;
+			}
+		}
+		return values;
+	}
+
+	public static void main(String[] args) {
+		String policy = "First In First Out";
+		String assignment = "First In First Out";
+		String processes = "1000,10000,100000";
+		int resources = -1, quantum = 2;
+		long seed = 1;
+		boolean suite = false;
+		String examples = "examples", scales = "10,100,1000";
+		String output = null, baseline = null;
+		double threshold = 0.25;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				if (args[i].equals("--processes") && i + 1 < args.length) {
+					processes = args[++i];
+				} else if (args[i].equals("--resources") && i + 1 < args.length) {
+					resources = Integer.parseInt(args[++i]);
+				} else if (args[i].equals("--policy") && i + 1 < args.length) {
+					policy = args[++i];
+				} else if (args[i].equals("--assignment")
+						&& i + 1 < args.length) {
+					assignment = args[++i];
+				} else if (args[i].equals("--quantum") && i + 1 < args.length) {
+					quantum = Integer.parseInt(args[++i]);
+				} else if (args[i].equals("--seed") && i + 1 < args.length) {
+					seed = Long.parseLong(args[++i]);
+				} else if (args[i].equals("--suite")) {
+					suite = true;
+				} else if (args[i].equals("--examples") && i + 1 < args.length) {
+					examples = args[++i];
+				} else if (args[i].equals("--scales") && i + 1 < args.length) {
+					scales = args[++i];
+				} else if (args[i].equals("--output") && i + 1 < args.length) {
+					output = args[++i];
+				} else if (args[i].equals("--baseline") && i + 1 < args.length) {
+					baseline = args[++i];
+				} else if (args[i].equals("--threshold")
+						&& i + 1 < args.length) {
+					threshold = Double.parseDouble(args[++i]);
+				} else {
+					usage();
+					System.exit(2);
+				}
+			}
+		} catch (NumberFormatException e) {
+			usage();
+			System.exit(2);
+		}
+
+		RainbowConfig.setRainbowConfig();
+		RainbowConfig.setScaleMode(true);
+		if (InputControl.isSchedulingPolicyWrong(policy)
+				|| InputControl.isAssignmentPolicyWrong(assignment)) {
+			usage();
+			System.exit(2);
+		}
+
+		if (suite) {
+			int[] values = parseValues(scales);
+			if (values == null) {
+				usage();
+				System.exit(2);
+			}
+			try {
+				System.exit(suite(examples, values, policy, assignment,
+						quantum, seed, output, baseline, threshold));
+			} catch (IOException e) {
+				System.err.println("Impossible to run the suite: "
+						+ e.getMessage());
+				System.exit(1);
+			}
+		}
+
+		System.out.println("processes,resources,duration,states,milliseconds,"
+				+ "statesPerSecond,peakHeapMB");
+		String[] sizes = processes.split(",");
+		for (int i = 0; i < sizes.length; i++) {
+			int n = Integer.parseInt(sizes[i].trim());
+			int r = resources < 0 ? Math.max(1, n / 100) : resources;
+			WorkloadGenerator generator = new WorkloadGenerator(seed);
+			// the processes arrive at a constant rate, so the ready queue
+			// does not depend on the size of the workload.
+			generator.setMaxActivationTime(n * 20);
+			Configuration conf = generator.generate(n, r, policy, assignment,
+					quantum);
+			conf.setSeed(seed);
+			MacroBenchmark.resetPeakHeap();
+			long start = System.nanoTime();
+			BatchSimulation sim = new BatchSimulation("synthetic-" + n, conf);
+			sim.run();
+			long ms = (System.nanoTime() - start) / 1000000;
+			System.out.println(n + "," + r + "," + sim.getDuration() + ","
+					+ sim.getStates() + "," + ms + ","
+					+ (ms == 0 ? sim.getStates() * 1000L : sim.getStates()
+							* 1000L / ms) + "," + MacroBenchmark.peakHeap() / (1024 * 1024));
+		}
+	}
+}
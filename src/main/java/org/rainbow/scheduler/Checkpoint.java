@@ -0,0 +1,188 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: Checkpoint.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.io.*;
+import java.util.*;
+
+import org.rainbow.data.*;
+
+/**
+ * It saves the whole state of a scheduler (PCB table, queues of the
+ * scheduling policy, attributions of the resources, queues of the assignment
+ * policies and future events) and restores it later. A restored scheduler
+ * produces the same states of the saved one, so a simulation can be replayed
+ * from a checkpoint.
+ *
+ * The processes and the resources of the configuration are not copied: they
+ * are saved as references to the configuration, so the restored scheduler
+ * and its states share them with the original simulation.
+ *
+ * @version 1.0
+ */
+public class Checkpoint {
+
+	/**
+	 * The processes and the resources of the configuration.
+	 */
+	private ArrayList<Object> shared = new ArrayList<Object>();
+
+	/**
+	 * The position in shared of each process and resource.
+	 */
+	private IdentityHashMap<Object, Integer> handles = new IdentityHashMap<Object, Integer>();
+
+	/**
+	 * It creates a checkpoint manager for the schedulers of a configuration.
+	 *
+	 * @param configuration
+	 *            The simulated configuration.
+	 */
+	public Checkpoint(Configuration configuration) {
+		if (configuration.getProcesses() != null) {
+			share(configuration.getProcesses());
+		}
+		if (configuration.getResources() != null) {
+			share(configuration.getResources());
+		}
+	}
+
+	/**
+	 * It adds objects to the shared ones.
+	 */
+	private void share(List<?> objects) {
+		for (int i = 0; i < objects.size(); i++) {
+			if (!handles.containsKey(objects.get(i))) {
+				handles.put(objects.get(i), shared.size());
+				shared.add(objects.get(i));
+			}
+		}
+	}
+
+	/**
+	 * It saves the state of a scheduler.
+	 *
+	 * @param scheduler
+	 *            The scheduler.
+	 * @return the saved state.
+	 */
+	public byte[] save(Scheduler scheduler) {
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			ObjectOutputStream out = new CheckpointOutputStream(bytes);
+			out.writeObject(scheduler);
+			out.close();
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException("The scheduler cannot be saved: "
+					+ e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * It restores a scheduler.
+	 *
+	 * @param state
+	 *            The state saved by save().
+	 * @return a new scheduler in the saved state.
+	 */
+	public Scheduler restore(byte[] state) {
+		try {
+			ObjectInputStream in = new CheckpointInputStream(
+					new ByteArrayInputStream(state));
+			Scheduler scheduler = (Scheduler) in.readObject();
+			in.close();
+			return scheduler;
+		} catch (IOException e) {
+			throw new IllegalStateException(
+					"The scheduler cannot be restored: " + e.getMessage(), e);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(
+					"The scheduler cannot be restored: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * It is the reference to a process or a resource of the configuration.
+	 */
+	private static class Handle implements Serializable {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -111L;
+
+		/**
+		 * The position in shared.
+		 */
+		private int index;
+
+		Handle(int index) {
+			this.index = index;
+		}
+	}
+
+	/**
+	 * It writes the shared objects as handles.
+	 */
+	private class CheckpointOutputStream extends ObjectOutputStream {
+
+		CheckpointOutputStream(OutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+
+		protected Object replaceObject(Object obj) throws IOException {
+			Integer index = handles.get(obj);
+			if (index != null) {
+				return new Handle(index.intValue());
+			}
+			return obj;
+		}
+	}
+
+	/**
+	 * It reads the handles as the shared objects.
+	 */
+	private class CheckpointInputStream extends ObjectInputStream {
+
+		CheckpointInputStream(InputStream in) throws IOException {
+			super(in);
+			enableResolveObject(true);
+		}
+
+		protected Object resolveObject(Object obj) throws IOException {
+			if (obj instanceof Handle) {
+				return shared.get(((Handle) obj).index);
+			}
+			return obj;
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: Event.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.io.Serializable;
+
+/**
+ * This is an event of the discrete simulation. An event happens at an absolute
+ * time of the scheduler and it belongs to a phase of the scheduler iteration
+ * (for instance the activation of processes or the release of resources). The
+ * scheduler fires the events of a phase when their time is reached. A new
+ * kind of event only needs to extend this class and to be scheduled in the
+ * EventList of the scheduler.
+ *
+ * @version 1.0
+ */
+public abstract class Event implements Comparable<Event>, Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -102L;
+
+	/**
+	 * The absolute time of the event.
+	 */
+	private int time;
+
+	/**
+	 * The phase of the scheduler iteration firing the event.
+	 */
+	private int phase;
+
+	/**
+	 * The insertion order of the event. Events with the same time are fired in
+	 * insertion order.
+	 */
+	long sequence = -1;
+
+	/**
+	 * It creates an event.
+	 *
+	 * @param time
+	 *            The absolute time of the event.
+	 * @param phase
+	 *            The phase of the scheduler iteration firing the event.
+	 */
+	protected Event(int time, int phase) {
+		this.time = time;
+		this.phase = phase;
+	}
+
+	/**
+	 * It returns the absolute time of the event.
+	 *
+	 * @return the time of the event.
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * It returns the phase of the scheduler iteration firing the event.
+	 *
+	 * @return the phase of the event.
+	 */
+	public int getPhase() {
+		return phase;
+	}
+
+	/**
+	 * It returns true if the event is in an event list.
+	 *
+	 * @return true if the event is scheduled.
+	 */
+	public boolean isScheduled() {
+		return sequence >= 0;
+	}
+
+	/**
+	 * It executes the event.
+	 */
+	public abstract void fire();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int compareTo(Event e) {
+		if (time != e.time) {
+			return time < e.time ? -1 : 1;
+		}
+		if (sequence != e.sequence) {
+			return sequence < e.sequence ? -1 : 1;
+		}
+		return 0;
+	}
+
+}
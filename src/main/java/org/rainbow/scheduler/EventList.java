@@ -0,0 +1,184 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: EventList.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * This is the future event list of the discrete simulation. The events are
+ * kept sorted by absolute time, a sorted set for each phase of the scheduler
+ * iteration, so the insertion, the cancellation and the search of the next
+ * event cost O(log E).
+ *
+ * @version 1.0
+ */
+public class EventList implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -103L;
+
+	/**
+	 * The events of each phase, sorted by time.
+	 */
+	private ArrayList<TreeSet<Event>> phases;
+
+	/**
+	 * The number of events scheduled so far. It gives the insertion order.
+	 */
+	private long scheduled = 0;
+
+	/**
+	 * It creates an empty event list.
+	 *
+	 * @param phases
+	 *            The number of phases of the scheduler iteration.
+	 */
+	public EventList(int phases) {
+		this.phases = new ArrayList<TreeSet<Event>>(phases);
+		for (int i = 0; i < phases; i++) {
+			this.phases.add(new TreeSet<Event>());
+		}
+	}
+
+	/**
+	 * It inserts an event.
+	 *
+	 * @param event
+	 *            The event to insert. It must not be in a list.
+	 */
+	public void schedule(Event event) {
+		event.sequence = scheduled++;
+		phases.get(event.getPhase()).add(event);
+	}
+
+	/**
+	 * It removes an event, if it is in the list.
+	 *
+	 * @param event
+	 *            The event to remove. It can be null.
+	 */
+	public void cancel(Event event) {
+		if (event != null && event.isScheduled()) {
+			phases.get(event.getPhase()).remove(event);
+			event.sequence = -1;
+		}
+	}
+
+	/**
+	 * It removes and returns the events of a phase which time is not after the
+	 * time specified, in order of time. Events scheduled while the returned
+	 * events are fired are not included.
+	 *
+	 * @param phase
+	 *            The phase.
+	 * @param time
+	 *            The current time.
+	 * @return the list of the events to fire.
+	 */
+	public ArrayList<Event> pollDue(int phase, int time) {
+		ArrayList<Event> due = new ArrayList<Event>(1);
+		TreeSet<Event> events = phases.get(phase);
+		while (!events.isEmpty() && events.first().getTime() <= time) {
+			Event e = events.pollFirst();
+			e.sequence = -1;
+			due.add(e);
+		}
+		return due;
+	}
+
+	/**
+	 * It returns the time of the first event after the time specified.
+	 *
+	 * @param time
+	 *            The current time.
+	 * @return the time of the next event, -1 if there are not future events.
+	 */
+	public int nextTime(int time) {
+		int next = -1;
+		for (int i = 0; i < phases.size(); i++) {
+			Event e = phases.get(i).higher(new Bound(time));
+			if (e != null && (next == -1 || e.getTime() < next)) {
+				next = e.getTime();
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * It returns the time of the first event.
+	 *
+	 * @return the time of the first event, -1 if the list is empty.
+	 */
+	public int firstTime() {
+		int first = -1;
+		for (int i = 0; i < phases.size(); i++) {
+			if (!phases.get(i).isEmpty()) {
+				int time = phases.get(i).first().getTime();
+				if (first == -1 || time < first) {
+					first = time;
+				}
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * It returns true if there are events of a phase.
+	 *
+	 * @param phase
+	 *            The phase.
+	 * @return true if the phase has events.
+	 */
+	public boolean hasEvents(int phase) {
+		return !phases.get(phase).isEmpty();
+	}
+
+	/**
+	 * It is a search key following all the events of a time.
+	 */
+	private static class Bound extends Event {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -104L;
+
+		Bound(int time) {
+			super(time, 0);
+			sequence = Long.MAX_VALUE;
+		}
+
+		public void fire() {
+		}
+	}
+
+}
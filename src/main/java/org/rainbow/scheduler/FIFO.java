@@ -21,9 +21,11 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.4
  * 
  * Modifies:
+ *  - v.1.4 (17/10/2026): The ready queue snapshot shares the queue.
+ *  - v.1.3 (17/10/2026): Typed ready queue snapshot.
  *  - v.1.2 (13/11/2014): Added iterators.    
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
@@ -40,7 +42,7 @@ import org.rainbow.simulation.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.4
  */
 public class FIFO implements Batch {
 
@@ -54,6 +56,11 @@ public class FIFO implements Batch {
 	 */
 	protected LinkedList<PCB> readyQueue;
 
+	/**
+	 * The processes of the ready queue, shared with the snapshots.
+	 */
+	protected SharedDeque<SimulatedProcess> readyProcesses;
+
 	/**
 	 * The refered dispatcher.
 	 */
@@ -64,6 +71,7 @@ public class FIFO implements Batch {
 	 */
 	public FIFO() {
 		readyQueue = new LinkedList<PCB>();
+		readyProcesses = new SharedDeque<SimulatedProcess>();
 	}
 
 	/**
@@ -89,6 +97,7 @@ public class FIFO implements Batch {
 	 */
 	public void insert(PCB ready) {
 		readyQueue.add(ready);
+		readyProcesses.addLast(ready.getSimulatedProcess());
 	}
 
 	/**
@@ -98,6 +107,7 @@ public class FIFO implements Batch {
 	 */
 	public PCB extract() {
 		if (readyQueue.size() > 0) {
+			readyProcesses.removeFirst();
 			return readyQueue.removeFirst();
 		}
 		return null;
@@ -113,14 +123,8 @@ public class FIFO implements Batch {
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
-				readyQueue.size());
-		Iterator<PCB> itReadyQueue = readyQueue.iterator();
-		while (itReadyQueue.hasNext()) {
-			sp.add(itReadyQueue.next().getSimulatedProcess());
-		}
-		return sp;
+	public ReadyQueue getReadyQueue() {
+		return new ReadyQueue(readyProcesses.snapshot());
 	}
 
 	/**
@@ -21,9 +21,12 @@
  * Package: scheduler
  * Author: Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.5
  * 
  * Modifies:
+ *  - v.1.5 (17/10/2026): The ready queue snapshot shares the queues.
+ *  - v.1.4 (17/10/2026): Ready queue snapshot split by priority, without placeholder processes.
+ *  - v.1.3 (17/10/2026): Ready queue indexed by priority with a bitmap.
  *  - v.1.2 (13/11/2014): Added iterators.    
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
@@ -42,7 +45,7 @@ import org.rainbow.data.*;
  * not preemptive.
  * 
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.5
  */
 public class HPF implements Interactive {
 
@@ -51,12 +54,17 @@ public class HPF implements Interactive {
 	 */
 	private static final long serialVersionUID = -5002L;
 
+	/**
+	 * The title of the levels of the ready queue.
+	 */
+	public static final String LEVEL_TITLE = "Queue with priority ";
+
 	/**
 	 * The ready queue. For each index of the ArrayList there is a FIFO queue.
 	 * The index of the ArrayList represents the priority. This policy extracts
 	 * the process with the highest priority (the queue with the highest index).
 	 */
-	protected HashMap<Integer, LinkedList<PCB>> readyQueue;
+	protected PriorityRunQueue readyQueue;
 
 	/**
 	 * The refered dispatcher.
@@ -79,11 +87,7 @@ public class HPF implements Interactive {
 	public HPF(int minPriority, int maxPriority) {
 		this.minPriority = minPriority;
 		this.maxPriority = maxPriority;
-		readyQueue = new HashMap<Integer, LinkedList<PCB>>(maxPriority
-				- minPriority + 1);
-		for (int i = minPriority; i <= maxPriority; i++) {
-			readyQueue.put(i, new LinkedList<PCB>());
-		}
+		readyQueue = new PriorityRunQueue(minPriority, maxPriority);
 	}
 
 	/**
@@ -109,7 +113,7 @@ public class HPF implements Interactive {
 	 *            The process just activated.
 	 */
 	public void insert(PCB ready) {
-		readyQueue.get(ready.getActivePriority()).addLast(ready);
+		readyQueue.addLast(ready.getActivePriority(), ready);
 	}
 
 	/**
@@ -118,53 +122,24 @@ public class HPF implements Interactive {
 	 * @return the process that must execute.
 	 */
 	public PCB extract() {
-		int index = minPriority - 1;
-		for (int key = maxPriority; key >= minPriority
-				&& index == minPriority - 1; key--) {
-			if (readyQueue.get(key).size() > 0) {
-				index = key;
-			}
-		}
-		if (index != minPriority - 1) {
-			return readyQueue.get(index).removeFirst();
-		}
-		return null;
+		return readyQueue.pollHighest();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public int size() {
-		int size = 0;
-		for (int i = minPriority; i <= maxPriority; i++) {
-			// sum of the sizes
-			size = size + readyQueue.get(i).size();
-		}
-		return size;
+		return readyQueue.size();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> ready = new ArrayList<SimulatedProcess>(
-				size() + readyQueue.size());
+	public ReadyQueue getReadyQueue() {
+		ReadyQueue ready = new ReadyQueue(size(), LEVEL_TITLE,
+				readyQueue.levels());
 		for (int i = maxPriority; i >= minPriority; i--) {
-			LinkedList<PCB> tmp = readyQueue.get(i);
-			/*
-			 * IMPORTANT NOTICE: THIS IS NOT CLEAN! ArrayList ids templated with
-			 * SimulatedProcess object. So it is impossible to add a particular
-			 * message as the following one. Here it is necessary to print the
-			 * queues otherwise the user don't understand the behaviour of the
-			 * this policy. The processes here created are only used to print
-			 * the sentence "Queue with priority i-th", NOT for other cases.
-			 */
-			ready.add(new SimulatedProcess(("Queue with priority " + i), -1,
-					-1, 1));
-			Iterator<PCB> itTmp = tmp.iterator();
-			while (itTmp.hasNext()) {
-				ready.add(itTmp.next().getSimulatedProcess());
-			}
+			ready.addLevel(i, readyQueue.getProcesses(i));
 		}
 		return ready;
 	}
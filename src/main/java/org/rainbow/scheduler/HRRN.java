@@ -21,9 +21,12 @@
  * Package: scheduler
  * Author: Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.5
  * 
  * Modifies:
+ *  - v.1.5 (17/10/2026): The ready queue snapshot is shared until the queue changes.
+ *  - v.1.4 (17/10/2026): Typed ready queue snapshot.
+ *  - v.1.3 (17/10/2026): Ready queue with a kinetic tournament.
  *  - v.1.2 (13/11/2014): Added iterators.    
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
@@ -38,12 +41,13 @@ import org.rainbow.simulation.*;
 /**
  * This class implements the scheduling algorithm HRRN (Highest Response Ratio
  * Next). </br>The response ratio of a process is: </br> response ratio =
- * (exptected execution time + waiting time) / expected execution time. </br>The
- * waiting time and the response ratio are computed for each extraction. It is
- * extracted the process having highest response ratio. This policy is fairness.
+ * (exptected execution time + waiting time) / expected execution time. </br>It
+ * is extracted the process having highest response ratio, the ready queue
+ * finds it without computing the ratio of each process (see
+ * ResponseRatioQueue). This policy is fairness.
  * 
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.5
  */
 public class HRRN implements Interactive {
 
@@ -53,9 +57,15 @@ public class HRRN implements Interactive {
 	private static final long serialVersionUID = -5004L;
 
 	/**
-	 * The ready queue. The behaviour is FIFO.
+	 * The ready queue. The iteration order is FIFO.
 	 */
-	protected LinkedList<PCB> readyQueue;
+	protected ResponseRatioQueue readyQueue;
+
+	/**
+	 * The last snapshot of the ready queue, null if the queue was modified
+	 * later.
+	 */
+	protected transient ReadyQueue snapshot = null;
 
 	/**
 	 * The refered dispatcher.
@@ -66,7 +76,7 @@ public class HRRN implements Interactive {
 	 * It creates the HRRN policy.
 	 */
 	public HRRN() {
-		readyQueue = new LinkedList<PCB>();
+		readyQueue = new ResponseRatioQueue();
 	}
 
 	/**
@@ -92,7 +102,8 @@ public class HRRN implements Interactive {
 	 *            The process just activated.
 	 */
 	public void insert(PCB ready) {
-		readyQueue.add(ready);
+		snapshot = null;
+		readyQueue.add(ready, dispatcher.getCurrentTime());
 	}
 
 	/**
@@ -104,27 +115,9 @@ public class HRRN implements Interactive {
 	 */
 	public PCB extract() {
 		if (readyQueue.size() > 0) {
-			/* rr means response ratio */
-			float maxRR = 0.0f, rr = 0.0f;
-			int j = 0;
-			PCB pcb = null;
-			/* Search the process having the highest response ratio */
-			ListIterator<PCB> itReadyQueue = readyQueue.listIterator();
-			while (itReadyQueue.hasNext()) {
-				pcb = itReadyQueue.next();
-				/* compute the response-ratio of the process i-th. */
-				rr = (float) (pcb.getRemainingTime()
-						+ dispatcher.getCurrentTime() - pcb
-						.getSimulatedProcess().getActivationTime())
-						/ pcb.getRemainingTime();
-				if (maxRR < rr) {
-					maxRR = rr;
-					j = itReadyQueue.previousIndex();
-				}
-			}
-			return readyQueue.remove(j);
+			snapshot = null;
 		}
-		return null;
+		return readyQueue.pollHighest(dispatcher.getCurrentTime());
 	}
 
 	/**
@@ -137,13 +130,17 @@ public class HRRN implements Interactive {
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
-				readyQueue.size());
+	public ReadyQueue getReadyQueue() {
+		if (snapshot != null) {
+			// the queue is not changed, the snapshot is shared.
+			return snapshot;
+		}
+		ReadyQueue sp = new ReadyQueue(readyQueue.size());
 		Iterator<PCB> itReadyQueue = readyQueue.iterator();
 		while (itReadyQueue.hasNext()) {
 			sp.add(itReadyQueue.next().getSimulatedProcess());
 		}
+		snapshot = sp;
 		return sp;
 	}
 
@@ -21,20 +21,40 @@
  * Package: scheduler
  * Author: Dalle Pezze Piero
  * Date: 03/03/2007
- * Version: 1.1
- * 
+ * Version: 1.2
+ *
  * Modifies:
+ *  - v.1.2 (17/10/2026): Completely Fair Scheduler, ready queue sorted by virtual runtime.
  *  - v.1.0 (03/03/2007): Codify and documentation.
  */
 package org.rainbow.scheduler;
 
+import java.io.Serializable;
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
 /**
- * This class implements the Linux scheduling policy. DA FARE
- * 
+ * This class implements the Linux scheduling policy, that is the Completely
+ * Fair Scheduler (CFS). Each process has a virtual runtime, its executed time
+ * weighted by its nice value: a process with a lower nice value (higher
+ * priority) has a bigger weight, so its virtual runtime grows slower. The
+ * ready queue is a balanced tree sorted by virtual runtime and the process
+ * with the minimum virtual runtime is extracted.
+ *
+ * The time slice of the extracted process is its share, by weight, of the
+ * scheduling period. The period is the target latency (LATENCY_FACTOR time
+ * slices of the configuration), stretched when there are too many ready
+ * processes to give each one the minimum granularity (a time slice of the
+ * configuration). A new process starts from the minimum virtual runtime and a
+ * process ready again after waiting gets at most half of the target latency of
+ * credit. This version is not preemptive.
+ *
  * @author Dalle Pezze Piero
- * @version 1.0
+ * @version 1.2
  */
-public class LinuxScheduling extends PriorityRoundRobin {
+public class LinuxScheduling extends TimeSharing implements Interactive {
 
 	/**
 	 * To serializable
@@ -42,17 +62,353 @@ public class LinuxScheduling extends PriorityRoundRobin {
 	private static final long serialVersionUID = -5005L;
 
 	/**
-	 * It creates a round robin object with the selected time slice and a number
-	 * of priority. Note that minPriority must be < than maximum priority.
-	 * 
+	 * The weights of the nice values from -20 to 19, as in the Linux kernel.
+	 * Each nice value is about 10% of CPU less than the previous one.
+	 */
+	public static final int[] WEIGHTS = { 88761, 71755, 56483, 46273, 36291,
+			29154, 23254, 18705, 14949, 11916, 9548, 7620, 6100, 4904, 3906,
+			3121, 2501, 1991, 1586, 1277, 1024, 820, 655, 526, 423, 335, 272,
+			215, 172, 137, 110, 87, 70, 56, 45, 36, 29, 23, 18, 15 };
+
+	/**
+	 * The weight of the nice value 0.
+	 */
+	public static final int NICE_0_WEIGHT = 1024;
+
+	/**
+	 * The target latency, in minimum granularities.
+	 */
+	public static final int LATENCY_FACTOR = 8;
+
+	/**
+	 * The virtual runtime of a tick executed with nice value 0.
+	 */
+	protected static final long TICK = 1024;
+
+	/**
+	 * The ready queue, sorted by virtual runtime increasing. Processes with
+	 * the same virtual runtime are in FIFO order.
+	 */
+	protected TreeSet<Entry> readyQueue;
+
+	/**
+	 * The sequence number of the next process inserted.
+	 */
+	protected long tail = 0;
+
+	/**
+	 * The last snapshot of the ready queue, null if the queue was modified
+	 * later.
+	 */
+	protected transient ReadyQueue snapshot = null;
+
+	/**
+	 * The refered dispatcher.
+	 */
+	protected ProcessDispatcherInterface dispatcher = null;
+
+	/**
+	 * The minimum and the maximum priority available.
+	 */
+	protected int minPriority, maxPriority;
+
+	/**
+	 * The minimum virtual runtime. It never decreases.
+	 */
+	protected long minVruntime = 0;
+
+	/**
+	 * The sum of the weights of the ready processes.
+	 */
+	protected long load = 0;
+
+	/**
+	 * The virtual runtime of each process, by id, -1 if the process was never
+	 * ready.
+	 */
+	protected long[] vruntime;
+
+	/**
+	 * The executed time of each process, by id, already added to its virtual
+	 * runtime.
+	 */
+	protected int[] charged;
+
+	/**
+	 * The time slice of the process just extracted.
+	 */
+	protected int slice = 1;
+
+	/**
+	 * It creates a Completely Fair Scheduler with the selected minimum
+	 * granularity and a range of priorities. Note that minPriority must be <
+	 * than maximum priority.
+	 *
 	 * @param timeSlice
-	 *            The value of the time slice.
+	 *            The minimum granularity.
 	 * @param minPriority
 	 *            The minimum priority.
 	 * @param maxPriority
 	 *            The maximum priority.
 	 */
 	public LinuxScheduling(int timeSlice, int minPriority, int maxPriority) {
-		super(timeSlice, minPriority, maxPriority);
+		super(timeSlice);
+		this.minPriority = minPriority;
+		this.maxPriority = maxPriority;
+		readyQueue = new TreeSet<Entry>();
+		vruntime = new long[16];
+		Arrays.fill(vruntime, -1);
+		charged = new int[16];
 	}
-}
\ No newline at end of file
+
+	/**
+	 * It returns the nice value of a priority. The maximum priority is the
+	 * nice value -20, the minimum priority is 19.
+	 *
+	 * @param priority
+	 *            The priority.
+	 * @return the nice value.
+	 */
+	public int getNice(int priority) {
+		if (maxPriority <= minPriority) {
+			return 0;
+		}
+		int nice = Math.round(-20f + 39f * (maxPriority - priority)
+				/ (maxPriority - minPriority));
+		return Math.max(-20, Math.min(19, nice));
+	}
+
+	/**
+	 * It returns the weight of a process, given by the nice value of its
+	 * active priority.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @return the weight.
+	 */
+	public int getWeight(PCB pcb) {
+		return WEIGHTS[getNice(pcb.getActivePriority()) + 20];
+	}
+
+	/**
+	 * It returns the target latency: the period in which every ready process
+	 * runs once, if they are not too many.
+	 *
+	 * @return the target latency.
+	 */
+	public int getTargetLatency() {
+		return LATENCY_FACTOR * getTimeSlice();
+	}
+
+	/**
+	 * It returns the virtual runtime of a process.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @return the virtual runtime, -1 if the process was never ready.
+	 */
+	public long getVruntime(PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		return id < vruntime.length ? vruntime[id] : -1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void setProcessDispatcherInterface(
+			ProcessDispatcherInterface dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	/**
+	 * It inserts a ready process in the tree. The time executed since the
+	 * last insertion is added to its virtual runtime, weighted, then the
+	 * virtual runtime is placed near the minimum one.
+	 *
+	 * @param ready
+	 *            The ready process.
+	 */
+	public void insert(PCB ready) {
+		snapshot = null;
+		int id = ready.getSimulatedProcess().getId();
+		if (id >= vruntime.length) {
+			int length = vruntime.length;
+			vruntime = Arrays.copyOf(vruntime, Math.max(2 * length, id + 1));
+			Arrays.fill(vruntime, length, vruntime.length, -1);
+			charged = Arrays.copyOf(charged, vruntime.length);
+		}
+		int weight = getWeight(ready);
+		int executed = ready.getExecutedTime();
+		if (executed < charged[id]) {
+			// the process was restarted.
+			charged[id] = 0;
+		}
+		long vr = vruntime[id];
+		if (vr == -1) {
+			// a new process starts from the minimum virtual runtime.
+			vr = minVruntime;
+		} else {
+			vr += (executed - charged[id]) * TICK * NICE_0_WEIGHT / weight;
+			// the credit of a waiting process is bounded.
+			vr = Math.max(vr, minVruntime - getTargetLatency() * TICK / 2);
+		}
+		charged[id] = executed;
+		vruntime[id] = vr;
+		load += weight;
+		readyQueue.add(new Entry(ready, vr, weight, tail++));
+	}
+
+	/**
+	 * It extracts the process with the minimum virtual runtime and it
+	 * computes its time slice.
+	 *
+	 * @return the process that must execute.
+	 */
+	public PCB extract() {
+		Entry first = readyQueue.pollFirst();
+		if (first == null) {
+			return null;
+		}
+		snapshot = null;
+		load -= first.weight;
+		minVruntime = Math.max(minVruntime, first.vruntime);
+		// the period is stretched to give the minimum granularity to all.
+		long period = Math.max(getTargetLatency(), (long) (readyQueue.size() + 1)
+				* getTimeSlice());
+		slice = (int) Math.max(1, period * first.weight / (load + first.weight));
+		reset();
+		return first.pcb;
+	}
+
+	/**
+	 * It returns the time slice of the process just extracted.
+	 *
+	 * @param pcb
+	 *            The process extracted.
+	 * @return the time slice of the process.
+	 */
+	public int getTimeSlice(PCB pcb) {
+		return slice;
+	}
+
+	/**
+	 * It runs the process in execution at most for a time passed as parameter.
+	 * If its time slice expires, the policy removes the running process from
+	 * the cpu and inserts it again in the tree.
+	 *
+	 * @param time
+	 *            The maximum time that the process can run.
+	 *
+	 * @return the state of the dispatcher after having executed the process.
+	 */
+	public State execute(int time) {
+		State s;
+		PCB running = dispatcher.getPCBCurrent();
+		int executionTime = Math.min(slice - getTick(), time);
+		setTick(getTick() + executionTime);
+		s = dispatcher.increaseSchedulerTime(executionTime);
+		if (getTick() == slice && !(running.getRemainingTime() == 0)) {
+			// preemption
+			dispatcher.removePCBCurrent();
+			insert(running);
+		}
+		return s;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int size() {
+		return readyQueue.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public ReadyQueue getReadyQueue() {
+		if (snapshot != null) {
+			// the queue is not changed, the snapshot is shared.
+			return snapshot;
+		}
+		ReadyQueue sp = new ReadyQueue(readyQueue.size());
+		Iterator<Entry> itReadyQueue = readyQueue.iterator();
+		while (itReadyQueue.hasNext()) {
+			sp.add(itReadyQueue.next().pcb.getSimulatedProcess());
+		}
+		snapshot = sp;
+		return sp;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "Linux";
+	}
+
+	/**
+	 * A process of the ready queue. The virtual runtime and the weight are
+	 * read at the insertion, they do not change while the process is ready.
+	 */
+	protected static class Entry implements Comparable<Entry>, Serializable {
+
+		/**
+		 * To serializable
+		 */
+		private static final long serialVersionUID = -120L;
+
+		/**
+		 * The process.
+		 */
+		protected PCB pcb;
+
+		/**
+		 * The virtual runtime of the process.
+		 */
+		protected long vruntime;
+
+		/**
+		 * The weight of the process.
+		 */
+		protected int weight;
+
+		/**
+		 * The sequence number, it orders the processes with the same virtual
+		 * runtime.
+		 */
+		protected long sequence;
+
+		/**
+		 * It creates an entry of the ready queue.
+		 *
+		 * @param pcb
+		 *            The process.
+		 * @param vruntime
+		 *            The virtual runtime.
+		 * @param weight
+		 *            The weight.
+		 * @param sequence
+		 *            The sequence number.
+		 */
+		protected Entry(PCB pcb, long vruntime, int weight, long sequence) {
+			this.pcb = pcb;
+			this.vruntime = vruntime;
+			this.weight = weight;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int compareTo(Entry other) {
+			if (vruntime != other.vruntime) {
+				return vruntime < other.vruntime ? -1 : 1;
+			}
+			if (sequence != other.sequence) {
+				return sequence < other.sequence ? -1 : 1;
+			}
+			return 0;
+		}
+	}
+
+}
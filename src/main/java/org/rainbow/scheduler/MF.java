@@ -21,9 +21,12 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.2
+ * Version: 1.6
  * 
  * Modifies:
+ * v1.6 (17/10/2026): The ready queue snapshot shares the queues.
+ * v1.5 (17/10/2026): Queues on a PriorityRunQueue and queue indexes in an int array.
+ * v1.4 (17/10/2026): Ready queue snapshot split by level, without placeholder processes.
  * v1.3 (13/11/2014): Added iterators.    
  * v1.2 (04/02/2007): English translation. Java6 compatible.
  * v1.1 (30/01/2006): Class codify.
@@ -44,7 +47,7 @@ import org.rainbow.simulation.*;
  * is the first of the queue with the lower index, if it exists.
  * 
  * @author Dalle Pezze Piero
- * @version 1.3
+ * @version 1.6
  */
 public class MF extends TimeSharing implements Interactive {
 
@@ -54,15 +57,32 @@ public class MF extends TimeSharing implements Interactive {
 	private static final long serialVersionUID = -5006L;
 
 	/**
-	 * The vector containing the queues.
+	 * The title of the levels of the ready queue.
 	 */
-	protected ArrayList<LinkedList<PCB>> vectorQueues;
+	public static final String LEVEL_TITLE = "Queue of level ";
 
 	/**
-	 * Counter. The key is the process id, the value is the times that the
-	 * process was ready.
+	 * The queues. The queue of the level i has priority -i, so the highest
+	 * priority is the queue C0.
 	 */
-	protected TreeMap<Integer, Integer> readyCNT;
+	protected PriorityRunQueue readyQueue;
+
+	/**
+	 * The number of queues created. The queues are created when a process
+	 * reaches them.
+	 */
+	protected int createdLevels;
+
+	/**
+	 * The index of the queue of each process, indexed by process id. It is -1
+	 * if the process has not a queue (it was never ready or it is terminated).
+	 */
+	protected int[] readyLevel;
+
+	/**
+	 * The number of processes having a queue.
+	 */
+	protected int trackedProcesses = 0;
 
 	/**
 	 * The last running process
@@ -90,10 +110,73 @@ public class MF extends TimeSharing implements Interactive {
 	public MF(int timeSlice, int level) {
 		super(timeSlice);
 		this.levels = level;
-		vectorQueues = new ArrayList<LinkedList<PCB>>(levels);
-		readyCNT = new TreeMap<Integer, Integer>();
+		readyQueue = new PriorityRunQueue(1 - Math.max(levels, 1), 0);
 		/* It adds the C0 queue. */
-		vectorQueues.add(new LinkedList<PCB>());
+		createdLevels = 1;
+		readyLevel = new int[16];
+		Arrays.fill(readyLevel, -1);
+	}
+
+	/**
+	 * It returns the index of the queue of a process.
+	 * 
+	 * @param pcb
+	 *            The process.
+	 * @return the index of the queue, -1 if the process has not a queue.
+	 */
+	protected int getLevel(PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		if (id < readyLevel.length) {
+			return readyLevel[id];
+		}
+		return -1;
+	}
+
+	/**
+	 * It sets the index of the queue of a process.
+	 * 
+	 * @param pcb
+	 *            The process.
+	 * @param level
+	 *            The index of the queue.
+	 */
+	protected void setLevel(PCB pcb, int level) {
+		int id = pcb.getSimulatedProcess().getId();
+		if (id >= readyLevel.length) {
+			int length = readyLevel.length;
+			readyLevel = Arrays.copyOf(readyLevel, Math.max(2 * length, id + 1));
+			Arrays.fill(readyLevel, length, readyLevel.length, -1);
+		}
+		if (readyLevel[id] == -1) {
+			trackedProcesses++;
+		}
+		readyLevel[id] = level;
+	}
+
+	/**
+	 * It removes the index of the queue of a terminated process.
+	 * 
+	 * @param pcb
+	 *            The process.
+	 */
+	protected void removeLevel(PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		if (id < readyLevel.length && readyLevel[id] != -1) {
+			readyLevel[id] = -1;
+			trackedProcesses--;
+		}
+	}
+
+	/**
+	 * It adds a process in tail of a queue.
+	 * 
+	 * @param level
+	 *            The index of the queue.
+	 * @param pcb
+	 *            The process.
+	 */
+	protected void addLast(int level, PCB pcb) {
+		readyQueue.addLast(-level, pcb);
 	}
 
 	/**
@@ -112,34 +195,31 @@ public class MF extends TimeSharing implements Interactive {
 	 *            The process just activated.
 	 */
 	public void insert(PCB ready) {
-		if (dispatcher.getPCBTable().size() > readyCNT.size()) {
+		if (dispatcher.getPCBTable().size() > trackedProcesses) {
 			// It is the first time that the process is ready.
-			readyCNT.put(ready.getSimulatedProcess().getId(), new Integer(0));
-			vectorQueues.get(0).addLast(ready);
+			setLevel(ready, 0);
+			addLast(0, ready);
 		} else {
 			// the process was ready before.
-			Integer readyId = ready.getSimulatedProcess().getId();
-			int indexQueue = readyCNT.get(readyId).intValue();
+			int indexQueue = getLevel(ready);
 			// setting of the index of queue for ready
-			if (indexQueue + 1 >= vectorQueues.size()) {
-				if (vectorQueues.size() < levels) {
+			if (indexQueue + 1 >= createdLevels) {
+				if (createdLevels < levels) {
 					// I create a new queue
-					vectorQueues.add(new LinkedList<PCB>());
+					createdLevels++;
 					/* Setting of the NEW index of queue for ready. */
-					readyCNT.remove(readyId);
-					readyCNT.put(readyId, new Integer(indexQueue + 1));
+					setLevel(ready, indexQueue + 1);
 				}
 				/* It adds ready in the last queue created. */
-				vectorQueues.get(vectorQueues.size() - 1).addLast(ready);
+				addLast(createdLevels - 1, ready);
 			} else {
 				/* Setting of the NEW index of queue for ready. */
-				readyCNT.remove(readyId);
-				readyCNT.put(readyId, new Integer(indexQueue + 1));
+				setLevel(ready, indexQueue + 1);
 				/*
 				 * It adds ready in the queue with the following index
 				 * (indexQueue + 1)
 				 */
-				vectorQueues.get(indexQueue + 1).addLast(ready);
+				addLast(indexQueue + 1, ready);
 			}
 		}
 	}
@@ -178,8 +258,8 @@ public class MF extends TimeSharing implements Interactive {
 		// executing of the process
 		s = dispatcher.increaseSchedulerTime(executionTime);
 		if (running.getRemainingTime() == 0) {
-			// remove its id in the readyCNT.
-			readyCNT.remove(running.getSimulatedProcess().getId());
+			// remove its queue index.
+			removeLevel(running);
 		} else if (getTick() == getTimeSlice()) {
 			// preemption
 			dispatcher.removePCBCurrent();
@@ -198,58 +278,23 @@ public class MF extends TimeSharing implements Interactive {
 	 * @return a process.
 	 */
 	public PCB extract() {
-		PCB extracted = null;
-		boolean found = false;
-		LinkedList<PCB> l = null;
-		Iterator<LinkedList<PCB>> itVectorQueues = vectorQueues.iterator();
-		while (itVectorQueues.hasNext() && !found) {
-			l = itVectorQueues.next();
-			if (l.size() != 0) {
-				extracted = l.removeFirst();
-				found = true;
-			}
-		}
-		return extracted;
+		return readyQueue.pollHighest();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	public int size() {
-		int size = 0;
-		Iterator<LinkedList<PCB>> itVectorQueues = vectorQueues.iterator();
-		while (itVectorQueues.hasNext()) {
-			size += itVectorQueues.next().size();
-		}
-		return size;
+		return readyQueue.size();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		// see later why vectorQueues.size()
-		ArrayList<SimulatedProcess> ready = new ArrayList<SimulatedProcess>(
-				size() + vectorQueues.size());
-		LinkedList<PCB> l = null;
-		ListIterator<LinkedList<PCB>> itVectorQueues = vectorQueues
-				.listIterator();
-		while (itVectorQueues.hasNext()) {
-			l = itVectorQueues.next();
-			/*
-			 * IMPORTANT NOTICE: THIS IS NOT CLEAN! ArrayList ids templated with
-			 * SimulatedProcess object. So it is impossible to add a particular
-			 * message as the following one. Here it is necessary to print the
-			 * queues otherwise the user don't understand the behaviour of the
-			 * this policy. The processes here created are only used to print
-			 * the sentence "Queue with priority i-th", NOT for other cases.
-			 */
-			ready.add(new SimulatedProcess("Queue of level "
-					+ itVectorQueues.previousIndex(), -1, -1, 1));
-			Iterator<PCB> itL = l.iterator();
-			while (itL.hasNext()) {
-				ready.add(itL.next().getSimulatedProcess());
-			}
+	public ReadyQueue getReadyQueue() {
+		ReadyQueue ready = new ReadyQueue(size(), LEVEL_TITLE, createdLevels);
+		for (int i = 0; i < createdLevels; i++) {
+			ready.addLevel(i, readyQueue.getProcesses(-i));
 		}
 		return ready;
 	}
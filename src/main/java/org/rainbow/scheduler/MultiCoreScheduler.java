@@ -0,0 +1,454 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: MultiCoreScheduler.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.2
+ *
+ * Modifies:
+ * v1.2 (17/10/2026): The states keep the cpu usage at which the running processes complete.
+ * v1.1 (17/10/2026): Added policyOf() and extract() for the run queues per core. A terminating process is not preempted.
+ * v1.0 (17/10/2026): Class documentation. Class codify.
+ */
+package org.rainbow.scheduler;
+
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
+/**
+ * This class extends the RainbowScheduler to a CPU with more cores. The ready
+ * processes share the run queue of the scheduling policy and every idle core
+ * extracts the next process, so up to one process runs on each core. The
+ * cores execute together: the time advances to the first event of any
+ * running process or to the first expiry of a time slice.
+ *
+ * The pcbCurrent and its events are the ones of the core selected while its
+ * events are fired, so the mechanisms of the RainbowScheduler work on a core
+ * at a time. The non preemptive resources are still attributed through the
+ * assignment policies, so their accesses are mutually exclusive among the
+ * cores. The time slices are kept for each core by the scheduler, instead of
+ * the time sharing policies, and a preemptive policy preempts the least
+ * favoured running process, only when no core is idle.
+ *
+ * @version 1.2
+ */
+public class MultiCoreScheduler extends RainbowScheduler {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -115L;
+
+	/**
+	 * The number of cores.
+	 */
+	protected int cores;
+
+	/**
+	 * The process running on each core, null if the core is idle.
+	 */
+	protected PCB[] running;
+
+	/**
+	 * The next request of resource of the process running on each core.
+	 */
+	protected RequestEvent[] requestEvents;
+
+	/**
+	 * The next release of resource of the process running on each core.
+	 */
+	protected ReleaseEvent[] releaseEvents;
+
+	/**
+	 * The termination of the process running on each core.
+	 */
+	protected TerminationEvent[] terminationEvents;
+
+	/**
+	 * The remaining time slice of the process running on each core.
+	 */
+	protected int[] slice;
+
+	/**
+	 * The core selected as pcbCurrent, -1 if none.
+	 */
+	protected int selected = -1;
+
+	/**
+	 * This class extends the ProcessDispatcher to the cores. A preemptive
+	 * policy compares a ready process with the least favoured running process,
+	 * only if all the cores are busy.
+	 */
+	class CoreDispatcher extends ProcessDispatcher {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -116L;
+
+		/**
+		 * {@inheritDoc} It is null if a core is idle or it is going to be,
+		 * otherwise it is the least favoured running process.
+		 */
+		public PCB getPCBCurrent() {
+			PCB least = null;
+			for (int c = 0; c < cores; c++) {
+				PCB pcb = getPreemptible(c);
+				if (pcb == null) {
+					// the ready process will run on the idle core.
+					return null;
+				}
+				least = least == null ? pcb : leastFavoured(least, pcb);
+			}
+			return least;
+		}
+
+		/**
+		 * {@inheritDoc} The process preempted is the one returned by
+		 * getPCBCurrent().
+		 */
+		public void preemptionPCBCurrent() {
+			PCB pcb = getPCBCurrent();
+			for (int c = 0; c < cores; c++) {
+				if (pcb != null && getRunning(c) == pcb) {
+					clear(c);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * It creates a MultiCoreScheduler instance.
+	 *
+	 * @param configuration
+	 *            The user configuration.
+	 */
+	public MultiCoreScheduler(Configuration configuration) {
+		super(configuration);
+		cores = Math.max(configuration.getCores(), 1);
+		running = new PCB[cores];
+		requestEvents = new RequestEvent[cores];
+		releaseEvents = new ReleaseEvent[cores];
+		terminationEvents = new TerminationEvent[cores];
+		slice = new int[cores];
+		setProcessDispatcherInterface(new CoreDispatcher());
+	}
+
+	/**
+	 * It returns the process running on a core.
+	 *
+	 * @param core
+	 *            The core.
+	 * @return the running process, null if the core is idle.
+	 */
+	protected PCB getRunning(int core) {
+		return core == selected ? pcbCurrent : running[core];
+	}
+
+	/**
+	 * It returns the process running on a core which can be preempted. A
+	 * process which ended its execution is not preempted, because its
+	 * termination is due at the current time, even if the event of another
+	 * core is fired before.
+	 *
+	 * @param core
+	 *            The core.
+	 * @return the running process, null if the core is idle or its process
+	 *         is terminating.
+	 */
+	protected PCB getPreemptible(int core) {
+		PCB pcb = getRunning(core);
+		if (pcb != null && pcb.getRemainingTime() == 0) {
+			return null;
+		}
+		return pcb;
+	}
+
+	/**
+	 * It returns the least favoured between two running processes, following
+	 * the preemptive scheduling policy. It is the first one if the policy is
+	 * not preemptive or the processes are equivalent.
+	 *
+	 * @param first
+	 *            A running process.
+	 * @param second
+	 *            Another running process.
+	 * @return the least favoured process.
+	 */
+	protected PCB leastFavoured(PCB first, PCB second) {
+		if (!(schedulingPolicy instanceof Preemptive)) {
+			return first;
+		}
+		PCB min = ((Preemptive) schedulingPolicy).minor(first, second);
+		if (schedulingPolicy instanceof SRTF) {
+			// SRTF returns the process which remains to run, not the minor.
+			return min == first ? second : first;
+		}
+		return min;
+	}
+
+	/**
+	 * It selects a core: its process and its events become the pcbCurrent and
+	 * its events.
+	 *
+	 * @param core
+	 *            The core.
+	 */
+	protected void select(int core) {
+		selected = core;
+		pcbCurrent = running[core];
+		requestEvent = requestEvents[core];
+		releaseEvent = releaseEvents[core];
+		terminationEvent = terminationEvents[core];
+	}
+
+	/**
+	 * It stores the pcbCurrent and its events in the selected core and
+	 * deselects it.
+	 */
+	protected void store() {
+		running[selected] = pcbCurrent;
+		requestEvents[selected] = requestEvent;
+		releaseEvents[selected] = releaseEvent;
+		terminationEvents[selected] = terminationEvent;
+		selected = -1;
+		pcbCurrent = null;
+		requestEvent = null;
+		releaseEvent = null;
+		terminationEvent = null;
+	}
+
+	/**
+	 * It removes the process running on a core and its next events.
+	 *
+	 * @param core
+	 *            The core.
+	 */
+	protected void clear(int core) {
+		if (core == selected) {
+			resetProcessEVT();
+			pcbCurrent = null;
+			return;
+		}
+		events.cancel(requestEvents[core]);
+		events.cancel(releaseEvents[core]);
+		events.cancel(terminationEvents[core]);
+		running[core] = null;
+		requestEvents[core] = null;
+		releaseEvents[core] = null;
+		terminationEvents[core] = null;
+	}
+
+	/**
+	 * It returns the core of the process which owns an event.
+	 *
+	 * @param event
+	 *            The event.
+	 * @return the core, -1 if the event is not of a running process.
+	 */
+	protected int coreOf(Event event) {
+		for (int c = 0; c < cores; c++) {
+			if (requestEvents[c] == event || releaseEvents[c] == event
+					|| terminationEvents[c] == event) {
+				return c;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * {@inheritDoc} The events of a running process are fired with its core
+	 * selected. An event is skipped if its process was preempted by an event
+	 * fired before at the same time.
+	 */
+	protected void fireEvents(int phase) {
+		ArrayList<Event> due = events.pollDue(phase, currentTime);
+		for (int i = 0; i < due.size(); i++) {
+			Event event = due.get(i);
+			if (event instanceof ActivationEvent) {
+				event.fire();
+				continue;
+			}
+			int core = coreOf(event);
+			if (core >= 0) {
+				select(core);
+				event.fire();
+				store();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected boolean isRunning() {
+		for (int c = 0; c < cores; c++) {
+			if (getRunning(c) != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc} Each state stores the process running on each core.
+	 */
+	protected void copyRunning(State s) {
+		SimulatedProcess[] processes = new SimulatedProcess[cores];
+		int[] completions = new int[cores];
+		for (int c = 0; c < cores; c++) {
+			PCB pcb = getRunning(c);
+			if (pcb != null) {
+				processes[c] = pcb.getSimulatedProcess();
+				completions[c] = getCompletionUsage(pcb);
+			}
+		}
+		s.setRunningCores(processes);
+		s.setCompletionCores(completions);
+	}
+
+	/**
+	 * It returns the scheduling policy of the ready processes of a core.
+	 *
+	 * @param core
+	 *            The core.
+	 * @return the scheduling policy.
+	 */
+	protected SchedulingPolicy policyOf(int core) {
+		return schedulingPolicy;
+	}
+
+	/**
+	 * It extracts the next process to run on an idle core.
+	 *
+	 * @param core
+	 *            The idle core.
+	 * @return the process, null if there is not any ready process.
+	 */
+	protected PCB extract(int core) {
+		if (schedulingPolicy.size() == 0) {
+			return null;
+		}
+		return schedulingPolicy.extract();
+	}
+
+	/**
+	 * It extracts a process for each idle core (if any) and allocates its
+	 * resources.
+	 */
+	protected void process_extraction_event() {
+		for (int c = 0; c < cores; c++) {
+			if (running[c] != null) {
+				continue;
+			}
+			PCB pcb = extract(c);
+			if (pcb == null) {
+				continue;
+			}
+			select(c);
+			pcbCurrent = pcb;
+			attributePreemptiveResources();
+			setProcessEVT();
+			SchedulingPolicy policy = policyOf(c);
+			if (policy instanceof TimeSharing) {
+				slice[c] = ((TimeSharing) policy).getTimeSlice(pcb);
+			} else {
+				slice[c] = Integer.MAX_VALUE;
+			}
+			store();
+		}
+		fireEvents(REQUEST_RESOURCE);
+	}
+
+	/**
+	 * It advances the scheduler (execution event). All the running processes
+	 * execute until the next event or the first expiry of a time slice. A
+	 * process whose time slice expired is inserted again in the ready queue.
+	 *
+	 * @param history
+	 *            the history of this simulation
+	 */
+	protected void scheduler_advancement_event(LinkedList<State> history) {
+		if (!isRunning()) {
+			currentTime++;
+			history.add(computeState(1));
+			return;
+		}
+		int time = nextEventTime();
+		for (int c = 0; c < cores; c++) {
+			if (running[c] != null && slice[c] < time) {
+				time = slice[c];
+			}
+		}
+		if (time < 1) {
+			time = 1;
+		}
+		for (int c = 0; c < cores; c++) {
+			if (running[c] != null) {
+				running[c].increaseExecutedTime(time);
+				slice[c] -= time;
+			}
+		}
+		history.add(computeState(time));
+		/*
+		 * Increase the scheduler time. The times of the events are absolute,
+		 * so they do not change.
+		 */
+		currentTime = currentTime + time;
+		for (int c = 0; c < cores; c++) {
+			PCB pcb = running[c];
+			if (pcb == null) {
+				continue;
+			}
+			if (pcb.getRemainingTime() == 0) {
+				// remove its queue index.
+				removeLevel(pcb);
+			} else if (slice[c] <= 0) {
+				expire(c);
+			}
+		}
+	}
+
+	/**
+	 * It removes the process running on a core because its time slice
+	 * expired, and it inserts the process again in the ready queue. Its due
+	 * release is made before. The core is idle meanwhile, so a process
+	 * signalled by the release does not preempt another core.
+	 *
+	 * @param core
+	 *            The core.
+	 */
+	protected void expire(int core) {
+		select(core);
+		PCB pcb = pcbCurrent;
+		boolean release = isDue(releaseEvent);
+		clear(core);
+		store();
+		if (release) {
+			releaseResource(pcb);
+		}
+		schedulingPolicy.insert(pcb);
+	}
+
+}
@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.4
+ * Version: 1.5
  *
  * Modifies:
+ * v1.5 (17/10/2026): Queue indexes without boxing.
  * v1.4 (04/06/2007): Correct method insert.
  * v1.3 (15/05/2007): Correct method minor.
  * v1.2 (04/02/2007): English translation. Java6 compatible.
@@ -33,7 +34,6 @@
 package org.rainbow.scheduler;
 
 import org.rainbow.simulation.*;
-import java.util.*;
 import org.rainbow.data.*;
 
 /**
@@ -43,7 +43,7 @@ import org.rainbow.data.*;
  * of a queue j-th if j < i.
  *
  * @author Dalle Pezze Piero
- * @version 1.4
+ * @version 1.5
  */
 public class PreemptiveMF extends MF implements Preemptive {
 
@@ -72,8 +72,7 @@ public class PreemptiveMF extends MF implements Preemptive {
 	 * @return The process that is (was) in the queue with the highest index.
 	 */
 	public PCB minor(PCB ready, PCB running) {
-		if (readyCNT.get(running.getSimulatedProcess().getId()).intValue() > readyCNT
-				.get(ready.getSimulatedProcess().getId()).intValue()) {
+		if (getLevel(running) > getLevel(ready)) {
 			// preemption
 			return running;
 		}
@@ -85,11 +84,11 @@ public class PreemptiveMF extends MF implements Preemptive {
 	 */
 	public void insert(PCB ready) {
 		// IT INITIALIZES INDEXES
-		if (readyCNT.get(ready.getSimulatedProcess().getId()) == null) {
+		if (getLevel(ready) == -1) {
 			// ready is just actived. This is the first time that it becomes
 			// ready.
 			// initialize its readyCNT
-			readyCNT.put(ready.getSimulatedProcess().getId(), new Integer(0));
+			setLevel(ready, 0);
 		} else {
 			// This is at least the second times that ready become ready again.
 			// It adds ready in the ready queue of the correct level. (It was
@@ -111,14 +110,10 @@ public class PreemptiveMF extends MF implements Preemptive {
 				// setting of the index of queue for running
 				// It adds running in the ready queue of the correct level.
 				setNextIndex(running);
-				Integer runningId = running.getSimulatedProcess().getId();
-				int indexQueue = readyCNT.get(runningId).intValue();
-				vectorQueues.get(indexQueue).addLast(running);
+				addLast(getLevel(running), running);
 			}
 		}
-		Integer readyId = ready.getSimulatedProcess().getId();
-		int indexQueue = readyCNT.get(readyId).intValue();
-		vectorQueues.get(indexQueue).addLast(ready);
+		addLast(getLevel(ready), ready);
 	}
 
 	/**
@@ -128,23 +123,18 @@ public class PreemptiveMF extends MF implements Preemptive {
 	 * @pcb The process that will be insert in the ready queue.
 	 */
 	private void setNextIndex(PCB ready) {
-		Integer readyId = ready.getSimulatedProcess().getId();
-		int indexQueue = readyCNT.get(readyId).intValue();
-		if (indexQueue + 1 >= vectorQueues.size()) {
+		int indexQueue = getLevel(ready);
+		if (indexQueue + 1 >= createdLevels) {
 			// ready will be inserted in the queue with the highest index.
-			if (vectorQueues.size() < levels) {
-				indexQueue = indexQueue + 1;
+			if (createdLevels < levels) {
 				// I create a new queue
-				vectorQueues.add(new LinkedList<PCB>());
+				createdLevels++;
 				/* Setting of the NEW index of queue for ready */
-				readyCNT.remove(readyId);
-				readyCNT.put(readyId, new Integer(indexQueue));
+				setLevel(ready, indexQueue + 1);
 			} // else do nothing! it keeps the same index of queue
 		} else {
 			/* Setting of the NEW index of queue for ready */
-			indexQueue = indexQueue + 1;
-			readyCNT.remove(readyId);
-			readyCNT.put(readyId, new Integer(indexQueue));
+			setLevel(ready, indexQueue + 1);
 		}
 	}
 
@@ -183,8 +173,8 @@ public class PreemptiveMF extends MF implements Preemptive {
 		// executing of the process
 		s = dispatcher.increaseSchedulerTime(executionTime);
 		if (running.getRemainingTime() == 0) {
-			// remove its id in the readyCNT.
-			readyCNT.remove(running.getSimulatedProcess().getId());
+			// remove its queue index.
+			removeLevel(running);
 		} else if (getTick() == getTimeSlice()) {
 			// preemption
 			dispatcher.removePCBCurrent();
@@ -21,9 +21,11 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.2
+ * Version: 1.4
  * 
  * Modifies:
+ * v1.4 (17/10/2026): Added the dynamic time slice of a process.
+ * v1.3 (17/10/2026): Queue indexes without boxing.
  * v1.2 (20/02/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (30/01/2006): Class codify.
  * v1.0 (29/01/2006): Class documentation.
@@ -44,7 +46,7 @@ import org.rainbow.simulation.*;
  * </ul>
  * 
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.4
  */
 public class PreemptiveMFDQ extends PreemptiveMF {
 
@@ -102,8 +104,8 @@ public class PreemptiveMFDQ extends PreemptiveMF {
 		// executing of the process
 		s = dispatcher.increaseSchedulerTime(executionTime);
 		if (running.getRemainingTime() == 0) {
-			// remove its id in the readyCNT.
-			readyCNT.remove(running.getSimulatedProcess().getId());
+			// remove its queue index.
+			removeLevel(running);
 		}
 		if (getTick() == getDynamicTimeSlice()
 				&& !(running.getRemainingTime() == 0)) {
@@ -147,8 +149,7 @@ public class PreemptiveMFDQ extends PreemptiveMF {
 	 */
 	protected void setDynamicTimeSlice(PCB pcb) {
 		/* It finds the index of the last ready queue of pcb */
-		Integer readyId = pcb.getSimulatedProcess().getId();
-		int indexQueue = readyCNT.get(readyId).intValue();
+		int indexQueue = getLevel(pcb);
 		int i = 1;
 		/* It sets the base case */
 		dynamicTimeSlice = getTimeSlice();
@@ -168,6 +169,17 @@ public class PreemptiveMFDQ extends PreemptiveMF {
 		return dynamicTimeSlice;
 	}
 
+	/**
+	 * It returns the dynamic time slice of the process just extracted.
+	 * 
+	 * @param pcb
+	 *            The process extracted.
+	 * @return the dynamic time slice of the process.
+	 */
+	public int getTimeSlice(PCB pcb) {
+		return getDynamicTimeSlice();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Piero Dalle Pezze
  * Date: 29/04/01/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies:
+ * v1.3 (17/10/2026): Uses the indexed ready queue.
  * v1.2 (04/02/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (30/01/2006): Class codify.
  * v1.0 (29/01/2006): Class documentation.
@@ -39,7 +40,7 @@ import org.rainbow.data.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.3
  */
 public class PreemptiveOnPriorityRoundRobin extends PriorityRoundRobin
 		implements Preemptive {
@@ -105,11 +106,11 @@ public class PreemptiveOnPriorityRoundRobin extends PriorityRoundRobin
 				dispatcher.preemptionPCBCurrent();
 				int priority = running.getActivePriority();
 				// running becomes ready
-				readyQueue.get(priority).addFirst(running);
+				readyQueue.addFirst(priority, running);
 				// ready has the greatest priority! So I put it ahead of his
 				// priority queue.
 				priority = ready.getActivePriority();
-				readyQueue.get(priority).addFirst(ready);
+				readyQueue.addFirst(priority, ready);
 			} else {
 				// no preemption
 				super.insert(ready);
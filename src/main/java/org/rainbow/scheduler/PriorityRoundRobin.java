@@ -21,9 +21,12 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.2
+ * Version: 1.6
  * 
  * Modifies:
+ * v1.6 (17/10/2026): The ready queue snapshot shares the queues.
+ * v1.5 (17/10/2026): Ready queue snapshot split by priority, without placeholder processes.
+ * v1.4 (17/10/2026): Ready queue indexed by priority with a bitmap.
  * v1.3 (13/11/2014): Added iterators.    
  * v1.2 (04/02/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (30/01/2006): Class codify.
@@ -45,7 +48,7 @@ import org.rainbow.simulation.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.3
+ * @version 1.6
  */
 public class PriorityRoundRobin extends TimeSharing implements Interactive {
 
@@ -54,10 +57,15 @@ public class PriorityRoundRobin extends TimeSharing implements Interactive {
 	 */
 	private static final long serialVersionUID = -5013L;
 
+	/**
+	 * The title of the levels of the ready queue.
+	 */
+	public static final String LEVEL_TITLE = "Queue with priority ";
+
 	/**
 	 * The ready queue. (Multiple queues)
 	 */
-	protected HashMap<Integer, LinkedList<PCB>> readyQueue;
+	protected PriorityRunQueue readyQueue;
 
 	/**
 	 * The refered dispatcher.
@@ -97,11 +105,7 @@ public class PriorityRoundRobin extends TimeSharing implements Interactive {
 		super(timeSlice);
 		this.minPriority = minPriority;
 		this.maxPriority = maxPriority;
-		readyQueue = new HashMap<Integer, LinkedList<PCB>>(maxPriority
-				- minPriority + 1);
-		for (int i = minPriority; i <= maxPriority; i++) {
-			readyQueue.put(new Integer(i), new LinkedList<PCB>());
-		}
+		readyQueue = new PriorityRunQueue(minPriority, maxPriority);
 	}
 
 	/**
@@ -111,7 +115,7 @@ public class PriorityRoundRobin extends TimeSharing implements Interactive {
 	 *            The ready process to add to the ready queue.
 	 */
 	public void insert(PCB ready) {
-		readyQueue.get(ready.getActivePriority()).add(ready);
+		readyQueue.addLast(ready.getActivePriority(), ready);
 	}
 
 	/**
@@ -120,17 +124,7 @@ public class PriorityRoundRobin extends TimeSharing implements Interactive {
 	 * @return the process that must execute.
 	 */
 	public PCB extract() {
-		int index = minPriority - 1;
-		for (int key = maxPriority; key >= minPriority
-				&& index == minPriority - 1; key--) {
-			if (readyQueue.get(key).size() > 0) {
-				index = key;
-			}
-		}
-		if (index != minPriority - 1) {
-			return readyQueue.get(index).removeFirst();
-		}
-		return null;
+		return readyQueue.pollHighest();
 	}
 
 	/**
@@ -182,36 +176,17 @@ public class PriorityRoundRobin extends TimeSharing implements Interactive {
 	 * {@inheritDoc}
 	 */
 	public int size() {
-		int size = 0;
-		for (int i = minPriority; i <= maxPriority; i++) {
-			// sum of the sizes
-			size = size + readyQueue.get(i).size();
-		}
-		return size;
+		return readyQueue.size();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> ready = new ArrayList<SimulatedProcess>(
-				size() + readyQueue.size());
+	public ReadyQueue getReadyQueue() {
+		ReadyQueue ready = new ReadyQueue(size(), LEVEL_TITLE,
+				readyQueue.levels());
 		for (int i = maxPriority; i >= minPriority; i--) {
-			LinkedList<PCB> tmp = readyQueue.get(i);
-			/*
-			 * IMPORTANT NOTICE: THIS IS NOT CLEAN! ArrayList is templated with
-			 * SimulatedProcess object. So it is impossible to add a particular
-			 * message as the following one. Here it is necessary to print the
-			 * queues otherwise the user don't understand the behaviour of the
-			 * this policy. The processes here created are only used to print
-			 * the sentence "Queue with priority i-th", NOT for other cases.
-			 */
-			ready.add(new SimulatedProcess("Queue with priority " + i, -1, -1,
-					1));
-			Iterator<PCB> itTmp = tmp.iterator();
-			while (itTmp.hasNext()) {
-				ready.add(itTmp.next().getSimulatedProcess());
-			}
+			ready.addLevel(i, readyQueue.getProcesses(i));
 		}
 		return ready;
 	}
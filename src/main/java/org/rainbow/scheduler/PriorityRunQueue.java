@@ -0,0 +1,189 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: PriorityRunQueue.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.1
+ *
+ * Modifies:
+ * v1.1 (17/10/2026): Snapshots of the queues shared with the states.
+ * v1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.io.Serializable;
+import java.util.*;
+
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
+/**
+ * It is a ready queue with a FIFO queue for each priority of a range. The
+ * queues are stored in an array indexed by priority and a bitmap marks the
+ * non empty ones, so the highest non empty priority is found with a bit scan
+ * of the bitmap words (two words for the default range of 101 priorities)
+ * and the number of processes is maintained by insertions and extractions.
+ *
+ * The processes of each queue are also kept in a SharedDeque, so the snapshot
+ * of a queue for the states costs O(1).
+ *
+ * It is used by the policies based on priorities (HPF, PriorityRoundRobin and
+ * their preemptive variants) and by the multilevel feedback policies.
+ *
+ * @version 1.1
+ */
+public class PriorityRunQueue implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -112L;
+
+	/**
+	 * The minimum priority.
+	 */
+	private int minPriority;
+
+	/**
+	 * The queues, the index is the priority minus the minimum priority.
+	 */
+	private ArrayDeque<PCB>[] queues;
+
+	/**
+	 * The processes of the queues, shared with the snapshots.
+	 */
+	private SharedDeque<SimulatedProcess>[] processes;
+
+	/**
+	 * The bit i is set if the queue i is not empty.
+	 */
+	private long[] nonEmpty;
+
+	/**
+	 * The number of processes.
+	 */
+	private int size = 0;
+
+	/**
+	 * It creates an empty queue for each priority between minPriority and
+	 * maxPriority.
+	 *
+	 * @param minPriority
+	 *            The minimum priority.
+	 * @param maxPriority
+	 *            The maximum priority.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public PriorityRunQueue(int minPriority, int maxPriority) {
+		this.minPriority = minPriority;
+		int levels = maxPriority - minPriority + 1;
+		queues = new ArrayDeque[levels];
+		processes = new SharedDeque[levels];
+		for (int i = 0; i < levels; i++) {
+			queues[i] = new ArrayDeque<PCB>();
+			processes[i] = new SharedDeque<SimulatedProcess>();
+		}
+		nonEmpty = new long[(levels + 63) >>> 6];
+	}
+
+	/**
+	 * It adds a process in tail of the queue of a priority.
+	 *
+	 * @param priority
+	 *            The priority.
+	 * @param pcb
+	 *            The process.
+	 */
+	public void addLast(int priority, PCB pcb) {
+		int i = priority - minPriority;
+		queues[i].addLast(pcb);
+		processes[i].addLast(pcb.getSimulatedProcess());
+		nonEmpty[i >>> 6] |= 1L << i;
+		size++;
+	}
+
+	/**
+	 * It adds a process in head of the queue of a priority.
+	 *
+	 * @param priority
+	 *            The priority.
+	 * @param pcb
+	 *            The process.
+	 */
+	public void addFirst(int priority, PCB pcb) {
+		int i = priority - minPriority;
+		queues[i].addFirst(pcb);
+		processes[i].addFirst(pcb.getSimulatedProcess());
+		nonEmpty[i >>> 6] |= 1L << i;
+		size++;
+	}
+
+	/**
+	 * It removes the process in head of the queue with the highest priority.
+	 *
+	 * @return the process, null if there is no process.
+	 */
+	public PCB pollHighest() {
+		for (int w = nonEmpty.length - 1; w >= 0; w--) {
+			if (nonEmpty[w] != 0) {
+				int i = (w << 6) + 63 - Long.numberOfLeadingZeros(nonEmpty[w]);
+				PCB pcb = queues[i].pollFirst();
+				processes[i].removeFirst();
+				if (queues[i].isEmpty()) {
+					nonEmpty[w] &= ~(1L << i);
+				}
+				size--;
+				return pcb;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * It returns the number of processes.
+	 *
+	 * @return the number of processes.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * It returns the number of priorities.
+	 *
+	 * @return the number of priorities.
+	 */
+	public int levels() {
+		return queues.length;
+	}
+
+	/**
+	 * It returns a snapshot of the processes of a priority, from the head.
+	 * The snapshot does not change when the queue is modified.
+	 *
+	 * @param priority
+	 *            The priority.
+	 * @return the processes of the priority.
+	 */
+	public List<SimulatedProcess> getProcesses(int priority) {
+		return processes[priority - minPriority].snapshot();
+	}
+}
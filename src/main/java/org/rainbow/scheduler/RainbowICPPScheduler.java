@@ -21,9 +21,13 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 26/02/2007
- * Version: 1.0
+ * Version: 1.5
  * 
  * Modifies:
+ * v1.5 (17/10/2026): Holders removed through the scheduler tables.
+ * v1.4 (17/10/2026): Used resources read from the PCB without copies.
+ * v1.3 (17/10/2026): It overrides the computation of the states with or without the queues.
+ * v1.2 (17/10/2026): A refused request is tried again by an event.
  * v1.1 (13/11/2014): Added iterators.    
  * v1.0 (26/02/2007): Class codify and documentation.
  */
@@ -40,10 +44,15 @@ import org.rainbow.simulation.*;
  * protocol.
  * 
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.5
  */
 public class RainbowICPPScheduler extends RainbowScheduler {
 
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -122L;
+
 	/**
 	 * It is true if the ICPP is violated, false otherwise.
 	 */
@@ -98,10 +107,12 @@ public class RainbowICPPScheduler extends RainbowScheduler {
 	 * 
 	 * @param duration
 	 *            the duration of the state
+	 * @param complete
+	 *            false if only the running process is stored.
 	 * @return an object State.
 	 */
-	protected State computeState(int duration) {
-		State s = super.computeState(duration);
+	protected State computeState(int duration, boolean complete) {
+		State s = super.computeState(duration, complete);
 		if (icppViolated) {
 			s.setCeilingPriorityViolation(true);
 		}
@@ -120,20 +131,16 @@ public class RainbowICPPScheduler extends RainbowScheduler {
 	 *            The process that have to release the resource.
 	 */
 	protected void releaseResource(PCB pcb) {
-		// lp means list processes
 		Resource resource = pcb.getReleasedResource();
-		LinkedList<PCB> lp = currentAttribution.get(resource);
-		lp.remove(pcb);
+		removeHolder(indexOf(resource), pcb);
 		if (resource instanceof NoPreemptiveResource) {
 			/* It sets the priority. (monotonic non-increasing) */
-			LinkedList<Resource> resourcesStack = pcbCurrent.getUsedResources();
 			int maxPriority = pcbCurrent.getSimulatedProcess()
 					.getInitialPriority();
 			int priorityCeiling = maxPriority;
 
-			Iterator<Resource> itResourcesStack = resourcesStack.iterator();
-			while (itResourcesStack.hasNext()) {
-				resource = itResourcesStack.next();
+			for (int i = 0; i < pcbCurrent.getUsedResourceCount(); i++) {
+				resource = pcbCurrent.getUsedResource(i);
 				if (resource instanceof NoPreemptiveResource) {
 					priorityCeiling = ((NoPreemptiveResource) resource)
 							.getCeilingPriority();
@@ -147,45 +154,19 @@ public class RainbowICPPScheduler extends RainbowScheduler {
 	}
 
 	/**
-	 * Extract a PCB (if any) and allocates its resources.
-	 */
-	protected void process_extraction_event() {
-		if (pcbCurrent == null) {
-			pcbCurrent = schedulingPolicy.extract();
-			LinkedList<Resource> prStack = pcbCurrent.getPreemptiveResources();
-			if (prStack != null) {
-				Resource r = null;
-				while (!prStack.isEmpty()) {
-					r = prStack.pop();
-					attributePreemptiveResource(r);
-				}
-			}
-			// see conditions. pcbCurrent exists.
-			setProcessEVT();
-		}
-		if (eventTable[REQUEST_RESOURCE] == 0) {
-			Resource resource = pcbCurrent.getResource();
-			if (allocate(resource)) {
-				// the resource is available. Update of the following event.
-				eventTable[REQUEST_RESOURCE] = pcbCurrent.nextRequestTime();
-			}
-		}
-	}
-
-	/**
-	 * It releases the resources of the current PCB, if any.
+	 * With the immediate ceiling priority protocol the process is not blocked
+	 * if the resource is not available. The request is tried again at the
+	 * following iteration of the scheduler, only once.
+	 *
+	 * @param resource
+	 *            The resource requested.
+	 * @param request
+	 *            The refused request.
 	 */
-	protected void resource_release_event() {
-		if (eventTable[RELEASE_RESOURCE] == 0) {
-			eventTable[RELEASE_RESOURCE] = pcbCurrent.firstReleaseTime();
-			releaseResource(pcbCurrent);
-			// process_termination_event();
-			// if (pcbCurrent != null) {
-			// PCB lastRun = pcbCurrent;
-			// pcbCurrent = null;
-			// resetProcessEVT();
-			// schedulingPolicy.insert(lastRun);
-			// }
+	protected void requestRefused(Resource resource, RequestEvent request) {
+		if (!request.retry) {
+			requestEvent = new RequestEvent(currentTime, true);
+			events.schedule(requestEvent);
 		}
 	}
 
@@ -21,9 +21,21 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.4
+ * Version: 1.18
  *
  * Modifies:
+ * v1.18 (17/10/2026): The cpu usage lost by the restarted victims.
+ * v1.17 (17/10/2026): The aborted victims are kept in the list of the aborted processes.
+ * v1.16 (17/10/2026): Added removeLevel() for the schedulers with more scheduling policies.
+ * v1.15 (17/10/2026): Added isRunning() for the schedulers with more running processes.
+ * v1.14 (17/10/2026): Optional recovery from the deadlocks by aborting or restarting a victim.
+ * v1.13 (17/10/2026): The simulation stops when a deadlock is detected.
+ * v1.12 (17/10/2026): Blocked processes inserted through the scheduler tables.
+ * v1.11 (17/10/2026): Preemptive resources attributed without copies.
+ * v1.10 (17/10/2026): Terminated processes in a SharedDeque.
+ * v1.9 (17/10/2026): The final state is always complete.
+ * v1.8 (17/10/2026): The simulation is executed one iteration at a time.
+ * v1.7 (17/10/2026): The event table is replaced by a future event list of absolute times.
  * v1.6 (13/11/2014): Added iterators.    
  * v1.5 (10/11/2014): Significant semplification and transformed into a specific Scheduler 
 		      with a design list of Events. This class extends a generic Scheduler now.
@@ -36,6 +48,7 @@
  */
 package org.rainbow.scheduler;
 
+import java.io.Serializable;
 import java.util.*;
 
 //import org.rainbow.gui.input.RainbowConfig;
@@ -46,50 +59,102 @@ import org.rainbow.simulation.*;
  * This class implements the mechanisms to realize a discrete simulation of
  * processes in a multitasking computer. It manages and orders all events that
  * can rise during a schedulation and computes the scheduler inner state. The
- * events space is the follow: </br>
+ * events are kept in a future event list sorted by absolute time, so the time
+ * of the scheduler jumps straight to the next event. The events space is the
+ * follow: </br>
  * <ol>
  * <li>Process activation.</li>
  * <li>Request of a new resource.</li>
  * <li>Release of a resource.</li>
  * <li>Process termination.</li>
  * </ol>
+ * Each event belongs to a phase of the scheduler iteration and the events of
+ * a phase are fired in the corresponding method (process_activation_event(),
+ * process_extraction_event(), process_termination_event() and
+ * resource_release_event()). The expiry of the time slice is managed by the
+ * time sharing policies, which bound the execution of the process.
  *
  * @author Piero Dalle Pezze
- * @version 1.6
+ * @version 1.18
  */
 public class RainbowScheduler extends Scheduler {
 
 	/**
-	 * This structure store times of a SET of possible events. The minor of
-	 * these is the time that the scheduler can execute a process WITHOUT
-	 * changing scheduler internal state.
+	 * To serialize
 	 */
-	protected int[] eventTable = new int[4];
+	private static final long serialVersionUID = -121L;
 
-	/* THE SPACE OF EVENTS */
-	/** Time of the next process activation. */
+	/**
+	 * The future event list. The events are sorted by absolute time.
+	 */
+	protected EventList events = new EventList(4);
+
+	/* THE PHASES OF EVENTS */
+	/** Phase of the process activations. */
 	protected static final int ACTIVE_PROCESS = 0;
 
-	/** Time of the next request of resource (of the pcbCurrent). */
+	/** Phase of the requests of resource (of the pcbCurrent). */
 	protected static final int REQUEST_RESOURCE = 1;
 
-	/** Time of the next release of resource (of the pcbCurrent). */
+	/** Phase of the releases of resource (of the pcbCurrent). */
 	protected static final int RELEASE_RESOURCE = 2;
 
-	/** Time of the remaining time of execution (of the pcbCorrente). */
+	/** Phase of the termination (of the pcbCurrent). */
 	protected static final int TERMINATE_PROCESS = 3;
 
+	/**
+	 * The next request of resource of the pcbCurrent.
+	 */
+	protected RequestEvent requestEvent = null;
+
+	/**
+	 * The next release of resource of the pcbCurrent.
+	 */
+	protected ReleaseEvent releaseEvent = null;
+
+	/**
+	 * The termination of the pcbCurrent.
+	 */
+	protected TerminationEvent terminationEvent = null;
+
 	/**
 	 * It stores the time of the next event.
 	 */
 	protected int nextEventTime = 0;
 
+	/**
+	 * The recovery from a deadlock (see Configuration).
+	 */
+	protected String deadlockRecovery = Configuration.NO_RECOVERY;
+
+	/**
+	 * The cost used to choose the victim of a deadlock (see Configuration).
+	 */
+	protected String victimCost = Configuration.LEAST_EXECUTED_TIME;
+
+	/**
+	 * The maximum number of restarts of a process. A victim chosen again is
+	 * aborted.
+	 */
+	protected static final int MAX_RESTARTS = 3;
+
+	/**
+	 * The number of times each process, by id, was the victim of a deadlock.
+	 */
+	protected int[] victimized = null;
+
 	/**
 	 * This class implements the interface ProcessDispatcherInterface allowing a
 	 * SchedulingPolicy to interact with the Scheduler using only a subset of
 	 * methods.
 	 */
-	class ProcessDispatcher implements ProcessDispatcherInterface {
+	class ProcessDispatcher implements ProcessDispatcherInterface,
+			Serializable {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -110L;
 
 		/**
 		 * {@inheritDoc}
@@ -100,14 +165,11 @@ public class RainbowScheduler extends Scheduler {
 			}
 			pcbCurrent.increaseExecutedTime(time);
 			State s = computeState(time);
-			/* Increase the scheduler time */
+			/*
+			 * Increase the scheduler time. The times of the events are
+			 * absolute, so they do not change.
+			 */
 			currentTime = currentTime + time;
-			/* Decrease the times of the next events. */
-			for (int i = 0; i < eventTable.length; i++) {
-				if (eventTable[i] > 0) {
-					eventTable[i] = eventTable[i] - time;
-				}
-			}
 			return s;
 		}
 
@@ -144,10 +206,10 @@ public class RainbowScheduler extends Scheduler {
 		 * {@inheritDoc}
 		 */
 		public void removePCBCurrent() {
-			if (eventTable[TERMINATE_PROCESS] == 0) {
-				process_termination_event();
+			if (isDue(terminationEvent)) {
+				terminatePCBCurrent();
 			}
-			if (eventTable[RELEASE_RESOURCE] == 0) {
+			if (isDue(releaseEvent)) {
 				releaseResource(pcbCurrent);
 			}
 
@@ -157,6 +219,151 @@ public class RainbowScheduler extends Scheduler {
 
 	}
 
+	/**
+	 * The activation of a process.
+	 */
+	protected class ActivationEvent extends Event {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -105L;
+
+		/**
+		 * The process to activate.
+		 */
+		private SimulatedProcess process;
+
+		/**
+		 * It creates the activation of a process.
+		 *
+		 * @param process
+		 *            The process to activate.
+		 */
+		public ActivationEvent(SimulatedProcess process) {
+			super(process.getActivationTime(), ACTIVE_PROCESS);
+			this.process = process;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void fire() {
+			// the activations are fired in the order of createdProcesses.
+			createdProcesses.removeFirst();
+			PCB pcbNew = new PCB(process);
+			pcbTable.put(process.getId(), pcbNew);
+			schedulingPolicy.insert(pcbNew);
+		}
+	}
+
+	/**
+	 * The request of a resource of the pcbCurrent.
+	 */
+	protected class RequestEvent extends Event {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -106L;
+
+		/**
+		 * It is true if the request was already refused once.
+		 */
+		protected boolean retry;
+
+		/**
+		 * It creates a request of a resource.
+		 *
+		 * @param time
+		 *            The absolute time of the request.
+		 * @param retry
+		 *            True if the request was already refused once.
+		 */
+		public RequestEvent(int time, boolean retry) {
+			super(time, REQUEST_RESOURCE);
+			this.retry = retry;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void fire() {
+			requestEvent = null;
+			Resource resource = pcbCurrent.getResource();
+			if (allocate(resource)) {
+				// the resource is available. Update of the following events.
+				scheduleRequest();
+				scheduleRelease();
+			} else {
+				requestRefused(resource, this);
+			}
+		}
+	}
+
+	/**
+	 * The release of a resource of the pcbCurrent.
+	 */
+	protected class ReleaseEvent extends Event {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -107L;
+
+		/**
+		 * It creates a release of a resource.
+		 *
+		 * @param time
+		 *            The absolute time of the release.
+		 */
+		public ReleaseEvent(int time) {
+			super(time, RELEASE_RESOURCE);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void fire() {
+			releaseEvent = null;
+			PCB pcb = pcbCurrent;
+			releaseResource(pcb);
+			// the signal can preempt the process.
+			if (pcbCurrent == pcb) {
+				scheduleRelease();
+			}
+		}
+	}
+
+	/**
+	 * The termination of the pcbCurrent.
+	 */
+	protected class TerminationEvent extends Event {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -108L;
+
+		/**
+		 * It creates the termination of the pcbCurrent.
+		 *
+		 * @param time
+		 *            The absolute time of the termination.
+		 */
+		public TerminationEvent(int time) {
+			super(time, TERMINATE_PROCESS);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void fire() {
+			terminationEvent = null;
+			terminatePCBCurrent();
+		}
+	}
+
 	/**
 	 * It creates a RainbowScheduler instance.
 	 *
@@ -167,25 +374,37 @@ public class RainbowScheduler extends Scheduler {
 
 		super(configuration);
 
-		resetProcessEVT();
+		if (configuration.getDeadlockRecovery() != null) {
+			deadlockRecovery = configuration.getDeadlockRecovery();
+		}
+		if (configuration.getVictimCost() != null) {
+			victimCost = configuration.getVictimCost();
+		}
+		victimized = new int[waiting.length];
+
 		/*
-		 * Sets the first activation.
+		 * Sets the activations.
 		 */
-		if (createdProcesses.size() > 0) {
-			eventTable[ACTIVE_PROCESS] = createdProcesses.getFirst()
-					.getActivationTime();
-		} else {
-			eventTable[ACTIVE_PROCESS] = -1;
+		Iterator<SimulatedProcess> itCreatedProcesses = createdProcesses
+				.iterator();
+		while (itCreatedProcesses.hasNext()) {
+			events.schedule(new ActivationEvent(itCreatedProcesses.next()));
 		}
 
 		setProcessDispatcherInterface(new ProcessDispatcher());
 
 	}
 
+	/**
+	 * It removes the next events of the pcbCurrent.
+	 */
 	protected void resetProcessEVT() {
-		eventTable[REQUEST_RESOURCE] = -1;
-		eventTable[RELEASE_RESOURCE] = -1;
-		eventTable[TERMINATE_PROCESS] = -1;
+		events.cancel(requestEvent);
+		events.cancel(releaseEvent);
+		events.cancel(terminationEvent);
+		requestEvent = null;
+		releaseEvent = null;
+		terminationEvent = null;
 	}
 
 	/**
@@ -193,9 +412,63 @@ public class RainbowScheduler extends Scheduler {
 	 *
 	 */
 	protected void setProcessEVT() {
-		eventTable[REQUEST_RESOURCE] = pcbCurrent.nextRequestTime();
-		eventTable[RELEASE_RESOURCE] = pcbCurrent.firstReleaseTime();
-		eventTable[TERMINATE_PROCESS] = pcbCurrent.getRemainingTime();
+		scheduleRequest();
+		scheduleRelease();
+		terminationEvent = new TerminationEvent(currentTime
+				+ pcbCurrent.getRemainingTime());
+		events.schedule(terminationEvent);
+	}
+
+	/**
+	 * It schedules the next request of resource of the pcbCurrent, if any.
+	 */
+	protected void scheduleRequest() {
+		events.cancel(requestEvent);
+		requestEvent = null;
+		int time = pcbCurrent.nextRequestTime();
+		if (time >= 0) {
+			requestEvent = new RequestEvent(currentTime + time, false);
+			events.schedule(requestEvent);
+		}
+	}
+
+	/**
+	 * It schedules the first release of resource of the pcbCurrent, if any.
+	 */
+	protected void scheduleRelease() {
+		events.cancel(releaseEvent);
+		releaseEvent = null;
+		int time = pcbCurrent.firstReleaseTime();
+		if (time >= 0) {
+			releaseEvent = new ReleaseEvent(currentTime + time);
+			events.schedule(releaseEvent);
+		}
+	}
+
+	/**
+	 * It returns true if an event of the pcbCurrent is scheduled and its time
+	 * is reached.
+	 *
+	 * @param event
+	 *            The event.
+	 * @return true if the event must be fired.
+	 */
+	protected boolean isDue(Event event) {
+		return event != null && event.isScheduled()
+				&& event.getTime() <= currentTime;
+	}
+
+	/**
+	 * It fires the events of a phase which time is reached.
+	 *
+	 * @param phase
+	 *            The phase of the events.
+	 */
+	protected void fireEvents(int phase) {
+		ArrayList<Event> due = events.pollDue(phase, currentTime);
+		for (int i = 0; i < due.size(); i++) {
+			due.get(i).fire();
+		}
 	}
 
 	/**
@@ -204,96 +477,195 @@ public class RainbowScheduler extends Scheduler {
 	 *
 	 * T(NextEvent) = min( T(Event) ) for each event in EventSpace
 	 *
-	 * where T is the time. The minimum function allows an increasing sorting of
-	 * events. This methods implements such minor function.
+	 * where T is the time. The events are sorted by time, so the minimum is
+	 * the first event following the current time. The termination of the
+	 * pcbCurrent is always a following event, so it bounds the interval.
 	 *
 	 * @return the remaining time to the first next event.
 	 */
 	protected int nextEventTime() {
-		/*
-		 * Update process events.
-		 */
-		eventTable[REQUEST_RESOURCE] = pcbCurrent.nextRequestTime();
-		eventTable[RELEASE_RESOURCE] = pcbCurrent.firstReleaseTime();
-		eventTable[TERMINATE_PROCESS] = pcbCurrent.getRemainingTime();
-		/*
-		 * eventTable[i] for i=0..2 is -1 if these events are not present. Of
-		 * course, eventTable[TERMINATED_PROCESS] contains the maximum.
-		 */
-		int min = eventTable[TERMINATE_PROCESS];
-		for (int i = 0; i < eventTable.length - 1; i++) {
-			if (eventTable[i] > 0 && eventTable[i] < min) {
-				min = eventTable[i];
+		return events.nextTime(currentTime) - currentTime;
+	}
+
+	/**
+	 * It blocks the pcbCurrent because the resource requested is not
+	 * available.
+	 *
+	 * @param resource
+	 *            The resource requested.
+	 * @param request
+	 *            The refused request.
+	 */
+	protected void requestRefused(Resource resource, RequestEvent request) {
+		// the resource in not available. -> process blocked
+		PCB blocked = pcbCurrent;
+		block(resource, blocked);
+		resetProcessEVT();
+		pcbCurrent = null;
+		if (deadlockCycle != null
+				&& !deadlockRecovery.equals(Configuration.NO_RECOVERY)) {
+			recoverDeadlock(blocked);
+		}
+	}
+
+	/**
+	 * It recovers from the deadlock risen when a process blocked. A victim
+	 * of the cycle is aborted or restarted, releasing its resources, until the
+	 * blocked process is not in a deadlock anymore. The victim is the process
+	 * chosen the fewest times before, then the one with the minimum cost. A
+	 * restarted victim can deadlock again in the same way, so a victim
+	 * already restarted MAX_RESTARTS times is aborted.
+	 * 
+	 * @param blocked
+	 *            The process whose block caused the deadlock.
+	 */
+	protected void recoverDeadlock(PCB blocked) {
+		int id = blocked.getSimulatedProcess().getId();
+		while (deadlockCycle != null) {
+			PCB victim = null;
+			for (int i = 0; i < deadlockCycle.size(); i++) {
+				PCB pcb = pcbTable.get(deadlockCycle.get(i).getProcessList()
+						.get(0).getId());
+				if (victim == null || isCheaperVictim(pcb, victim)) {
+					victim = pcb;
+				}
+			}
+			// a process waiting for itself would deadlock again.
+			boolean abort = deadlockCycle.size() == 1
+					|| victimized[victim.getSimulatedProcess().getId()] >= MAX_RESTARTS;
+			deadlockCycle = null;
+			removeVictim(victim, abort);
+			if (waiting[id] >= 0 && isDeadlocked(blocked)) {
+				deadlockCycle = findCycle(blocked);
 			}
 		}
-		return min;
 	}
 
 	/**
-	 * It actives a new process.
+	 * It returns true if a process is a better victim than another one: it
+	 * was chosen fewer times, or as many times with a lower cost.
+	 * 
+	 * @param pcb
+	 *            A deadlocked process.
+	 * @param victim
+	 *            The best victim until now.
+	 * @return true if pcb is a better victim.
 	 */
-	protected void activate() {
-		// createdProcess is not empty
-		while (eventTable[ACTIVE_PROCESS] == 0) {
-			// ACTIVATION
-			SimulatedProcess process = createdProcesses.removeFirst();
-			PCB pcbNew = new PCB(process);
-			pcbTable.put(process.getId(), pcbNew);
-			schedulingPolicy.insert(pcbNew);
+	protected boolean isCheaperVictim(PCB pcb, PCB victim) {
+		int chosen = victimized[pcb.getSimulatedProcess().getId()];
+		int victimChosen = victimized[victim.getSimulatedProcess().getId()];
+		if (chosen != victimChosen) {
+			return chosen < victimChosen;
+		}
+		return getVictimCost(pcb) < getVictimCost(victim);
+	}
 
-			// Compute the next activation process time. If there aren't any
-			// processes, eventTable[0] = -1;
-			if (createdProcesses.size() > 0) {
-				eventTable[ACTIVE_PROCESS] = createdProcesses.getFirst()
-						.getActivationTime() - currentTime;
-			} else {
-				eventTable[ACTIVE_PROCESS] = -1;
-			}
+	/**
+	 * It returns the cost of choosing a process as victim of a deadlock. The
+	 * process with the minimum cost is chosen.
+	 * 
+	 * @param pcb
+	 *            A deadlocked process.
+	 * @return the cost of the victim.
+	 */
+	protected int getVictimCost(PCB pcb) {
+		if (victimCost.equals(Configuration.LOWEST_PRIORITY)) {
+			return pcb.getActivePriority();
+		}
+		if (victimCost.equals(Configuration.FEWEST_HELD_RESOURCES)) {
+			return pcb.getUsedResourceCount();
 		}
+		return pcb.getExecutedTime();
 	}
 
 	/**
-	 * It increases of an unit the currentTime
+	 * It removes the victim of a deadlock: it leaves the blocked queue and
+	 * releases all its resources. Then it is aborted or restarted from the
+	 * beginning. Its executed time is lost. An aborted process is kept in the
+	 * list of the aborted processes.
+	 * 
+	 * @param victim
+	 *            The victim.
+	 * @param abort
+	 *            true if the victim must be aborted also when the victims are
+	 *            restarted.
 	 */
-	protected void increaseCurrentTime() {
-		currentTime++;
-		if (eventTable[ACTIVE_PROCESS] > 0) {
-			eventTable[ACTIVE_PROCESS] = eventTable[ACTIVE_PROCESS] - 1;
+	protected void removeVictim(PCB victim, boolean abort) {
+		SimulatedProcess process = victim.getSimulatedProcess();
+		unblock(victim);
+		releaseAllResources(victim);
+		lostWork += victim.getExecutedTime();
+		victims++;
+		victimized[process.getId()]++;
+		// the restarted process is ready for the first time.
+		removeLevel(victim);
+		if (!abort && deadlockRecovery.equals(Configuration.RESTART_VICTIM)) {
+			// the usage of the victim until now is lost.
+			lostUsage[process.getId()] = getCompletionUsage(victim)
+					- victim.getRemainingTime();
+			PCB restarted = new PCB(process);
+			pcbTable.put(process.getId(), restarted);
+			schedulingPolicy.insert(restarted);
+		} else {
+			pcbTable.remove(process.getId());
+			abortedProcesses.addLast(process);
 		}
-		// if eventTable[ACTIVE_PROCESS] == 0, then the next time a new process
-		// will be activated.
 	}
 
 	/**
-	 * It increases of the variable time the currentTime
-	 *
-	 * @param time
-	 *            the time to increase
+	 * It removes the queue index of a process of the multilevel feedback
+	 * policies, so the process is ready for the first time if it is inserted
+	 * again.
+	 * 
+	 * @param pcb
+	 *            The process.
 	 */
-	protected void increaseCurrentTime(int time) {
-		currentTime = currentTime + time;
-		if (eventTable[ACTIVE_PROCESS] > 0) {
-			eventTable[ACTIVE_PROCESS] = eventTable[ACTIVE_PROCESS] - time;
+	protected void removeLevel(PCB pcb) {
+		if (schedulingPolicy instanceof MF) {
+			((MF) schedulingPolicy).removeLevel(pcb);
 		}
-		// NOTE: eventTable[ACTIVE_PROCESS] will be 0 or -1
 	}
 
 	/**
-	 * Activate a new process if any.
+	 * It terminates the pcbCurrent. Before terminating it, it releases all its
+	 * resources, if any.
+	 */
+	protected void terminatePCBCurrent() {
+		// It releases all used resources
+		PCB terminated = pcbCurrent;
+		pcbCurrent = null;
+		resetProcessEVT();
+		releaseAllResources(terminated);
+		pcbTable.remove(terminated.getSimulatedProcess().getId());
+		terminatedProcesses.addLast(terminated.getSimulatedProcess());
+	}
+
+	/**
+	 * It returns true if a process is running.
+	 *
+	 * @return true if a process is running, false if the CPU is idle.
+	 */
+	protected boolean isRunning() {
+		return pcbCurrent != null;
+	}
+
+	/**
+	 * Activate a new process if any. If there is not any process to execute,
+	 * the time jumps to the next activation.
 	 * 
 	 * @param history
 	 *            the history of this simulation
 	 */
 	protected void process_activation_event(LinkedList<State> history) {
-		if (schedulingPolicy.size() == 0 && pcbCurrent == null
-				&& eventTable[ACTIVE_PROCESS] > 0) {
-			int time = eventTable[ACTIVE_PROCESS];
-			increaseCurrentTime(time);
-			history.add(computeState(time));
-		}
-		if (eventTable[ACTIVE_PROCESS] == 0) {
-			activate();
+		if (schedulingPolicy.size() == 0 && !isRunning()) {
+			int next = events.firstTime();
+			if (next > currentTime) {
+				int time = next - currentTime;
+				currentTime = next;
+				history.add(computeState(time));
+			}
 		}
+		fireEvents(ACTIVE_PROCESS);
 	}
 
 	/**
@@ -302,29 +674,11 @@ public class RainbowScheduler extends Scheduler {
 	protected void process_extraction_event() {
 		if (pcbCurrent == null) {
 			pcbCurrent = schedulingPolicy.extract();
-			LinkedList<Resource> prStack = pcbCurrent.getPreemptiveResources();
-			if (prStack != null) {
-				Resource r = null;
-				while (!prStack.isEmpty()) {
-					r = prStack.pop();
-					attributePreemptiveResource(r);
-				}
-			}
+			attributePreemptiveResources();
 			// see conditions. pcbCurrent exists.
 			setProcessEVT();
 		}
-		if (eventTable[REQUEST_RESOURCE] == 0) {
-			Resource resource = pcbCurrent.getResource();
-			if (allocate(resource)) {
-				// the resource is available. Update of the following event.
-				eventTable[REQUEST_RESOURCE] = pcbCurrent.nextRequestTime();
-			} else {
-				// the resource in not available. -> process blocked
-				assignment.get(resource).insert(new Request(pcbCurrent));
-				pcbCurrent = null;
-				resetProcessEVT();
-			}
-		}
+		fireEvents(REQUEST_RESOURCE);
 	}
 
 	/**
@@ -338,7 +692,7 @@ public class RainbowScheduler extends Scheduler {
 			nextEventTime = nextEventTime();
 			history.add(schedulingPolicy.execute(nextEventTime));
 		} else {
-			increaseCurrentTime();
+			currentTime++;
 			history.add(computeState(1));
 		}
 	}
@@ -348,55 +702,40 @@ public class RainbowScheduler extends Scheduler {
 	 * releases all its resources, if any.
 	 */
 	protected void process_termination_event() {
-		if (eventTable[TERMINATE_PROCESS] == 0) {
-			// It releases all used resources
-			PCB terminated = pcbCurrent;
-			pcbCurrent = null;
-			resetProcessEVT();
-			releaseAllResources(terminated);
-			pcbTable.remove(terminated.getSimulatedProcess().getId());
-			terminatedProcesses.add(terminated.getSimulatedProcess());
-		}
+		fireEvents(TERMINATE_PROCESS);
 	}
 
 	/**
 	 * It releases the resources of the current PCB, if any.
 	 */
 	protected void resource_release_event() {
-		if (eventTable[RELEASE_RESOURCE] == 0) {
-			eventTable[RELEASE_RESOURCE] = pcbCurrent.firstReleaseTime();
-			releaseResource(pcbCurrent);
-		}
+		fireEvents(RELEASE_RESOURCE);
 	}
 
 	/**
-	 * This is the core of the discrete simulation of processes. An execution
-	 * terminates when there are only blocked and terminated processes. An
-	 * iteration provides to extract a ready process and to run it until the
-	 * inner scheduler state doesn't change. Every process is extracted by using
-	 * a proper scheduling algorithm. The execution of the extracted process is
-	 * upper bound by the time of the first next event that occurs in the
-	 * scheduler. This method is able to notify a deadlock if it rises.
-	 *
-	 * @return the history of the simulation.
+	 * {@inheritDoc}
 	 */
-	public LinkedList<State> run() {
-		// the history of the simulation.
-		LinkedList<State> history = new LinkedList<State>();
-		while (schedulingPolicy.size() > 0 || eventTable[ACTIVE_PROCESS] > -1
-				|| pcbCurrent != null) {
+	protected boolean step(LinkedList<State> history) {
+		if (schedulingPolicy.size() > 0 || events.hasEvents(ACTIVE_PROCESS)
+				|| isRunning()) {
 			process_activation_event(history);
 			process_extraction_event();
-			scheduler_advancement_event(history);
-			process_termination_event();
-			resource_release_event();
+			if (deadlockCycle == null) {
+				scheduler_advancement_event(history);
+				process_termination_event();
+				resource_release_event();
+				return true;
+			}
+			// a deadlock rose: the simulation stops now.
 		}
-		State s = computeState(1);
+		// the final state is always complete.
+		State s = computeState(1, true);
 		if (pcbTable.size() > 0) {
 			s.setDeadlock(true);
+			s.setDeadlockCycle(deadlockCycle);
 		}
 		history.add(s);
-		return history;
+		return false;
 	}
 
 }
@@ -0,0 +1,533 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: ResponseRatioQueue.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ * v1.0 (17/10/2026): Class documentation and codify.
+ */
+package org.rainbow.scheduler;
+
+import java.io.Serializable;
+import java.util.*;
+
+import org.rainbow.data.*;
+
+/**
+ * It is the ready queue of the HRRN policy. It extracts the process having the
+ * highest response ratio without computing the ratio of every process.
+ * </br>The response ratio of a process is 1 + (time - activation time) /
+ * remaining time, a linear function of the time because the remaining time of
+ * a ready process does not change. The processes are the leaves of a kinetic
+ * tournament tree: each node keeps the winner of its subtree and the first time
+ * in which the loser will overtake it, so advancing the time only recomputes
+ * the nodes whose winner changed. The ratios are compared exactly with integer
+ * arithmetic and the processes with the same ratio in insertion order.
+ * </br>HRRN compares the ratios as float values and it chooses the first
+ * process in the queue among those having the maximum float. Processes with
+ * different ratios may have the same float, so the tree is visited again to
+ * find the first process having the float of the winner. The visit prunes the
+ * subtrees whose winner has a lower float or whose processes are all inserted
+ * after the candidate. The float ordering agrees with the exact ordering only
+ * while the numerators are exact floats, otherwise the queue is scanned.
+ * </br>The iteration is in insertion order.
+ *
+ * @version 1.0
+ */
+public class ResponseRatioQueue implements Iterable<PCB>, Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -114L;
+
+	/**
+	 * The integers with an exact float representation are lower than it.
+	 */
+	private static final int EXACT_FLOAT = 1 << 24;
+
+	/**
+	 * No time.
+	 */
+	private static final long NEVER = Long.MAX_VALUE;
+
+	/**
+	 * The number of leaves of the tree.
+	 */
+	private int capacity = 16;
+
+	/**
+	 * The process of each slot, null if the slot is free.
+	 */
+	private PCB[] pcbs;
+
+	/**
+	 * The activation time of the process of each slot.
+	 */
+	private int[] activation;
+
+	/**
+	 * The remaining time of the process of each slot.
+	 */
+	private int[] remaining;
+
+	/**
+	 * The insertion sequence number of the process of each slot.
+	 */
+	private long[] sequence;
+
+	/**
+	 * The next slot in insertion order, or the next free slot.
+	 */
+	private int[] next;
+
+	/**
+	 * The previous slot in insertion order.
+	 */
+	private int[] previous;
+
+	/**
+	 * The first slot in insertion order.
+	 */
+	private int first = -1;
+
+	/**
+	 * The last slot in insertion order.
+	 */
+	private int last = -1;
+
+	/**
+	 * The first free slot.
+	 */
+	private int free;
+
+	/**
+	 * The slot winning each node, -1 if the subtree is empty. The node 1 is
+	 * the root, the children of the node i are 2i and 2i+1 and the leaf of the
+	 * slot s is capacity + s.
+	 */
+	private int[] winner;
+
+	/**
+	 * The time in which the winner of each node loses against the other child.
+	 */
+	private long[] failure;
+
+	/**
+	 * The minimum failure time of each subtree.
+	 */
+	private long[] minFailure;
+
+	/**
+	 * The minimum sequence number of each subtree.
+	 */
+	private long[] minSequence;
+
+	/**
+	 * The time in which the tree is valid.
+	 */
+	private int time = 0;
+
+	/**
+	 * The next sequence number.
+	 */
+	private long nextSequence = 0;
+
+	/**
+	 * The maximum remaining time inserted since the queue was empty.
+	 */
+	private int maxRemaining = 0;
+
+	/**
+	 * The number of processes.
+	 */
+	private int size = 0;
+
+	/**
+	 * It creates an empty queue.
+	 */
+	public ResponseRatioQueue() {
+		pcbs = new PCB[capacity];
+		activation = new int[capacity];
+		remaining = new int[capacity];
+		sequence = new long[capacity];
+		next = new int[capacity];
+		previous = new int[capacity];
+		free = chain(0, capacity);
+		createTree();
+	}
+
+	/**
+	 * It inserts a process in tail of the queue.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @param time
+	 *            The current time.
+	 */
+	public void add(PCB pcb, int time) {
+		if (free == -1) {
+			grow(time);
+		}
+		advance(time);
+		int s = free;
+		free = next[s];
+		pcbs[s] = pcb;
+		activation[s] = pcb.getSimulatedProcess().getActivationTime();
+		remaining[s] = pcb.getRemainingTime();
+		sequence[s] = nextSequence++;
+		previous[s] = last;
+		next[s] = -1;
+		if (last != -1) {
+			next[last] = s;
+		} else {
+			first = s;
+		}
+		last = s;
+		maxRemaining = Math.max(maxRemaining, remaining[s]);
+		size++;
+		int leaf = capacity + s;
+		winner[leaf] = s;
+		minSequence[leaf] = sequence[s];
+		update(leaf >> 1);
+	}
+
+	/**
+	 * It removes the process having the highest response ratio. Among the
+	 * processes having the same ratio, it is the first inserted.
+	 *
+	 * @param time
+	 *            The current time.
+	 * @return the process, null if there is no process.
+	 */
+	public PCB pollHighest(int time) {
+		if (size == 0) {
+			return null;
+		}
+		advance(time);
+		int best;
+		if ((long) time + maxRemaining < EXACT_FLOAT) {
+			best = winner[1];
+			best = first(1, ratio(best), best);
+		} else {
+			best = scan();
+		}
+		PCB pcb = pcbs[best];
+		remove(best);
+		return pcb;
+	}
+
+	/**
+	 * It returns the number of processes.
+	 *
+	 * @return the number of processes.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * It returns an iterator on the processes in insertion order. The iterator
+	 * does not remove.
+	 *
+	 * @return the iterator.
+	 */
+	public Iterator<PCB> iterator() {
+		return new Iterator<PCB>() {
+			private int slot = first;
+
+			public boolean hasNext() {
+				return slot != -1;
+			}
+
+			public PCB next() {
+				if (slot == -1) {
+					throw new NoSuchElementException();
+				}
+				PCB pcb = pcbs[slot];
+				slot = ResponseRatioQueue.this.next[slot];
+				return pcb;
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * It returns the response ratio of a slot as computed by HRRN.
+	 *
+	 * @param s
+	 *            The slot.
+	 * @return the response ratio.
+	 */
+	private float ratio(int s) {
+		return (float) (remaining[s] + time - activation[s]) / remaining[s];
+	}
+
+	/**
+	 * It returns the first inserted slot of a subtree having the ratio
+	 * maximum, if it is inserted before the best slot found.
+	 *
+	 * @param node
+	 *            The root of the subtree.
+	 * @param maximum
+	 *            The maximum ratio.
+	 * @param best
+	 *            The best slot found.
+	 * @return the best slot.
+	 */
+	private int first(int node, float maximum, int best) {
+		if (winner[node] == -1 || minSequence[node] >= sequence[best]
+				|| ratio(winner[node]) < maximum) {
+			return best;
+		}
+		if (node >= capacity) {
+			return winner[node];
+		}
+		best = first(2 * node, maximum, best);
+		return first(2 * node + 1, maximum, best);
+	}
+
+	/**
+	 * It returns the first inserted slot having the maximum ratio, computing
+	 * the ratio of every process.
+	 *
+	 * @return the slot.
+	 */
+	private int scan() {
+		float maxRR = 0.0f, rr = 0.0f;
+		int j = first;
+		for (int s = first; s != -1; s = next[s]) {
+			rr = ratio(s);
+			if (maxRR < rr) {
+				maxRR = rr;
+				j = s;
+			}
+		}
+		return j;
+	}
+
+	/**
+	 * It removes the process of a slot.
+	 *
+	 * @param s
+	 *            The slot.
+	 */
+	private void remove(int s) {
+		if (previous[s] != -1) {
+			next[previous[s]] = next[s];
+		} else {
+			first = next[s];
+		}
+		if (next[s] != -1) {
+			previous[next[s]] = previous[s];
+		} else {
+			last = previous[s];
+		}
+		pcbs[s] = null;
+		next[s] = free;
+		free = s;
+		size--;
+		if (size == 0) {
+			maxRemaining = 0;
+		}
+		int leaf = capacity + s;
+		winner[leaf] = -1;
+		minSequence[leaf] = NEVER;
+		update(leaf >> 1);
+	}
+
+	/**
+	 * It recomputes the nodes whose winner can be changed at a time.
+	 *
+	 * @param time
+	 *            The time.
+	 */
+	private void advance(int time) {
+		if (time < this.time) {
+			// the certificates hold only forward in time
+			this.time = time;
+			for (int node = capacity - 1; node >= 1; node--) {
+				compute(node);
+			}
+		} else {
+			this.time = time;
+			renew(1);
+		}
+	}
+
+	/**
+	 * It recomputes the nodes of a subtree whose winner can be changed.
+	 *
+	 * @param node
+	 *            The root of the subtree.
+	 */
+	private void renew(int node) {
+		if (node >= capacity || minFailure[node] > time) {
+			return;
+		}
+		renew(2 * node);
+		renew(2 * node + 1);
+		compute(node);
+	}
+
+	/**
+	 * It recomputes a node and its ancestors.
+	 *
+	 * @param node
+	 *            The node.
+	 */
+	private void update(int node) {
+		for (; node >= 1; node >>= 1) {
+			compute(node);
+		}
+	}
+
+	/**
+	 * It computes the winner of a node from its children.
+	 *
+	 * @param node
+	 *            The node.
+	 */
+	private void compute(int node) {
+		int left = 2 * node, right = left + 1;
+		int l = winner[left], r = winner[right];
+		minSequence[node] = Math.min(minSequence[left], minSequence[right]);
+		if (l == -1 || r == -1) {
+			winner[node] = (l == -1) ? r : l;
+			failure[node] = NEVER;
+		} else if (beats(l, r)) {
+			winner[node] = l;
+			failure[node] = overtake(l, r);
+		} else {
+			winner[node] = r;
+			failure[node] = overtake(r, l);
+		}
+		minFailure[node] = Math.min(failure[node],
+				Math.min(minFailure[left], minFailure[right]));
+	}
+
+	/**
+	 * It returns true if the slot p precedes the slot q at the current time.
+	 *
+	 * @param p
+	 *            A slot.
+	 * @param q
+	 *            Another slot.
+	 * @return true if p has a higher ratio, or the same ratio and it was
+	 *         inserted before.
+	 */
+	private boolean beats(int p, int q) {
+		long d = (long) (time - activation[p]) * remaining[q]
+				- (long) (time - activation[q]) * remaining[p];
+		return d > 0 || (d == 0 && sequence[p] < sequence[q]);
+	}
+
+	/**
+	 * It returns the first time in which the slot q precedes the slot p,
+	 * knowing that p precedes q now. The difference of the ratios, multiplied
+	 * by both remaining times, is c - t k.
+	 *
+	 * @param p
+	 *            The slot preceding.
+	 * @param q
+	 *            The slot following.
+	 * @return the time, NEVER if q never precedes p.
+	 */
+	private long overtake(int p, int q) {
+		long k = (long) remaining[p] - remaining[q];
+		if (k <= 0) {
+			// the ratio of p grows at least as fast as the one of q
+			return NEVER;
+		}
+		long c = (long) activation[q] * remaining[p] - (long) activation[p]
+				* remaining[q];
+		if (sequence[q] < sequence[p]) {
+			// q precedes p as soon as the ratios are equal
+			return -Math.floorDiv(-c, k);
+		}
+		return Math.floorDiv(c, k) + 1;
+	}
+
+	/**
+	 * It doubles the number of slots.
+	 *
+	 * @param time
+	 *            The current time.
+	 */
+	private void grow(int time) {
+		int old = capacity;
+		capacity = 2 * old;
+		pcbs = Arrays.copyOf(pcbs, capacity);
+		activation = Arrays.copyOf(activation, capacity);
+		remaining = Arrays.copyOf(remaining, capacity);
+		sequence = Arrays.copyOf(sequence, capacity);
+		next = Arrays.copyOf(next, capacity);
+		previous = Arrays.copyOf(previous, capacity);
+		free = chain(old, capacity);
+		createTree();
+		for (int s = 0; s < old; s++) {
+			if (pcbs[s] != null) {
+				winner[capacity + s] = s;
+				minSequence[capacity + s] = sequence[s];
+			}
+		}
+		this.time = time;
+		for (int node = capacity - 1; node >= 1; node--) {
+			compute(node);
+		}
+	}
+
+	/**
+	 * It chains the free slots between from and to.
+	 *
+	 * @param from
+	 *            The first slot.
+	 * @param to
+	 *            The slot after the last one.
+	 * @return the first slot.
+	 */
+	private int chain(int from, int to) {
+		for (int s = from; s < to - 1; s++) {
+			next[s] = s + 1;
+		}
+		next[to - 1] = -1;
+		return from;
+	}
+
+	/**
+	 * It creates an empty tree of the current capacity.
+	 */
+	private void createTree() {
+		winner = new int[2 * capacity];
+		failure = new long[2 * capacity];
+		minFailure = new long[2 * capacity];
+		minSequence = new long[2 * capacity];
+		Arrays.fill(winner, -1);
+		Arrays.fill(failure, NEVER);
+		Arrays.fill(minFailure, NEVER);
+		Arrays.fill(minSequence, NEVER);
+	}
+}
@@ -21,9 +21,11 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.2
+ * Version: 1.5
  * 
  * Modifies:
+ * v1.5 (17/10/2026): The ready queue snapshot shares the queue.
+ * v1.4 (17/10/2026): Typed ready queue snapshot.
  * v1.3 (13/11/2014): Added iterators.  
  * v1.2 (04/02/2007): English translation. Java6 compatible. (Dalle Pezze Piero)
  * v1.1 (30/01/2006): Class codify.
@@ -43,7 +45,7 @@ import org.rainbow.simulation.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.3
+ * @version 1.5
  */
 public class RoundRobin extends TimeSharing implements Interactive {
 
@@ -57,6 +59,11 @@ public class RoundRobin extends TimeSharing implements Interactive {
 	 */
 	protected LinkedList<PCB> readyQueue = new LinkedList<PCB>();
 
+	/**
+	 * The processes of the ready queue, shared with the snapshots.
+	 */
+	protected SharedDeque<SimulatedProcess> readyProcesses = new SharedDeque<SimulatedProcess>();
+
 	/**
 	 * The referred dispatcher.
 	 */
@@ -93,6 +100,7 @@ public class RoundRobin extends TimeSharing implements Interactive {
 	 */
 	public void insert(PCB ready) {
 		readyQueue.add(ready);
+		readyProcesses.addLast(ready.getSimulatedProcess());
 	}
 
 	/**
@@ -147,6 +155,7 @@ public class RoundRobin extends TimeSharing implements Interactive {
 	 */
 	public PCB extract() {
 		if (readyQueue.size() > 0) {
+			readyProcesses.removeFirst();
 			return readyQueue.removeFirst();
 		}
 		return null;
@@ -162,14 +171,8 @@ public class RoundRobin extends TimeSharing implements Interactive {
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
-				readyQueue.size());
-		Iterator<PCB> itReadyQueue = readyQueue.iterator();
-		while (itReadyQueue.hasNext()) {
-			sp.add(itReadyQueue.next().getSimulatedProcess());
-		}
-		return sp;
+	public ReadyQueue getReadyQueue() {
+		return new ReadyQueue(readyProcesses.snapshot());
 	}
 
 	/**
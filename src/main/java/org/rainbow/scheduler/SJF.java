@@ -21,15 +21,19 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.5
  * 
  * Modifies:
+ *  - v.1.5 (17/10/2026): The ready queue snapshot is shared until the queue changes.
+ *  - v.1.4 (17/10/2026): Typed ready queue snapshot.
+ *  - v.1.3 (17/10/2026): Ready queue sorted by a balanced tree.
  *  - v.1.2 (13/11/2014): Added iterators. 
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
  */
 package org.rainbow.scheduler;
 
+import java.io.Serializable;
 import java.util.*;
 
 import org.rainbow.data.*;
@@ -41,7 +45,7 @@ import org.rainbow.simulation.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.5
  */
 public class SJF implements Batch {
 
@@ -51,9 +55,26 @@ public class SJF implements Batch {
 	private static final long serialVersionUID = -5016L;
 
 	/**
-	 * The ready queue. The behaviour is FIFO (FCFS).
+	 * The ready queue, sorted by remaining time increasing. Processes with the
+	 * same remaining time are in FIFO order.
 	 */
-	protected LinkedList<PCB> readyQueue;
+	protected TreeSet<Entry> readyQueue;
+
+	/**
+	 * The sequence number of the next process inserted in tail.
+	 */
+	protected long tail = 0;
+
+	/**
+	 * The sequence number of the next process inserted in head.
+	 */
+	protected long head = -1;
+
+	/**
+	 * The last snapshot of the ready queue, null if the queue was modified
+	 * later.
+	 */
+	protected transient ReadyQueue snapshot = null;
 
 	/**
 	 * The refered dispatcher.
@@ -64,7 +85,7 @@ public class SJF implements Batch {
 	 * It creates the SJF policy.
 	 */
 	public SJF() {
-		readyQueue = new LinkedList<PCB>();
+		readyQueue = new TreeSet<Entry>();
 	}
 
 	/**
@@ -89,19 +110,19 @@ public class SJF implements Batch {
 	 *            The process just activated.
 	 */
 	public void insert(PCB ready) {
-		boolean added = false;
-		PCB tmp = null;
-		ListIterator<PCB> itReadyQueue = readyQueue.listIterator();
-		while (itReadyQueue.hasNext() && !added) {
-			tmp = itReadyQueue.next();
-			if ((tmp.getRemainingTime()) > ready.getRemainingTime()) {
-				readyQueue.add(itReadyQueue.previousIndex(), ready);
-				added = true;
-			}
-		}
-		if (!added) {
-			readyQueue.add(ready);
-		}
+		snapshot = null;
+		readyQueue.add(new Entry(ready, tail++));
+	}
+
+	/**
+	 * It inserts a process before the processes with the same remaining time.
+	 * 
+	 * @param ready
+	 *            The process to insert.
+	 */
+	protected void insertFirst(PCB ready) {
+		snapshot = null;
+		readyQueue.add(new Entry(ready, head--));
 	}
 
 	/**
@@ -110,8 +131,10 @@ public class SJF implements Batch {
 	 * @return the process that must execute.
 	 */
 	public PCB extract() {
-		if (readyQueue.size() > 0) {
-			return readyQueue.removeFirst();
+		Entry first = readyQueue.pollFirst();
+		if (first != null) {
+			snapshot = null;
+			return first.pcb;
 		}
 		return null;
 	}
@@ -126,13 +149,17 @@ public class SJF implements Batch {
 	/**
 	 * {@inheritDoc}
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue() {
-		ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
-				readyQueue.size());
-		Iterator<PCB> itReadyQueue = readyQueue.iterator();
+	public ReadyQueue getReadyQueue() {
+		if (snapshot != null) {
+			// the queue is not changed, the snapshot is shared.
+			return snapshot;
+		}
+		ReadyQueue sp = new ReadyQueue(readyQueue.size());
+		Iterator<Entry> itReadyQueue = readyQueue.iterator();
 		while (itReadyQueue.hasNext()) {
-			sp.add(itReadyQueue.next().getSimulatedProcess());
+			sp.add(itReadyQueue.next().pcb.getSimulatedProcess());
 		}
+		snapshot = sp;
 		return sp;
 	}
 
@@ -143,4 +170,59 @@ public class SJF implements Batch {
 		return "Shortest Job First";
 	}
 
+	/**
+	 * A process of the ready queue. The remaining time is read at the
+	 * insertion, it does not change while the process is ready.
+	 */
+	protected static class Entry implements Comparable<Entry>, Serializable {
+
+		/**
+		 * To serializable
+		 */
+		private static final long serialVersionUID = -113L;
+
+		/**
+		 * The process.
+		 */
+		protected PCB pcb;
+
+		/**
+		 * The remaining time of the process.
+		 */
+		protected int remainingTime;
+
+		/**
+		 * The sequence number, it orders the processes with the same remaining
+		 * time.
+		 */
+		protected long sequence;
+
+		/**
+		 * It creates an entry of the ready queue.
+		 * 
+		 * @param pcb
+		 *            The process.
+		 * @param sequence
+		 *            The sequence number.
+		 */
+		protected Entry(PCB pcb, long sequence) {
+			this.pcb = pcb;
+			this.remainingTime = pcb.getRemainingTime();
+			this.sequence = sequence;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int compareTo(Entry other) {
+			if (remainingTime != other.remainingTime) {
+				return remainingTime < other.remainingTime ? -1 : 1;
+			}
+			if (sequence != other.sequence) {
+				return sequence < other.sequence ? -1 : 1;
+			}
+			return 0;
+		}
+	}
+
 }
@@ -0,0 +1,457 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: SMPScheduler.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.1
+ *
+ * Modifies:
+ * v1.1 (17/10/2026): The run queues implement the whole scheduling policy, the extraction updates the processes of the cores.
+ * v1.0 (17/10/2026): Class documentation. Class codify.
+ */
+package org.rainbow.scheduler;
+
+import java.util.*;
+
+import org.rainbow.gui.input.RainbowConfig;
+import org.rainbow.data.*;
+import org.rainbow.simulation.*;
+
+/**
+ * This class extends the MultiCoreScheduler to the run queues per core (SMP).
+ * Each core has its own instance of the scheduling policy: a process becomes
+ * ready always in the run queue of its core and a preemptive policy compares
+ * it only with the process running on the same core. A new process is placed
+ * on the least loaded core.
+ *
+ * The load is balanced by work stealing: a core which is idle with an empty
+ * run queue steals the next process of the busiest run queue, if it has at
+ * least balanceThreshold ready processes. A core tries to steal at most once
+ * every balanceInterval ticks. The migrated process is charged with a warm-up
+ * time of migrationCost, which it executes before it progresses again.
+ *
+ * @version 1.1
+ */
+public class SMPScheduler extends MultiCoreScheduler {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = -117L;
+
+	/**
+	 * The title of the run queues of the cores in the ready queue.
+	 */
+	public static final String CORE_TITLE = "Queue of core ";
+
+	/**
+	 * The scheduling policy of each core.
+	 */
+	protected SchedulingPolicy[] policies;
+
+	/**
+	 * The processes of each core, by id.
+	 */
+	protected HashMap<Integer, PCB>[] tables;
+
+	/**
+	 * The core of each process, by id, -1 if it was not placed yet.
+	 */
+	protected int[] home;
+
+	/**
+	 * The time of the next attempt of each core to steal a process.
+	 */
+	protected int[] nextBalance;
+
+	/**
+	 * The interval between two attempts of a core to steal a process.
+	 */
+	protected int balanceInterval;
+
+	/**
+	 * The minimum number of ready processes of a run queue to steal one of
+	 * them.
+	 */
+	protected int balanceThreshold;
+
+	/**
+	 * The warm-up time charged to a process for each migration.
+	 */
+	protected int migrationCost;
+
+	/**
+	 * This class extends the ProcessDispatcher to the scheduling policy of a
+	 * core. The policy sees only the process running on its core and the
+	 * processes placed on it.
+	 */
+	class QueueDispatcher extends ProcessDispatcher {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -118L;
+
+		/**
+		 * The core of the scheduling policy.
+		 */
+		private int core;
+
+		/**
+		 * It creates the dispatcher of a core.
+		 *
+		 * @param core
+		 *            The core.
+		 */
+		public QueueDispatcher(int core) {
+			this.core = core;
+		}
+
+		/**
+		 * {@inheritDoc} It is the process running on the core, if it can be
+		 * preempted.
+		 */
+		public PCB getPCBCurrent() {
+			return getPreemptible(core);
+		}
+
+		/**
+		 * {@inheritDoc} They are the processes placed on the core.
+		 */
+		public HashMap<Integer, PCB> getPCBTable() {
+			return tables[core];
+		}
+
+		/**
+		 * {@inheritDoc} The process preempted is the one running on the core.
+		 */
+		public void preemptionPCBCurrent() {
+			clear(core);
+		}
+	}
+
+	/**
+	 * This class joins the run queues of the cores in a scheduling policy. A
+	 * process is inserted in the run queue of its core and the ready queue
+	 * has a level for each core. The extraction and the execution are the
+	 * ones of the policy of the selected core.
+	 */
+	class RunQueues implements SchedulingPolicy {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = -119L;
+
+		/**
+		 * {@inheritDoc} The process of the selected core is executed by the
+		 * policy of the core. If no core is selected, the first busy core is
+		 * selected while it executes. If all the cores are idle, the CPU is
+		 * idle for a tick.
+		 */
+		public State execute(int time) {
+			if (selected >= 0) {
+				return policies[selected].execute(time);
+			}
+			for (int c = 0; c < cores; c++) {
+				if (getPreemptible(c) != null) {
+					select(c);
+					State s = policies[c].execute(time);
+					store();
+					return s;
+				}
+			}
+			currentTime++;
+			return computeState(1);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public ReadyQueue getReadyQueue() {
+			ReadyQueue ready = new ReadyQueue(size(), CORE_TITLE, cores);
+			for (int c = 0; c < cores; c++) {
+				ready.addLevel(c);
+				for (SimulatedProcess process : policies[c].getReadyQueue()) {
+					ready.add(process);
+				}
+			}
+			return ready;
+		}
+
+		/**
+		 * {@inheritDoc} The policy of each core gets its own dispatcher, which
+		 * sees only the core.
+		 */
+		public void setProcessDispatcherInterface(
+				ProcessDispatcherInterface dispatcher) {
+			for (int c = 0; c < cores; c++) {
+				policies[c].setProcessDispatcherInterface(new QueueDispatcher(c));
+			}
+		}
+
+		/**
+		 * {@inheritDoc} A process not placed yet is placed on the least
+		 * loaded core.
+		 */
+		public void insert(PCB pcb) {
+			int id = pcb.getSimulatedProcess().getId();
+			int core = home[id];
+			if (core == -1) {
+				core = leastLoaded();
+				home[id] = core;
+			}
+			tables[core].put(id, pcb);
+			policies[core].insert(pcb);
+		}
+
+		/**
+		 * {@inheritDoc} It is extracted from the run queue of the selected
+		 * core, which steals a process if its run queue is empty. If no core
+		 * is selected, it is extracted from the busiest run queue and it
+		 * leaves its core, so it is placed again when it is inserted.
+		 */
+		public PCB extract() {
+			if (selected >= 0) {
+				return SMPScheduler.this.extract(selected);
+			}
+			int core = busiest(-1);
+			if (policies[core].size() == 0) {
+				return null;
+			}
+			PCB pcb = policies[core].extract();
+			leave(pcb, core);
+			home[pcb.getSimulatedProcess().getId()] = -1;
+			return pcb;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int size() {
+			int size = 0;
+			for (int c = 0; c < cores; c++) {
+				size += policies[c].size();
+			}
+			return size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String toString() {
+			return policies[0].toString();
+		}
+	}
+
+	/**
+	 * It creates a SMPScheduler instance.
+	 *
+	 * @param configuration
+	 *            The user configuration.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public SMPScheduler(Configuration configuration) {
+		super(configuration);
+		balanceInterval = Math.max(configuration.getBalanceInterval(), 1);
+		balanceThreshold = Math.max(configuration.getBalanceThreshold(), 1);
+		migrationCost = Math.max(configuration.getMigrationCost(), 0);
+		policies = new SchedulingPolicy[cores];
+		tables = new HashMap[cores];
+		for (int c = 0; c < cores; c++) {
+			policies[c] = RainbowConfig.getSchedulingPolicy(configuration);
+			tables[c] = new HashMap<Integer, PCB>();
+		}
+		home = new int[waiting.length];
+		Arrays.fill(home, -1);
+		nextBalance = new int[cores];
+		steals = new int[cores];
+		schedulingPolicy = new RunQueues();
+		setProcessDispatcherInterface(dispatcher);
+	}
+
+	/**
+	 * It returns the least loaded core, counting its ready processes and its
+	 * running process.
+	 *
+	 * @return the core.
+	 */
+	protected int leastLoaded() {
+		int least = 0, load = Integer.MAX_VALUE;
+		for (int c = 0; c < cores; c++) {
+			int l = policies[c].size() + (getRunning(c) == null ? 0 : 1);
+			if (l < load) {
+				least = c;
+				load = l;
+			}
+		}
+		return least;
+	}
+
+	/**
+	 * It returns the core with the most ready processes.
+	 *
+	 * @param excluded
+	 *            A core not considered, -1 if none.
+	 * @return the core.
+	 */
+	protected int busiest(int excluded) {
+		int busiest = excluded == 0 ? 1 : 0;
+		for (int c = busiest + 1; c < cores; c++) {
+			if (c != excluded && policies[c].size() > policies[busiest].size()) {
+				busiest = c;
+			}
+		}
+		return busiest;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	protected SchedulingPolicy policyOf(int core) {
+		return policies[core];
+	}
+
+	/**
+	 * {@inheritDoc} If its run queue is empty, the core tries to steal a
+	 * process.
+	 */
+	protected PCB extract(int core) {
+		if (policies[core].size() == 0) {
+			steal(core);
+		}
+		if (policies[core].size() == 0) {
+			return null;
+		}
+		return policies[core].extract();
+	}
+
+	/**
+	 * It moves the next process of the busiest run queue to an idle core, if
+	 * the balancing interval of the core elapsed and the busiest run queue
+	 * reaches the threshold.
+	 *
+	 * @param core
+	 *            The idle core.
+	 */
+	protected void steal(int core) {
+		if (cores < 2 || currentTime < nextBalance[core]) {
+			return;
+		}
+		nextBalance[core] = currentTime + balanceInterval;
+		int from = busiest(core);
+		if (policies[from].size() >= balanceThreshold) {
+			migrate(policies[from].extract(), from, core);
+		}
+	}
+
+	/**
+	 * It migrates a ready process to the run queue of another core. The
+	 * process is ready for the first time in the new run queue and it is
+	 * charged with the warm-up time.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @param from
+	 *            The core of the process.
+	 * @param to
+	 *            The new core.
+	 */
+	protected void migrate(PCB pcb, int from, int to) {
+		int id = pcb.getSimulatedProcess().getId();
+		leave(pcb, from);
+		home[id] = to;
+		pcb.addWarmupTime(migrationCost);
+		migrationOverhead += migrationCost;
+		// the states share the steals.
+		steals = steals.clone();
+		steals[to]++;
+		schedulingPolicy.insert(pcb);
+	}
+
+	/**
+	 * It removes a process extracted from the run queue of a core from the
+	 * processes of the core. The queue index of the multilevel feedback
+	 * policies is removed, so the process is ready for the first time in the
+	 * run queue where it is inserted next.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @param core
+	 *            The core of the process.
+	 */
+	protected void leave(PCB pcb, int core) {
+		tables[core].remove(pcb.getSimulatedProcess().getId());
+		if (policies[core] instanceof MF) {
+			((MF) policies[core]).removeLevel(pcb);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} It is also bounded by the next attempt to steal of an
+	 * idle core, if a process can be stolen.
+	 */
+	protected int nextEventTime() {
+		int time = super.nextEventTime();
+		int from = busiest(-1);
+		if (policies[from].size() < balanceThreshold) {
+			return time;
+		}
+		for (int c = 0; c < cores; c++) {
+			if (c != from && getRunning(c) == null
+					&& policies[c].size() == 0) {
+				time = Math.min(time, Math.max(nextBalance[c] - currentTime, 1));
+			}
+		}
+		return time;
+	}
+
+	/**
+	 * {@inheritDoc} The queue index is the one of the policy of its core.
+	 */
+	protected void removeLevel(PCB pcb) {
+		int core = home[pcb.getSimulatedProcess().getId()];
+		if (core >= 0 && policies[core] instanceof MF) {
+			((MF) policies[core]).removeLevel(pcb);
+		}
+	}
+
+	/**
+	 * {@inheritDoc} The process leaves also its core.
+	 */
+	protected void terminatePCBCurrent() {
+		int id = pcbCurrent.getSimulatedProcess().getId();
+		super.terminatePCBCurrent();
+		tables[home[id]].remove(id);
+	}
+
+	/**
+	 * {@inheritDoc} An aborted process leaves also its core.
+	 */
+	protected void removeVictim(PCB victim, boolean abort) {
+		int id = victim.getSimulatedProcess().getId();
+		super.removeVictim(victim, abort);
+		if (!pcbTable.containsKey(id)) {
+			tables[home[id]].remove(id);
+		}
+	}
+
+}
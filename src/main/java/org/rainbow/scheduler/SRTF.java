@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.2
  * 
  * Modifies:
+ *  - v.1.2 (17/10/2026): Preempted processes keyed in the sorted ready queue.
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
  */
@@ -38,7 +39,7 @@ import org.rainbow.data.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.1
+ * @version 1.2
  */
 public class SRTF extends SJF implements Preemptive {
 
@@ -90,8 +91,8 @@ public class SRTF extends SJF implements Preemptive {
 			if (ready.equals(min)) {
 				// Preemption
 				dispatcher.preemptionPCBCurrent();
-				readyQueue.addFirst(inExecution);
-				readyQueue.addFirst(ready);
+				insertFirst(inExecution);
+				insertFirst(ready);
 			} else {
 				super.insert(ready);
 			}
@@ -21,9 +21,24 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.4
+ * Version: 1.21
  *
  * Modifies:
+ * v1.21 (17/10/2026): The random assignment policy takes the seed of the configuration.
+ * v1.20 (17/10/2026): The units available and the holders of units are maintained. The checks of the safe state reuse their buffers.
+ * v1.19 (17/10/2026): The stack of the search of a deadlock is reused.
+ * v1.18 (17/10/2026): The states keep the cpu usage at which the running processes complete.
+ * v1.17 (17/10/2026): Added the processes aborted to recover from the deadlocks.
+ * v1.16 (17/10/2026): Added the steals and the migration overhead of the run queues per core.
+ * v1.15 (17/10/2026): The running process is copied in the states by copyRunning().
+ * v1.14 (17/10/2026): Deadlock avoidance with the Banker's algorithm.
+ * v1.13 (17/10/2026): Added unblock() and the work lost by the victims of the deadlocks.
+ * v1.12 (17/10/2026): Incremental detection of the deadlocks on the wait-for graph.
+ * v1.11 (17/10/2026): Resource attribution on dense tables indexed by resource. Only the changed resources are copied in the states.
+ * v1.10 (17/10/2026): Used resources read from the PCB without copies.
+ * v1.9 (17/10/2026): The ready and terminated queues of the states are shared snapshots.
+ * v1.8 (17/10/2026): Stable sort of the created processes. The states can be computed without the queues.
+ * v1.7 (17/10/2026): The states are produced on demand as an iterator. Serializable.
  * v1.6 (13/11/2014): Added iterators.
  * v1.5 (10/11/2014): Transformed into an abstract class to enable the extension of additional Schedulers
  *                    different from the default RainbowScheduler.
@@ -36,11 +51,14 @@
  */
 package org.rainbow.scheduler;
 
+import java.io.Serializable;
 import java.util.*;
 
 import org.rainbow.gui.input.RainbowConfig;
 import org.rainbow.data.*;
 import org.rainbow.scheduler.assignpolicies.AssignmentPolicy;
+import org.rainbow.scheduler.assignpolicies.BankerAssign;
+import org.rainbow.scheduler.assignpolicies.RandomAssign;
 import org.rainbow.simulation.*;
 
 /**
@@ -54,21 +72,40 @@ import org.rainbow.simulation.*;
  * <li>Release of a resource.</li>
  * <li>Process termination.</li>
  * </ol>
+ * The states of the simulation are produced on demand: each call of next()
+ * advances the simulation only as much as needed to produce the following
+ * state, so a consumer can start before the simulation is finished and stop
+ * at any time. The method run() simulates everything at once. A scheduler
+ * can be saved and restored with a Checkpoint to replay the simulation from
+ * that point.
  *
  * @author Piero Dalle Pezze
- * @version 1.6
+ * @version 1.21
  */
-public abstract class Scheduler {
+public abstract class Scheduler implements Iterator<State>, Serializable {
 
 	/**
-	 * It maintains for each resource, its blocked processes.
+	 * To serialize
 	 */
-	protected HashMap<Resource, AssignmentPolicy> assignment = null;
+	private static final long serialVersionUID = -109L;
 
 	/**
-	 * It maintains for each resource, processes that can access it.
+	 * It maintains for each resource index, its blocked processes. It is null
+	 * for the preemptive resources.
 	 */
-	protected HashMap<Resource, LinkedList<PCB>> currentAttribution = null;
+	protected AssignmentPolicy[] assignment = null;
+
+	/**
+	 * It maintains for each resource index, the processes that can access it.
+	 * They are a stack bounded by the multiplicity of the resource: the last
+	 * holder is the most recently attributed.
+	 */
+	protected PCB[][] holders = null;
+
+	/**
+	 * The number of holders of each resource index.
+	 */
+	protected int[] holderCount = null;
 
 	/**
 	 * The process that is executing at the current time.
@@ -87,14 +124,244 @@ public abstract class Scheduler {
 	protected LinkedList<SimulatedProcess> createdProcesses = null;
 
 	/**
-	 * The list of terminated processes.
+	 * The list of terminated processes, shared with the snapshots.
+	 */
+	protected SharedDeque<SimulatedProcess> terminatedProcesses;
+
+	/**
+	 * The list of processes aborted to recover from the deadlocks, shared with
+	 * the snapshots.
+	 */
+	protected SharedDeque<SimulatedProcess> abortedProcesses;
+
+	/**
+	 * The available resources when this class is instanced. The position of a
+	 * resource is its dense index in the tables of the scheduler.
+	 */
+	protected Resource[] resources = null;
+
+	/**
+	 * It maps the id of a resource to its index, -1 if it is not available.
+	 */
+	protected int[] resourceIndex = null;
+
+	/**
+	 * A bit for each resource index whose holders or blocked processes have
+	 * changed since the last complete state.
+	 */
+	protected long[] dirty = null;
+
+	/**
+	 * The number of dirty resources.
+	 */
+	protected int dirtyCount = 0;
+
+	/**
+	 * The position of the blocked queue of each resource index in the states,
+	 * -1 for the preemptive resources.
+	 */
+	protected int[] blockedIndex = null;
+
+	/**
+	 * It maps the id of a process to the index of the resource it is blocked
+	 * on, -1 if it is not blocked. These are the edges of the wait-for graph:
+	 * a blocked process waits for the holders of its resource.
+	 */
+	protected int[] waiting = null;
+
+	/**
+	 * The cpu usage of each process, by id, lost by its restarts after the
+	 * deadlocks.
+	 */
+	protected int[] lostUsage = null;
+
+	/**
+	 * The mark of the processes visited by the last search of a deadlock.
+	 */
+	private int[] visited = null;
+
+	/**
+	 * The mark of the last search of a deadlock.
+	 */
+	private int visit = 0;
+
+	/**
+	 * The stack of the processes to visit, reused by the searches of a
+	 * deadlock.
+	 */
+	private transient int[] stack = null;
+
+	/**
+	 * The cycle of the deadlock, null until a deadlock is detected.
+	 */
+	protected ArrayList<ResourceAttribution> deadlockCycle = null;
+
+	/**
+	 * The executed time lost by the victims of the deadlocks.
+	 */
+	protected int lostWork = 0;
+
+	/**
+	 * The number of victims of the deadlocks.
+	 */
+	protected int victims = 0;
+
+	/**
+	 * The processes stolen by each core, null if the cores do not have their
+	 * own run queues. It is shared with the states, so it is copied before a
+	 * change.
+	 */
+	protected int[] steals = null;
+
+	/**
+	 * The warm-up time charged to the processes migrated to another core.
+	 */
+	protected int migrationOverhead = 0;
+
+	/**
+	 * It is true if the deadlocks are avoided with the Banker's algorithm: a
+	 * non preemptive resource is attributed only if the state reached is safe.
+	 */
+	protected boolean avoidance = false;
+
+	/**
+	 * The units of each resource not attributed.
+	 */
+	protected int[] available = null;
+
+	/**
+	 * The processes holding units of the non preemptive resources, in any
+	 * order: the processes which can give units back.
+	 */
+	private PCB[] unitHolders = null;
+
+	/**
+	 * The number of processes holding units of the non preemptive resources.
+	 */
+	private int unitHolderCount = 0;
+
+	/**
+	 * The units of the non preemptive resources held by each process.
+	 */
+	private int[] heldUnits = null;
+
+	/**
+	 * The position of each process in the holders of units.
+	 */
+	private int[] unitHolderIndex = null;
+
+	/**
+	 * The non preemptive resources whose blocked queue is checked at the next
+	 * release: their units were given back, or a request was refused while
+	 * units were available.
+	 */
+	private long[] recheck = null;
+
+	/**
+	 * The units of each resource available during a check of the safe state.
+	 * They are valid for the resources marked with the current visit, the
+	 * others have all their units not attributed available.
+	 */
+	private transient int[] work = null;
+
+	/**
+	 * The visit in which the units available of each resource were set.
+	 */
+	private transient int[] workStamp = null;
+
+	/**
+	 * The units available at the end of the last reduction of all the
+	 * holders.
+	 */
+	private transient int[] reducedWork = null;
+
+	/**
+	 * The visit in which the units available of each resource were set by the
+	 * last reduction of all the holders.
+	 */
+	private transient int[] reducedStamp = null;
+
+	/**
+	 * The processes reduced by a check of the safe state.
+	 */
+	private transient PCB[] reduced = null;
+
+	/**
+	 * The number of needs not available of each process reduced.
+	 */
+	private transient int[] missing = null;
+
+	/**
+	 * The processes reduced which can terminate.
+	 */
+	private transient int[] terminable = null;
+
+	/**
+	 * The first need not available of each resource, valid for the resources
+	 * marked with the current visit.
+	 */
+	private transient int[] bucketHead = null;
+
+	/**
+	 * The visit in which the needs of each resource were put in a bucket.
+	 */
+	private transient int[] bucketStamp = null;
+
+	/**
+	 * The next need of the bucket of each need not available.
 	 */
-	protected ArrayList<SimulatedProcess> terminatedProcesses;
+	private transient int[] bucketNext = null;
 
 	/**
-	 * The list of the available resources when this class is instanced.
+	 * The process reduced of each need not available.
 	 */
-	protected ArrayList<Resource> availableResources = null;
+	private transient int[] bucketProcess = null;
+
+	/**
+	 * The units of each need not available.
+	 */
+	private transient int[] bucketUnits = null;
+
+	/**
+	 * The units of each resource held by a process, while its needs are
+	 * computed. They are zero otherwise.
+	 */
+	private transient int[] held = null;
+
+	/**
+	 * The units of each resource still requested by a process, while its
+	 * needs are computed. They are zero otherwise.
+	 */
+	private transient int[] claimed = null;
+
+	/**
+	 * The needs of each process computed by the last checks of the safe
+	 * state. They change only when the process gets or releases a resource.
+	 */
+	private transient int[][] needs = null;
+
+	/**
+	 * The process of each cached need.
+	 */
+	private transient PCB[] needsOwner = null;
+
+	/**
+	 * The next access and the number of used resources of the process when
+	 * its need was computed.
+	 */
+	private transient long[] needsStamp = null;
+
+	/**
+	 * The attributions of the last complete state, shared by the following
+	 * states until a resource changes.
+	 */
+	private transient ArrayList<ResourceAttribution> attribution = null;
+
+	/**
+	 * The blocked queues of the last complete state, shared by the following
+	 * states until a resource changes.
+	 */
+	private transient ArrayList<ResourceAttribution> blockedQueues = null;
 
 	/**
 	 * The process table. Each entry is a pcb, so an activated process.
@@ -112,6 +379,22 @@ public abstract class Scheduler {
 	 */
 	protected ProcessDispatcherInterface dispatcher = null;
 
+	/**
+	 * The states produced by the last step and not returned yet.
+	 */
+	private LinkedList<State> pending = new LinkedList<State>();
+
+	/**
+	 * It is true if the simulation has produced its final state.
+	 */
+	private boolean finished = false;
+
+	/**
+	 * It is true if every state contains the queues of the scheduler, false if
+	 * only the final state contains them.
+	 */
+	private boolean snapshots = true;
+
 	/**
 	 * It creates a Scheduler instance.
 	 *
@@ -131,63 +414,85 @@ public abstract class Scheduler {
 		if (processes == null) {
 			processes = new ArrayList<SimulatedProcess>();
 		}
-		if (availableResources == null) {
-			availableResources = new ArrayList<Resource>(1);
-		}
-
-		/* sorting by activation time increasing */
-		SimulatedProcess p;
-		boolean added = false;
-		createdProcesses = new LinkedList<SimulatedProcess>();
-		Iterator<SimulatedProcess> itProcesses = processes.iterator();
-		while (itProcesses.hasNext()) {
-			p = itProcesses.next();
-			added = false;
-			ListIterator<SimulatedProcess> itCreatedProcesses = createdProcesses
-					.listIterator();
-			while (itCreatedProcesses.hasNext() && !added) {
-				if (p.getActivationTime() < itCreatedProcesses.next()
-						.getActivationTime()) {
-					createdProcesses.add(itCreatedProcesses.previousIndex(), p);
-					added = true;
-				}
-			}
-			if (!added) {
-				createdProcesses.addLast(p);
+		/*
+		 * sorting by activation time increasing. The sort is stable, so the
+		 * processes with the same activation time keep the order of the
+		 * configuration.
+		 */
+		ArrayList<SimulatedProcess> sorted = new ArrayList<SimulatedProcess>(
+				processes);
+		Collections.sort(sorted, new Comparator<SimulatedProcess>() {
+			public int compare(SimulatedProcess p1, SimulatedProcess p2) {
+				return Integer.compare(p1.getActivationTime(),
+						p2.getActivationTime());
 			}
-
+		});
+		createdProcesses = new LinkedList<SimulatedProcess>(sorted);
+		int maxProcessId = 0;
+		for (int i = 0; i < sorted.size(); i++) {
+			maxProcessId = Math.max(maxProcessId, sorted.get(i).getId());
 		}
+		waiting = new int[maxProcessId + 1];
+		lostUsage = new int[maxProcessId + 1];
+		Arrays.fill(waiting, -1);
+		visited = new int[maxProcessId + 1];
 		pcbTable = new HashMap<Integer, PCB>(createdProcesses.size());
-		terminatedProcesses = new ArrayList<SimulatedProcess>(
-				createdProcesses.size());
+		terminatedProcesses = new SharedDeque<SimulatedProcess>();
+		abortedProcesses = new SharedDeque<SimulatedProcess>();
 
 		/* RESOURCES SETTING */
-		availableResources = new ArrayList<Resource>(
-				configuration.getResources());
+		ArrayList<Resource> availableResources = configuration.getResources();
+		if (availableResources == null) {
+			availableResources = new ArrayList<Resource>(1);
+		}
+		resources = availableResources.toArray(new Resource[availableResources
+				.size()]);
 		// Setting of the capacity
-		assignment = new HashMap<Resource, AssignmentPolicy>(
-				availableResources.size());
-		currentAttribution = new HashMap<Resource, LinkedList<PCB>>(
-				availableResources.size());
-		Resource resource = null;
+		assignment = new AssignmentPolicy[resources.length];
+		holders = new PCB[resources.length][];
+		holderCount = new int[resources.length];
+		available = new int[resources.length];
+		unitHolders = new PCB[maxProcessId + 1];
+		heldUnits = new int[maxProcessId + 1];
+		unitHolderIndex = new int[maxProcessId + 1];
+		recheck = new long[(resources.length + 63) >>> 6];
+		dirty = new long[(resources.length + 63) >>> 6];
+		blockedIndex = new int[resources.length];
+		int maxId = -1;
+		for (int i = 0; i < resources.length; i++) {
+			maxId = Math.max(maxId, resources[i].getId());
+		}
+		resourceIndex = new int[maxId + 1];
+		Arrays.fill(resourceIndex, -1);
 		// Adds resources
-		Iterator<Resource> itAvailableResources = availableResources.iterator();
-		while (itAvailableResources.hasNext()) {
-			resource = itAvailableResources.next();
-			currentAttribution.put(resource, new LinkedList<PCB>());
+		int blocked = 0;
+		for (int i = 0; i < resources.length; i++) {
+			Resource resource = resources[i];
+			resourceIndex[resource.getId()] = i;
+			holders[i] = new PCB[resource.getMultiplicity()];
+			available[i] = resource.getMultiplicity();
+			blockedIndex[i] = -1;
+			if (resource instanceof NoPreemptiveResource) {
+				blockedIndex[i] = blocked++;
+			}
 			if (!(resource instanceof PreemptiveResource)) {
 				// Create a new instance of type AssignmentPolicy
 				try {
-					assignment.put(resource, assignmentPolicy.getClass()
-							.newInstance());
-				} catch (InstantiationException e) {
+					assignment[i] = assignmentPolicy.getClass()
+							.getDeclaredConstructor().newInstance();
+					if (configuration.getSeed() != 0
+							&& assignment[i] instanceof RandomAssign) {
+						// each resource has its own repeatable sequence.
+						((RandomAssign) assignment[i]).setSeed(configuration
+								.getSeed() + i);
+					}
+				} catch (ReflectiveOperationException e) {
 					System.out.println("The policy cannot be instanced.");
-				} catch (IllegalAccessException e) {
-					System.out.println("IllegalAccessException");
 				}
 
 			}
 		}
+		avoidance = assignmentPolicy instanceof BankerAssign;
 
 	}
 
@@ -208,17 +513,82 @@ public abstract class Scheduler {
 	}
 
 	/**
-	 * This is the core of the discrete simulation of processes. An execution
-	 * terminates when there are only blocked and terminated processes. An
+	 * It executes an iteration of the discrete simulation of processes. An
 	 * iteration provides to extract a ready process and to run it until the
-	 * inner scheduler state doesn't change. Every process is extracted by using
-	 * a proper scheduling algorithm. The execution of the extracted process is
-	 * upper bound by the time of the first next event that occurs in the
-	 * scheduler. This method is able to notify a deadlock if it rises.
+	 * inner scheduler state doesn't change. The states produced are added to
+	 * the history. When there are only blocked and terminated processes, it
+	 * adds the final state (notifying a deadlock if it rises) and returns
+	 * false.
+	 *
+	 * @param history
+	 *            the states produced by the iteration.
+	 * @return false if the simulation is finished, true otherwise.
+	 */
+	protected abstract boolean step(LinkedList<State> history);
+
+	/**
+	 * It returns true if the simulation has another state.
+	 *
+	 * @return true if there is another state.
+	 */
+	public boolean hasNext() {
+		while (pending.isEmpty() && !finished) {
+			finished = !step(pending);
+		}
+		return !pending.isEmpty();
+	}
+
+	/**
+	 * It returns the next state of the simulation, simulating until it is
+	 * produced.
+	 *
+	 * @return the next state.
+	 */
+	public State next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return pending.removeFirst();
+	}
+
+	/**
+	 * The states of the simulation cannot be removed.
+	 */
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * This is the core of the discrete simulation of processes. An execution
+	 * terminates when there are only blocked and terminated processes. Every
+	 * process is extracted by using a proper scheduling algorithm. The
+	 * execution of the extracted process is upper bound by the time of the
+	 * first next event that occurs in the scheduler. This method is able to
+	 * notify a deadlock if it rises.
 	 *
-	 * @return the history of the simulation.
+	 * @return the states of the simulation not returned by next() yet.
 	 */
-	public abstract LinkedList<State> run();
+	public LinkedList<State> run() {
+		LinkedList<State> history = new LinkedList<State>();
+		while (hasNext()) {
+			history.add(next());
+		}
+		return history;
+	}
+
+	/**
+	 * It sets if every state contains the queues of the scheduler. Without
+	 * snapshots a state contains only the running process and its duration,
+	 * except the final state which is always complete: the cost of a state
+	 * does not depend on the number of processes, but the states cannot be
+	 * shown by the views. It is used by the batch simulations.
+	 *
+	 * @param snapshots
+	 *            false to copy the queues only in the final state.
+	 */
+	public void setSnapshots(boolean snapshots) {
+		this.snapshots = snapshots;
+	}
 
 	/**
 	 * It creates object of type State. It store the inner state of the
@@ -229,53 +599,728 @@ public abstract class Scheduler {
 	 * @return an object State.
 	 */
 	protected State computeState(int duration) {
+		return computeState(duration, snapshots);
+	}
+
+	/**
+	 * It creates object of type State. It store the inner state of the
+	 * scheduler.
+	 *
+	 * @param duration
+	 *            the duration of the state
+	 * @param complete
+	 *            false if only the running process is stored.
+	 * @return an object State.
+	 */
+	protected State computeState(int duration, boolean complete) {
 		State s = new State(duration);
+		copyRunning(s);
+		s.setLostWork(lostWork, victims);
+		s.setMigrations(steals, migrationOverhead);
+		if (!complete) {
+			return s;
+		}
+		s.setReady(schedulingPolicy.getReadyQueue());
+		s.setTerminated(terminatedProcesses.snapshot());
+		s.setAborted(abortedProcesses.snapshot());
+		if (attribution == null) {
+			/* The first complete state: every resource is copied. */
+			attribution = new ArrayList<ResourceAttribution>(resources.length);
+			blockedQueues = new ArrayList<ResourceAttribution>();
+			for (int i = 0; i < resources.length; i++) {
+				attribution.add(copyHolders(i));
+				if (blockedIndex[i] >= 0) {
+					blockedQueues.add(copyRequests(i));
+				}
+			}
+			Arrays.fill(dirty, 0L);
+			dirtyCount = 0;
+		} else if (dirtyCount > 0) {
+			/* Only the resources changed since the last state are copied. */
+			attribution = new ArrayList<ResourceAttribution>(attribution);
+			blockedQueues = new ArrayList<ResourceAttribution>(blockedQueues);
+			for (int w = 0; w < dirty.length; w++) {
+				long word = dirty[w];
+				while (word != 0) {
+					int i = (w << 6) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+					attribution.set(i, copyHolders(i));
+					if (blockedIndex[i] >= 0) {
+						blockedQueues.set(blockedIndex[i], copyRequests(i));
+					}
+				}
+				dirty[w] = 0L;
+			}
+			dirtyCount = 0;
+		}
+		s.setAttributedResources(attribution);
+		s.setBlocked(blockedQueues);
+		return s;
+	}
+
+	/**
+	 * It copies the running process in a state.
+	 *
+	 * @param s
+	 *            the state.
+	 */
+	protected void copyRunning(State s) {
 		/* copy the current process */
 		SimulatedProcess cp = null;
 		if (pcbCurrent != null) {
 			cp = pcbCurrent.getSimulatedProcess();
+			s.setCompletion(getCompletionUsage(pcbCurrent));
 		}
 		s.setRunning(cp);
-		s.setReady(schedulingPolicy.getReadyQueue());
-		s.setTerminated(new ArrayList<SimulatedProcess>(terminatedProcesses));
-		ArrayList<ResourceAttribution> attribution = new ArrayList<ResourceAttribution>();
-		ArrayList<ResourceAttribution> blockedQueues = new ArrayList<ResourceAttribution>();
-		/* Dichiarati oggetti qui */
-		LinkedList<PCB> pcbList = null;
-		ArrayList<SimulatedProcess> processQueue = null;
-		Resource r = null;
-		AssignmentPolicy ap = null;
-		if (availableResources != null) {
-			/* Copy of currentAttribution */
-			Iterator<Resource> itAvailableResources = availableResources
-					.iterator();
-			while (itAvailableResources.hasNext()) {
-				r = itAvailableResources.next();
-				pcbList = currentAttribution.get(r);
-				processQueue = new ArrayList<SimulatedProcess>(pcbList.size());
-				Iterator<PCB> itPCBList = pcbList.iterator();
-				while (itPCBList.hasNext()) {
-					processQueue.add(itPCBList.next().getSimulatedProcess());
+	}
+
+	/**
+	 * It returns the cpu usage a process reaches when it completes its
+	 * execution: its execution time, plus the warm-up time charged by its
+	 * migrations and the usage lost by its restarts.
+	 *
+	 * @param pcb
+	 *            The process.
+	 * @return the cpu usage at the completion.
+	 */
+	protected int getCompletionUsage(PCB pcb) {
+		SimulatedProcess process = pcb.getSimulatedProcess();
+		return lostUsage[process.getId()] + process.getExecutionTime()
+				+ pcb.getChargedWarmupTime();
+	}
+
+	/**
+	 * It copies the holders of a resource, from the most recently attributed.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @return the attribution of the resource.
+	 */
+	private ResourceAttribution copyHolders(int index) {
+		PCB[] h = holders[index];
+		ArrayList<SimulatedProcess> processQueue = new ArrayList<SimulatedProcess>(
+				holderCount[index]);
+		for (int i = holderCount[index] - 1; i >= 0; i--) {
+			processQueue.add(h[i].getSimulatedProcess());
+		}
+		return new ResourceAttribution(resources[index], processQueue);
+	}
+
+	/**
+	 * It copies the processes blocked on a non preemptive resource.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @return the blocked queue of the resource.
+	 */
+	private ResourceAttribution copyRequests(int index) {
+		ArrayList<Request> req = assignment[index].getRequestsQueue();
+		ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
+				req.size());
+		Iterator<Request> itReq = req.iterator();
+		while (itReq.hasNext()) {
+			sp.add(pcbTable.get(itReq.next().getId()).getSimulatedProcess());
+		}
+		return new ResourceAttribution(resources[index], sp);
+	}
+
+	/**
+	 * It returns the dense index of a resource in the tables of the scheduler.
+	 *
+	 * @param resource
+	 *            the resource.
+	 * @return the index of the resource.
+	 */
+	protected int indexOf(Resource resource) {
+		return resourceIndex[resource.getId()];
+	}
+
+	/**
+	 * It marks a resource as changed since the last complete state.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 */
+	protected void setDirty(int index) {
+		long bit = 1L << index;
+		if ((dirty[index >>> 6] & bit) == 0) {
+			dirty[index >>> 6] |= bit;
+			dirtyCount++;
+		}
+	}
+
+	/**
+	 * It attributes a resource to a process. If the resource is completely
+	 * occupied, the most recently attributed holder is replaced.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @param pcb
+	 *            the new holder.
+	 */
+	protected void addHolder(int index, PCB pcb) {
+		if (holderCount[index] < holders[index].length) {
+			holderCount[index]++;
+			available[index]--;
+		}
+		holders[index][holderCount[index] - 1] = pcb;
+		if (blockedIndex[index] >= 0) {
+			int id = pcb.getSimulatedProcess().getId();
+			if (heldUnits[id]++ == 0) {
+				unitHolderIndex[id] = unitHolderCount;
+				unitHolders[unitHolderCount++] = pcb;
+			}
+		}
+		setDirty(index);
+	}
+
+	/**
+	 * It returns true if the process holds the resource, false otherwise.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @param pcb
+	 *            the process.
+	 * @return true if the process holds the resource.
+	 */
+	protected boolean isHolder(int index, PCB pcb) {
+		PCB[] h = holders[index];
+		for (int i = holderCount[index] - 1; i >= 0; i--) {
+			if (h[i] == pcb) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * It removes the most recent attribution of a resource to a process, if
+	 * any.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @param pcb
+	 *            the holder to remove.
+	 */
+	protected void removeHolder(int index, PCB pcb) {
+		PCB[] h = holders[index];
+		int count = holderCount[index];
+		for (int i = count - 1; i >= 0; i--) {
+			if (h[i] == pcb) {
+				System.arraycopy(h, i + 1, h, i, count - i - 1);
+				h[count - 1] = null;
+				holderCount[index] = count - 1;
+				available[index]++;
+				if (blockedIndex[index] >= 0) {
+					removeUnitHolder(index, pcb);
 				}
-				attribution.add(new ResourceAttribution(r, processQueue));
-				if (r instanceof NoPreemptiveResource) {
-					/* Copy of assignment. */
-					ap = assignment.get(r);
-					ArrayList<Request> req = ap.getRequestsQueue();
-					ArrayList<SimulatedProcess> sp = new ArrayList<SimulatedProcess>(
-							req.size());
-					Iterator<Request> itReq = req.iterator();
-					while (itReq.hasNext()) {
-						sp.add(pcbTable.get(itReq.next().getId())
-								.getSimulatedProcess());
+				setDirty(index);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * It counts a unit of a non preemptive resource given back by a process.
+	 * The blocked queue of the resource is checked at the next release.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @param pcb
+	 *            the holder.
+	 */
+	private void removeUnitHolder(int index, PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		if (--heldUnits[id] == 0) {
+			int position = unitHolderIndex[id];
+			PCB last = unitHolders[--unitHolderCount];
+			unitHolders[position] = last;
+			unitHolderIndex[last.getSimulatedProcess().getId()] = position;
+			unitHolders[unitHolderCount] = null;
+		}
+		if (avoidance && assignment[index].size() > 0) {
+			recheck[index >>> 6] |= 1L << index;
+		}
+	}
+
+	/**
+	 * It blocks a process on a non preemptive resource.
+	 *
+	 * @param resource
+	 *            the resource requested.
+	 * @param pcb
+	 *            the process blocked.
+	 */
+	protected void block(Resource resource, PCB pcb) {
+		int index = indexOf(resource);
+		assignment[index].insert(new Request(pcb));
+		setDirty(index);
+		waiting[pcb.getSimulatedProcess().getId()] = index;
+		if (avoidance && available[index] > 0) {
+			// the request is refused by the Banker's algorithm.
+			recheck[index >>> 6] |= 1L << index;
+		}
+		if (isDeadlocked(pcb)) {
+			deadlockCycle = findCycle(pcb);
+		}
+	}
+
+	/**
+	 * It removes a blocked process from the blocked queue of its resource.
+	 * 
+	 * @param pcb
+	 *            the blocked process.
+	 */
+	protected void unblock(PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		int index = waiting[id];
+		if (index >= 0) {
+			assignment[index].remove(id);
+			setDirty(index);
+			waiting[id] = -1;
+		}
+	}
+
+	/**
+	 * It returns true if a process just blocked can never be signalled. A
+	 * deadlock can only rise when a process blocks, and it contains that
+	 * process. The search follows the wait-for graph from the process: it
+	 * stops at the first resource which is not completely occupied or whose
+	 * holder is not blocked, because that holder will release it. Otherwise
+	 * all the processes reached wait for each other.
+	 * </br>Usually the search stops at the first holder, which is running or
+	 * ready. Only the marks and the stack are reused by the next search, not
+	 * its result, so in the worst case (long chains of blocked processes,
+	 * each holding units of resources with more units awaited by the next)
+	 * every block visits all the blocked processes and their held units:
+	 * O(V + E) on the wait-for graph for each block.
+	 * 
+	 * @param pcb
+	 *            the process just blocked.
+	 * @return true if the process is in a deadlock.
+	 */
+	protected boolean isDeadlocked(PCB pcb) {
+		visit++;
+		if (stack == null) {
+			stack = new int[8];
+		}
+		int top = 0;
+		int id = pcb.getSimulatedProcess().getId();
+		visited[id] = visit;
+		stack[top++] = id;
+		while (top > 0) {
+			int index = waiting[stack[--top]];
+			if (holderCount[index] < resources[index].getMultiplicity()) {
+				/* a signalled process is going to take the resource. */
+				return false;
+			}
+			PCB[] h = holders[index];
+			for (int i = holderCount[index] - 1; i >= 0; i--) {
+				id = h[i].getSimulatedProcess().getId();
+				if (waiting[id] < 0) {
+					return false;
+				}
+				if (visited[id] != visit) {
+					visited[id] = visit;
+					if (top == stack.length) {
+						stack = Arrays.copyOf(stack, 2 * top);
 					}
-					blockedQueues.add(new ResourceAttribution(r, sp));
+					stack[top++] = id;
 				}
 			}
 		}
-		s.setAttributedResources(attribution);
-		s.setBlocked(blockedQueues);
-		return s;
+		return true;
+	}
+
+	/**
+	 * It returns a cycle of the wait-for graph from a deadlocked process. From
+	 * each process it follows the last holder of the resource it waits for,
+	 * until a process is reached again.
+	 * 
+	 * @param pcb
+	 *            a deadlocked process.
+	 * @return the cycle, a resource with its waiting process for each edge.
+	 */
+	protected ArrayList<ResourceAttribution> findCycle(PCB pcb) {
+		visit++;
+		ArrayList<PCB> path = new ArrayList<PCB>();
+		while (visited[pcb.getSimulatedProcess().getId()] != visit) {
+			visited[pcb.getSimulatedProcess().getId()] = visit;
+			path.add(pcb);
+			int index = waiting[pcb.getSimulatedProcess().getId()];
+			pcb = holders[index][holderCount[index] - 1];
+		}
+		ArrayList<ResourceAttribution> cycle = new ArrayList<ResourceAttribution>();
+		for (int i = path.indexOf(pcb); i < path.size(); i++) {
+			ArrayList<SimulatedProcess> process = new ArrayList<SimulatedProcess>(
+					1);
+			process.add(path.get(i).getSimulatedProcess());
+			int index = waiting[path.get(i).getSimulatedProcess().getId()];
+			cycle.add(new ResourceAttribution(resources[index], process));
+		}
+		return cycle;
+	}
+
+	/**
+	 * It signals a process waiting for a non preemptive resource, if any, and
+	 * inserts it in the ready queue.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 */
+	protected void signal(int index) {
+		if (avoidance) {
+			signalSafe();
+			return;
+		}
+		Request r = assignment[index].extract();
+		if (r != null) {
+			/* SIGNAL and SCHEDULING */
+			setDirty(index);
+			waiting[r.getId()] = -1;
+			schedulingPolicy.insert(pcbTable.get(r.getId()));
+		}
+	}
+
+	/**
+	 * It signals all the processes waiting for an available non preemptive
+	 * resource whose request is now safe. Only the blocked queues of the
+	 * resources whose units were given back are checked, with the ones whose
+	 * requests were refused while units were available: any release can make
+	 * them safe. The other queues wait for units. A signalled process checks
+	 * again its request when it runs, and it can be refused because of the
+	 * attributions made meanwhile. Those only reduce the safe requests, so no
+	 * process waits while its request is safe until the next release.
+	 */
+	protected void signalSafe() {
+		prepareSafeState();
+		for (int w = 0; w < recheck.length; w++) {
+			long bits = recheck[w];
+			while (bits != 0) {
+				long bit = Long.lowestOneBit(bits);
+				bits ^= bit;
+				int i = (w << 6) + Long.numberOfTrailingZeros(bit);
+				if (assignment[i].size() > 0 && available[i] > 0) {
+					signalSafe(i);
+				}
+				if (assignment[i].size() == 0 || available[i] == 0) {
+					recheck[w] &= ~bit;
+				}
+			}
+		}
+	}
+
+	/**
+	 * It signals the processes waiting for a non preemptive resource whose
+	 * request is now safe.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 */
+	private void signalSafe(int index) {
+		/*
+		 * the processes which do not hold any resource give nothing back, so
+		 * their requests are checked against the same reduction of the
+		 * holders.
+		 */
+		int reduction = 0;
+		ArrayList<Request> queue = assignment[index].getRequestsQueue();
+		for (int j = 0; j < queue.size(); j++) {
+			Integer id = queue.get(j).getId();
+			PCB pcb = pcbTable.get(id);
+			boolean safe;
+			if (heldUnits[id] > 0) {
+				safe = isSafe(index, pcb);
+			} else {
+				if (reduction == 0) {
+					reduce(index, null);
+					reduction = visit;
+					int[] swap = work;
+					work = reducedWork;
+					reducedWork = swap;
+					swap = workStamp;
+					workStamp = reducedStamp;
+					reducedStamp = swap;
+				}
+				safe = isSatisfiable(getNeeds(pcb), index, reduction);
+			}
+			if (safe) {
+				/* SIGNAL and SCHEDULING */
+				assignment[index].remove(id);
+				setDirty(index);
+				waiting[id] = -1;
+				schedulingPolicy.insert(pcb);
+			}
+		}
+	}
+
+	/**
+	 * It returns true if the attribution of a unit of a non preemptive
+	 * resource to a process leaves the system in a safe state (Banker's
+	 * algorithm). The maximum claim of a process on a resource is given by the
+	 * units it holds and its accesses not attributed yet, bounded by the
+	 * multiplicity. The check is incremental, because the current state is
+	 * safe: only the processes holding a resource can give units back, and the
+	 * search stops as soon as the requesting process can terminate. Then
+	 * there are more units available than now, so the others can terminate
+	 * too. Usually the requesting process can terminate at once and the
+	 * holders are not visited.
+	 *
+	 * @param index
+	 *            the index of the resource requested.
+	 * @param pcb
+	 *            the requesting process.
+	 * @return true if the state reached is safe, false otherwise.
+	 */
+	protected boolean isSafe(int index, PCB pcb) {
+		prepareSafeState();
+		// the unit is attributed to the requesting process.
+		if (isSatisfiable(getNeeds(pcb), index, 0)) {
+			return true;
+		}
+		return reduce(index, pcb);
+	}
+
+	/**
+	 * It reduces the holders of the non preemptive resources after the
+	 * attribution of a unit of a resource: a process whose needs are available
+	 * terminates and gives its units back, until the requesting process can
+	 * terminate or no other process can. The needs which are not available
+	 * are put in buckets by resource, so the units given back only visit the
+	 * needs of their resources. Only the resources in the needs of the
+	 * processes or given back are visited, through the marks of the current
+	 * visit: the buffers are not cleared.
+	 *
+	 * @param index
+	 *            the index of the resource attributed.
+	 * @param pcb
+	 *            the requesting process, null to reduce all the holders. Then
+	 *            the units available at the end are left in work.
+	 * @return true if the requesting process can terminate, false otherwise.
+	 */
+	private boolean reduce(int index, PCB pcb) {
+		// the requesting process is the first one, followed by the holders.
+		visit++;
+		int count = 0;
+		if (pcb != null) {
+			reduced[count++] = pcb;
+			visited[pcb.getSimulatedProcess().getId()] = visit;
+		}
+		for (int i = 0; i < unitHolderCount; i++) {
+			int id = unitHolders[i].getSimulatedProcess().getId();
+			if (visited[id] != visit) {
+				visited[id] = visit;
+				reduced[count++] = unitHolders[i];
+			}
+		}
+		getWork(index);
+		work[index]--;
+		int entries = 0;
+		int tail = 0;
+		for (int k = 0; k < count; k++) {
+			int[] claim = getNeeds(reduced[k]);
+			missing[k] = 0;
+			for (int n = 0; n < claim.length; n += 2) {
+				int r = claim[n];
+				int units = claim[n + 1];
+				if (pcb != null && k == 0 && r == index) {
+					units--;
+				}
+				if (units > getWork(r)) {
+					if (entries == bucketNext.length) {
+						int size = 2 * entries;
+						bucketNext = Arrays.copyOf(bucketNext, size);
+						bucketProcess = Arrays.copyOf(bucketProcess, size);
+						bucketUnits = Arrays.copyOf(bucketUnits, size);
+					}
+					if (bucketStamp[r] != visit) {
+						bucketStamp[r] = visit;
+						bucketHead[r] = -1;
+					}
+					bucketNext[entries] = bucketHead[r];
+					bucketProcess[entries] = k;
+					bucketUnits[entries] = units;
+					bucketHead[r] = entries++;
+					missing[k]++;
+				}
+			}
+			if (missing[k] == 0) {
+				terminable[tail++] = k;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int k = terminable[head];
+			if (pcb != null && k == 0) {
+				return true;
+			}
+			// the process terminates and gives its units back.
+			PCB holder = reduced[k];
+			for (int i = holder.getUsedResourceCount() - 1; i >= 0; i--) {
+				Resource resource = holder.getUsedResource(i);
+				if (!(resource instanceof NoPreemptiveResource)) {
+					continue;
+				}
+				int r = indexOf(resource);
+				getWork(r);
+				work[r]++;
+				if (bucketStamp[r] != visit) {
+					continue;
+				}
+				int previous = -1;
+				for (int e = bucketHead[r]; e >= 0; e = bucketNext[e]) {
+					if (bucketUnits[e] > work[r]) {
+						previous = e;
+						continue;
+					}
+					if (previous < 0) {
+						bucketHead[r] = bucketNext[e];
+					} else {
+						bucketNext[previous] = bucketNext[e];
+					}
+					if (--missing[bucketProcess[e]] == 0) {
+						terminable[tail++] = bucketProcess[e];
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * It returns the units of a resource available during the current check of
+	 * the safe state.
+	 *
+	 * @param index
+	 *            the index of the resource.
+	 * @return the units available.
+	 */
+	private int getWork(int index) {
+		if (workStamp[index] != visit) {
+			workStamp[index] = visit;
+			work[index] = available[index];
+		}
+		return work[index];
+	}
+
+	/**
+	 * It returns true if the needs of a process are available after the
+	 * attribution of a unit of a resource to it.
+	 *
+	 * @param need
+	 *            the needs of the process before the attribution.
+	 * @param index
+	 *            the index of the resource attributed.
+	 * @param reduction
+	 *            the visit of the last reduction of all the holders, whose
+	 *            units available are used, 0 for the units available now.
+	 * @return true if the process can terminate, false otherwise.
+	 */
+	private boolean isSatisfiable(int[] need, int index, int reduction) {
+		for (int n = 0; n < need.length; n += 2) {
+			int r = need[n];
+			int units = r == index ? need[n + 1] - 1 : need[n + 1];
+			int free = available[r] - (r == index ? 1 : 0);
+			if (reduction != 0 && reducedStamp[r] == reduction) {
+				free = reducedWork[r];
+			}
+			if (units > free) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * It creates the tables used by the checks of the safe state.
+	 */
+	private void prepareSafeState() {
+		if (work == null) {
+			work = new int[resources.length];
+			workStamp = new int[resources.length];
+			reducedWork = new int[resources.length];
+			reducedStamp = new int[resources.length];
+			bucketHead = new int[resources.length];
+			bucketStamp = new int[resources.length];
+			bucketNext = new int[16];
+			bucketProcess = new int[16];
+			bucketUnits = new int[16];
+			reduced = new PCB[waiting.length];
+			missing = new int[waiting.length];
+			terminable = new int[waiting.length];
+			held = new int[resources.length];
+			claimed = new int[resources.length];
+			needs = new int[waiting.length][];
+			needsOwner = new PCB[waiting.length];
+			needsStamp = new long[waiting.length];
+		}
+	}
+
+	/**
+	 * It returns the units of the non preemptive resources that a process can
+	 * still request in addition to the ones it holds: its maximum claim, the
+	 * units held and the accesses not attributed yet bounded by the
+	 * multiplicity, minus the units held. They are computed again only if the
+	 * process got or released a resource.
+	 *
+	 * @param pcb
+	 *            the process.
+	 * @return the pairs of index of a resource and units needed.
+	 */
+	private int[] getNeeds(PCB pcb) {
+		int id = pcb.getSimulatedProcess().getId();
+		long stamp = ((long) pcb.getNextRequest() << 32)
+				| pcb.getUsedResourceCount();
+		if (needsOwner[id] == pcb && needsStamp[id] == stamp) {
+			return needs[id];
+		}
+		int[] touched = new int[8];
+		int count = 0;
+		for (int i = 0; i < pcb.getUsedResourceCount(); i++) {
+			Resource resource = pcb.getUsedResource(i);
+			if (resource instanceof NoPreemptiveResource) {
+				int index = indexOf(resource);
+				if (held[index] == 0 && claimed[index] == 0) {
+					if (count == touched.length) {
+						touched = Arrays.copyOf(touched, 2 * count);
+					}
+					touched[count++] = index;
+				}
+				held[index]++;
+			}
+		}
+		ArrayList<Access> accesses = pcb.getSimulatedProcess()
+				.getAccessesList();
+		for (int i = pcb.getNextRequest(); i < accesses.size(); i++) {
+			Resource resource = accesses.get(i).getResource();
+			if (resource instanceof NoPreemptiveResource) {
+				int index = indexOf(resource);
+				if (held[index] == 0 && claimed[index] == 0) {
+					if (count == touched.length) {
+						touched = Arrays.copyOf(touched, 2 * count);
+					}
+					touched[count++] = index;
+				}
+				claimed[index]++;
+			}
+		}
+		int[] pairs = new int[2 * count];
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			int index = touched[i];
+			int need = Math.min(held[index] + claimed[index],
+					resources[index].getMultiplicity())
+					- held[index];
+			if (need > 0) {
+				pairs[n++] = index;
+				pairs[n++] = need;
+			}
+			held[index] = 0;
+			claimed[index] = 0;
+		}
+		needsOwner[id] = pcb;
+		needsStamp[id] = stamp;
+		needs[id] = Arrays.copyOf(pairs, n);
+		return needs[id];
 	}
 
 	/* RESOURCE ALLOCATION */
@@ -284,33 +1329,21 @@ public abstract class Scheduler {
 	 * otherwise.
 	 */
 	protected boolean allocate(Resource resource) {
-		// ap means attributedProcesses
-		Boolean allocated = false;
-		LinkedList<PCB> ap = currentAttribution.get(resource);
-		if (resource.getMultiplicity() > ap.size()) {
-			/* the resource is available. */
-			ap.addFirst(pcbCurrent);
-			allocated = true;
-		} else {
-			/* The resource is completely occupated. */
-			if (resource instanceof PreemptiveResource) {
-				ap.removeFirst();
-				ap.addFirst(pcbCurrent);
-				allocated = true;
-			}
-		}
-		if (allocated) {
+		int index = indexOf(resource);
+		if (resource instanceof PreemptiveResource
+				|| (resource.getMultiplicity() > holderCount[index] && (!avoidance || isSafe(
+						index, pcbCurrent)))) {
+			/*
+			 * the resource is available (and the state reached is safe, with
+			 * the Banker's algorithm) or it is preemptive, so it is
+			 * subtracted to its last holder.
+			 */
+			addHolder(index, pcbCurrent);
 			pcbCurrent.resourceAttribuited();
 			/*
 			 * it allocates its preemptive resources. They can be subtracted.
-			 * This is implemented as a stack.
 			 */
-			LinkedList<Resource> prStack = pcbCurrent.getPreemptiveResources();
-			if (prStack != null) {
-				while (!prStack.isEmpty()) {
-					attributePreemptiveResource(prStack.pop());
-				}
-			}
+			attributePreemptiveResources();
 			return true;
 		}
 		// the resource cannot be assigned to the pcbCurrent.
@@ -318,21 +1351,27 @@ public abstract class Scheduler {
 		return false;
 	}
 
+	/**
+	 * It allocates all the preemptive resources used by the process in
+	 * execution, from the last attributed (the top of the stack of its used
+	 * resources).
+	 */
+	protected void attributePreemptiveResources() {
+		for (int i = pcbCurrent.getUsedResourceCount() - 1; i >= 0; i--) {
+			Resource resource = pcbCurrent.getUsedResource(i);
+			if (resource instanceof PreemptiveResource) {
+				attributePreemptiveResource(resource);
+			}
+		}
+	}
+
 	/**
 	 * It allocates all the requested preemptive resources to the process in execution.
 	 */
 	protected void attributePreemptiveResource(Resource resource) {
-		LinkedList<PCB> ap = currentAttribution.get(resource);
-		if (ap.contains(pcbCurrent)) {
-			/* the resource is already allocated to the process. */
-			return;
-		}
-		if (resource.getMultiplicity() > ap.size()) {
-			/* the resource is available. */
-			ap.addFirst(pcbCurrent);
-		} else {
-			ap.removeFirst();
-			ap.addFirst(pcbCurrent);
+		int index = indexOf(resource);
+		if (!isHolder(index, pcbCurrent)) {
+			addHolder(index, pcbCurrent);
 		}
 	}
 
@@ -343,18 +1382,13 @@ public abstract class Scheduler {
 	 *            The process that have to release the resource.
 	 */
 	protected void releaseResource(PCB pcb) {
-		// lp means list processes
 		Resource resource = pcb.getReleasedResource();
-		LinkedList<PCB> lp = currentAttribution.get(resource);
-		lp.remove(pcb);
+		int index = indexOf(resource);
+		removeHolder(index, pcb);
 		if (resource instanceof NoPreemptiveResource) {
 			/* SIGNAL */
 			// signal a process that is waiting for the resource.
-			Request r = assignment.get(resource).extract();
-			if (r != null) {
-				/* SIGNAL and SCHEDULING */
-				schedulingPolicy.insert(pcbTable.get(r.getId()));
-			}
+			signal(index);
 		}
 	}
 
@@ -366,26 +1400,25 @@ public abstract class Scheduler {
 	 *            The process that has terminated its execution.
 	 */
 	protected void releaseAllResources(PCB terminated) {
-		// ur means used resources. This is implemented as a Stack
-		LinkedList<Resource> urStack = terminated.getUsedResources();
-		Resource resource = null;
-
-		if (urStack != null) {
-			while (!urStack.isEmpty()) {
-				resource = urStack.pop();
-				LinkedList<PCB> lp = currentAttribution.get(resource);
-				lp.remove(terminated);
-				if (resource instanceof NoPreemptiveResource) {
-					/* SIGNAL */
-					// signal a process that is waiting for the resource.
-					Request r = assignment.get(resource).extract();
-					if (r != null) {
-						/* SIGNAL and SCHEDULING */
-						schedulingPolicy.insert(pcbTable.get(r.getId()));
-					}
+		// the used resources are released from the top of the stack.
+		boolean released = false;
+		for (int i = terminated.getUsedResourceCount() - 1; i >= 0; i--) {
+			Resource resource = terminated.getUsedResource(i);
+			int index = indexOf(resource);
+			removeHolder(index, terminated);
+			if (resource instanceof NoPreemptiveResource) {
+				released = true;
+				/* SIGNAL */
+				// signal a process that is waiting for the resource.
+				if (!avoidance) {
+					signal(index);
 				}
 			}
 		}
+		if (avoidance && released) {
+			// the safe requests are checked once all the units are back.
+			signalSafe();
+		}
 	}
 
 }
@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.2
  * 
  * Modifies:
+ *  - v.1.2 (17/10/2026): The ready queue snapshot is a ReadyQueue.
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
  */
@@ -40,7 +41,7 @@ import org.rainbow.simulation.*;
  * 
  * @author Marin Pier Giorgio
  * @author Piero Dalle Pezze
- * @version 1.1
+ * @version 1.2
  */
 public interface SchedulingPolicy extends Serializable {
 
@@ -54,11 +55,11 @@ public interface SchedulingPolicy extends Serializable {
 	public State execute(int time);
 
 	/**
-	 * It returns the ready queue.
+	 * It returns a snapshot of the ready queue.
 	 * 
 	 * @return the ready queue.
 	 */
-	public ArrayList<SimulatedProcess> getReadyQueue();
+	public ReadyQueue getReadyQueue();
 
 	/**
 	 * It sets the refered process dispatcher interface of the scheduler.
@@ -21,21 +21,24 @@
  * Package: scheduler
  * Author: Piero Dalle Pezze
  * Date: 29/01/2006
- * Version: 1.2
+ * Version: 1.3
  * 
  * Modifies:
+ * v1.3 (17/10/2026): Added the time slice of a process.
  * v1.2 (31/01/2007): English translation. Java6 compatible.
  * v1.1 (30/01/2006): Class codify.
  * v1.0 (29/01/2006): Class documentation.
  */
 package org.rainbow.scheduler;
 
+import org.rainbow.data.PCB;
+
 /**
  * It provides a generic time sharing scheduling algorithm.
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze PIero
- * @version 1.2
+ * @version 1.3
  */
 public abstract class TimeSharing implements SchedulingPolicy {
 
@@ -90,6 +93,19 @@ public abstract class TimeSharing implements SchedulingPolicy {
 		this.timeSlice = timeSlice;
 	}
 
+	/**
+	 * It returns the time slice of a process just extracted from the ready
+	 * queue. It is used by the schedulers which keep a time slice for each
+	 * running process.
+	 * 
+	 * @param pcb
+	 *            The process extracted.
+	 * @return the time slice of the process.
+	 */
+	public int getTimeSlice(PCB pcb) {
+		return timeSlice;
+	}
+
 	/**
 	 * It returns the number of tick executed.
 	 * 
@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.2
  * 
  * Modifies:
+ *  - v.1.2 (17/10/2026): Added remove().
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
  */
@@ -39,7 +40,7 @@ import org.rainbow.data.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.1
+ * @version 1.2
  */
 public interface AssignmentPolicy extends Serializable {
 
@@ -65,6 +66,16 @@ public interface AssignmentPolicy extends Serializable {
 	 */
 	public Request extract();
 
+	/**
+	 * It removes the request of a process from the queue, for instance
+	 * because the process is the victim of a deadlock.
+	 * 
+	 * @param id
+	 *            the id of the process.
+	 * @return the request removed, null if the process has no request.
+	 */
+	public Request remove(Integer id);
+
 	/**
 	 * It returns the number of elements in the structure.
 	 * 
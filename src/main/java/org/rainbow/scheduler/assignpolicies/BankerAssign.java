@@ -0,0 +1,63 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: BankerAssign.java
+ * Package: scheduler
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ *
+ * Modifies:
+ *  - v.1.0 (17/10/2026): Codify and documentation.
+ */
+package org.rainbow.scheduler.assignpolicies;
+
+/**
+ * This class implements the Banker's algorithm assignment policy. It avoids
+ * the deadlocks: a non preemptive resource is attributed only if the state
+ * reached is safe, that is all the processes can still terminate with their
+ * maximum claims. The maximum claims of a process are given by its list of
+ * accesses. The check of the safe state is made by the scheduler, which
+ * knows all the attributions. A refused process waits in a FIFO queue and it
+ * is signalled when a release makes its request safe.
+ *
+ * @version 1.0
+ */
+public class BankerAssign extends FIFOAssign {
+
+	/**
+	 * To serializable
+	 */
+	private static final long serialVersionUID = -5019L;
+
+	/**
+	 * It creates the Banker's algorithm assignment policy.
+	 */
+	public BankerAssign() {
+		super();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public String toString() {
+		return "Banker";
+	}
+
+}
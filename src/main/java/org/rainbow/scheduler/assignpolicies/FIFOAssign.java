@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Marin Pier Giorgio, Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.3
  * 
  * Modifies:
+ *  - v.1.3 (17/10/2026): Added remove().
  *  - v.1.2 (13/11/2014): Added iterators.    
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
@@ -39,7 +40,7 @@ import org.rainbow.data.*;
  * 
  * @author Marin Pier Giorgio
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.3
  */
 public class FIFOAssign implements AssignmentPolicy {
 
@@ -82,6 +83,21 @@ public class FIFOAssign implements AssignmentPolicy {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public Request remove(Integer id) {
+		Iterator<Request> it = requestsQueue.iterator();
+		while (it.hasNext()) {
+			Request request = it.next();
+			if (request.getId().equals(id)) {
+				it.remove();
+				return request;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
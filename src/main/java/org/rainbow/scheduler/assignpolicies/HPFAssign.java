@@ -21,9 +21,10 @@
  * Package: scheduler
  * Author: Dalle Pezze Piero
  * Date: 31/01/2007
- * Version: 1.1
+ * Version: 1.2
  * 
  * Modifies:
+ *  - v.1.2 (17/10/2026): Added remove().
  *  - v.1.1 (13/11/2014): Added iterators.    
  *  - v.1.0 (05/03/2007): Codify and documentation.
  */
@@ -37,7 +38,7 @@ import org.rainbow.data.*;
  * policy always extracts the request with the highest priority.
  * 
  * @author Dalle Pezze Piero
- * @version 1.1
+ * @version 1.2
  */
 public class HPFAssign implements AssignmentPolicy {
 
@@ -91,6 +92,21 @@ public class HPFAssign implements AssignmentPolicy {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public Request remove(Integer id) {
+		Iterator<Request> it = requestsQueue.iterator();
+		while (it.hasNext()) {
+			Request request = it.next();
+			if (request.getId().equals(id)) {
+				it.remove();
+				return request;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -21,9 +21,11 @@
  * Package: scheduler
  * Author: Dalle Pezze Piero
  * Date: 03/02/2006
- * Version: 1.1
+ * Version: 1.4
  * 
  * Modifies:
+ *  - v.1.4 (17/10/2026): Added setSeed().
+ *  - v.1.3 (17/10/2026): Added remove().
  *  - v.1.2 (13/11/2014): Added iterators.   
  *  - v.1.1 (31/01/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  - v.1.0 (03/02/2006): Codify and documentation.
@@ -38,7 +40,7 @@ import org.rainbow.data.*;
  * This class implements a Random assignment policy.
  * 
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.4
  */
 public class RandomAssign implements AssignmentPolicy {
 
@@ -64,6 +66,16 @@ public class RandomAssign implements AssignmentPolicy {
 		requestQueue = new LinkedList<Request>();
 	}
 
+	/**
+	 * It sets the seed of the random generator.
+	 * 
+	 * @param seed
+	 *            The seed.
+	 */
+	public void setSeed(long seed) {
+		random.setSeed(seed);
+	}
+
 	/**
 	 * It inserts the request of the process in tail of the queue.
 	 * 
@@ -86,6 +98,21 @@ public class RandomAssign implements AssignmentPolicy {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	public Request remove(Integer id) {
+		Iterator<Request> it = requestQueue.iterator();
+		while (it.hasNext()) {
+			Request request = it.next();
+			if (request.getId().equals(id)) {
+				it.remove();
+				return request;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -21,9 +21,14 @@
  * Package: simulation
  * Author: Stefano Bertolin, Piero Dalle Pezze
  * Date: 28/01/2006
- * Version: 1.2
+ * Version: 1.7
  *
  * Modifies:
+ *  v1.7 (17/10/2026): A SMPScheduler for the run queues per core.
+ *  v1.6 (17/10/2026): A MultiCoreScheduler for a CPU with more cores.
+ *  v1.5 (17/10/2026): Keyframes of the Scheduler every segment of states, the old segments are simulated again.
+ *  v1.4 (17/10/2026): The states are pulled from the Scheduler when they are needed.
+ *  v1.3 (17/10/2026): It stores the compressed states with the index of their first ticks.
  *  v1.2 (01/02/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  v1.1 (30/01/2006): Codify.
  *  v1.0 (28/01/2006): Documentation.
@@ -35,59 +40,222 @@ import org.rainbow.data.*;
 import org.rainbow.scheduler.*;
 
 /**
- * This class store all states of the simulation in an array. It is possible to
- * go forward(), backward(), start().
+ * This class store all states of the simulation. A state lasts one or more
+ * ticks, so only the states created by the Scheduler are stored, together
+ * with the tick where each state starts. It is possible to go forward(),
+ * backward(), start() and to jump() to any tick.
+ *
+ * The states are requested to the Scheduler only when a tick not simulated
+ * yet is reached, so the simulation can be shown before it is finished.
+ *
+ * The states are grouped in segments of a fixed number of states. Only the
+ * last segment and the segment of the actual time are kept in memory: for the
+ * other segments only a keyframe is stored, that is the Scheduler saved before
+ * their first state. When an old tick is requested, the Scheduler is restored
+ * from the keyframe of its segment and the segment is simulated again, so the
+ * memory does not grow with the length of the simulation.
  *
  * @author Bertolin Stefano
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.7
  */
 public class Evolution {
 
+	/**
+	 * The default number of states between two keyframes.
+	 */
+	public static final int KEYFRAME_INTERVAL = 1000;
+
 	/**
 	 * The actual time.
 	 */
 	private int actualTime = -1;
 
 	/**
-	 * The lenght of the history.
+	 * The scheduler producing the states.
+	 */
+	private Scheduler scheduler;
+
+	/**
+	 * It saves and restores the scheduler.
+	 */
+	private Checkpoint checkpoint;
+
+	/**
+	 * The number of states between two keyframes.
+	 */
+	private int keyframeInterval;
+
+	/**
+	 * The lenght of the history simulated so far.
 	 */
 	private int length = 0;
 
 	/**
-	 * The history of the simulation created by the Scheduler.
+	 * The saved scheduler before the first state of each segment.
 	 */
-	private ArrayList<State> history;
+	private ArrayList<byte[]> keyframes;
+
+	/**
+	 * The first tick of each segment.
+	 */
+	private int[] keyframeTicks;
+
+	/**
+	 * The segment filled by the scheduler.
+	 */
+	private Segment last;
+
+	/**
+	 * The last old segment simulated again.
+	 */
+	private Segment view = null;
+
+	/**
+	 * The segment of the actual time, null before the start.
+	 */
+	private Segment actualSegment = null;
+
+	/**
+	 * The index in the actual segment of the state of the actual time.
+	 */
+	private int actualState = -1;
 
 	/**
 	 * It creates an instance of Evolution. It creates an instance of Scheduler
-	 * and invoke the method Scheduler.run();
+	 * which states are requested when they are needed.
 	 *
 	 * @param configuration
 	 *            The user configuration.
 	 */
 	public Evolution(Configuration configuration) {
-		history = new ArrayList<State>();
-		Scheduler scheduler;
+		this(configuration, KEYFRAME_INTERVAL);
+	}
+
+	/**
+	 * It creates an instance of Evolution. It creates an instance of Scheduler
+	 * which states are requested when they are needed.
+	 *
+	 * @param configuration
+	 *            The user configuration.
+	 * @param keyframeInterval
+	 *            The number of states between two keyframes.
+	 */
+	public Evolution(Configuration configuration, int keyframeInterval) {
+		this.keyframeInterval = Math.max(1, keyframeInterval);
+		scheduler = createScheduler(configuration);
+		checkpoint = new Checkpoint(configuration);
+		keyframes = new ArrayList<byte[]>();
+		keyframeTicks = new int[16];
+		keyframes.add(checkpoint.save(scheduler));
+		last = new Segment(0);
+	}
 
+	/**
+	 * It creates the scheduler of a configuration.
+	 *
+	 * @param configuration
+	 *            The user configuration.
+	 * @return the scheduler.
+	 */
+	public static Scheduler createScheduler(Configuration configuration) {
 		if (configuration.isICPP()) {
-			scheduler = new RainbowICPPScheduler(configuration);
-		} else {
-			scheduler = new RainbowScheduler(configuration);
+			return new RainbowICPPScheduler(configuration);
 		}
+		if (configuration.getCores() > 1 && configuration.isSMP()) {
+			return new SMPScheduler(configuration);
+		}
+		if (configuration.getCores() > 1) {
+			return new MultiCoreScheduler(configuration);
+		}
+		return new RainbowScheduler(configuration);
+	}
 
-		LinkedList<State> compressedHistory = scheduler.run();
+	/**
+	 * It requests the next state to the scheduler. If the last segment is
+	 * full, a keyframe is saved and a new segment is started.
+	 *
+	 * @return false if the simulation is finished.
+	 */
+	private boolean pull() {
+		if (!scheduler.hasNext()) {
+			return false;
+		}
+		if (last.size() == keyframeInterval) {
+			int k = keyframes.size();
+			if (k == keyframeTicks.length) {
+				keyframeTicks = Arrays.copyOf(keyframeTicks, k * 2);
+			}
+			keyframeTicks[k] = length;
+			keyframes.add(checkpoint.save(scheduler));
+			view = last;
+			last = new Segment(k);
+		}
+		State s = scheduler.next();
 		// A state can take more than 1 tick.
-		State s;
-		int i, j;
-		// history can have equal states.
-		for (i = 0; i < compressedHistory.size(); i++) {
-			s = compressedHistory.get(i);
-			for (j = 0; j < s.getDuration(); j++) {
-				history.add(s);
+		if (s.getDuration() > 0) {
+			last.add(s, length);
+			length = length + s.getDuration();
+		}
+		return true;
+	}
+
+	/**
+	 * It simulates until a tick is reached or the simulation is finished.
+	 *
+	 * @param tick
+	 *            The tick to reach.
+	 */
+	private void simulate(int tick) {
+		boolean carryon = true;
+		while (tick > length - 1 && carryon) {
+			carryon = pull();
+		}
+	}
+
+	/**
+	 * It returns a segment, simulating it again from its keyframe if it is not
+	 * in memory.
+	 *
+	 * @param index
+	 *            The index of the segment.
+	 * @return the segment.
+	 */
+	private Segment segment(int index) {
+		if (last.index == index) {
+			return last;
+		}
+		if (view != null && view.index == index) {
+			return view;
+		}
+		Scheduler replay = checkpoint.restore(keyframes.get(index));
+		Segment segment = new Segment(index);
+		int tick = keyframeTicks[index];
+		while (segment.size() < keyframeInterval && replay.hasNext()) {
+			State s = replay.next();
+			if (s.getDuration() > 0) {
+				segment.add(s, tick);
+				tick = tick + s.getDuration();
 			}
 		}
-		length = history.size();
+		view = segment;
+		return segment;
+	}
+
+	/**
+	 * It moves the actual segment and state to a simulated tick.
+	 *
+	 * @param tick
+	 *            A tick of the simulation.
+	 */
+	private void locate(int tick) {
+		int k = Arrays.binarySearch(keyframeTicks, 0, keyframes.size(), tick);
+		if (k < 0) {
+			// the tick is inside the segment before the insertion point.
+			k = -k - 2;
+		}
+		actualSegment = segment(k);
+		actualState = actualSegment.stateIndex(tick);
 	}
 
 	/**
@@ -95,6 +263,8 @@ public class Evolution {
 	 */
 	public synchronized void start() {
 		actualTime = -1;
+		actualSegment = null;
+		actualState = -1;
 	}
 
 	/**
@@ -103,9 +273,19 @@ public class Evolution {
 	 * @return the next state.
 	 */
 	public synchronized State forward() {
+		simulate(actualTime + 1);
 		if (actualTime < length - 1) {
 			actualTime = actualTime + 1;
-			return history.get(actualTime);
+			if (actualSegment == null) {
+				locate(actualTime);
+			} else if (actualTime >= actualSegment.getEnd(actualState)) {
+				actualState = actualState + 1;
+				if (actualState == actualSegment.size()) {
+					actualSegment = segment(actualSegment.index + 1);
+					actualState = 0;
+				}
+			}
+			return actualSegment.get(actualState);
 		}
 		return null;
 	}
@@ -117,19 +297,148 @@ public class Evolution {
 	 */
 	public synchronized State backward() {
 		if (actualTime <= 0) {
-			actualTime = -1;
+			start();
 			return null;
 		}
 		actualTime = actualTime - 1;
-		return history.get(actualTime);
+		if (actualTime < actualSegment.getStart(actualState)) {
+			actualState = actualState - 1;
+			if (actualState < 0) {
+				actualSegment = segment(actualSegment.index - 1);
+				actualState = actualSegment.size() - 1;
+			}
+		}
+		return actualSegment.get(actualState);
 	}
 
 	/**
-	 * It returns the length of the simulation.
+	 * It moves the actual time to a tick and returns its state. If the tick is
+	 * after the end of the simulation, it moves to the last tick.
+	 *
+	 * @param tick
+	 *            The tick, starting from 0.
+	 * @return the state of the tick, null if the tick is negative.
+	 */
+	public synchronized State jump(int tick) {
+		if (tick < 0) {
+			start();
+			return null;
+		}
+		simulate(tick);
+		if (tick > length - 1) {
+			tick = length - 1;
+		}
+		if (tick < 0) {
+			start();
+			return null;
+		}
+		actualTime = tick;
+		locate(tick);
+		return actualSegment.get(actualState);
+	}
+
+	/**
+	 * It returns the actual time.
+	 *
+	 * @return the actual tick, -1 before the start.
+	 */
+	public synchronized int getTime() {
+		return actualTime;
+	}
+
+	/**
+	 * It returns true if the actual time is the last tick of the simulation.
+	 *
+	 * @return true if the simulation is at the end.
+	 */
+	public synchronized boolean isEnd() {
+		simulate(actualTime + 1);
+		return actualTime >= 0 && actualTime == length - 1;
+	}
+
+	/**
+	 * It returns true if the simulation lasts at least the ticks specified. It
+	 * simulates at most until that tick.
+	 *
+	 * @param ticks
+	 *            The number of ticks.
+	 * @return true if the duration is greater or equal to ticks.
+	 */
+	public synchronized boolean lastsAtLeast(int ticks) {
+		simulate(ticks - 1);
+		return length >= ticks;
+	}
+
+	/**
+	 * It returns the length of the simulation. The simulation is executed until
+	 * the end.
 	 *
 	 * @return the length of the simulation.
 	 */
 	public synchronized int getDuration() {
+		simulate(Integer.MAX_VALUE);
 		return length;
 	}
+
+	/**
+	 * It is a sequence of states following a keyframe, with the tick where each
+	 * state starts.
+	 */
+	private static class Segment {
+
+		/**
+		 * The index of the keyframe of the segment.
+		 */
+		private int index;
+
+		/**
+		 * The states of the segment.
+		 */
+		private ArrayList<State> states = new ArrayList<State>();
+
+		/**
+		 * The first tick of each state.
+		 */
+		private int[] startTicks = new int[16];
+
+		Segment(int index) {
+			this.index = index;
+		}
+
+		void add(State state, int start) {
+			if (states.size() == startTicks.length) {
+				startTicks = Arrays.copyOf(startTicks, startTicks.length * 2);
+			}
+			startTicks[states.size()] = start;
+			states.add(state);
+		}
+
+		int size() {
+			return states.size();
+		}
+
+		State get(int i) {
+			return states.get(i);
+		}
+
+		int getStart(int i) {
+			return startTicks[i];
+		}
+
+		int getEnd(int i) {
+			return startTicks[i] + states.get(i).getDuration();
+		}
+
+		/**
+		 * It returns the index of the state of a tick of the segment.
+		 */
+		int stateIndex(int tick) {
+			int i = Arrays.binarySearch(startTicks, 0, states.size(), tick);
+			if (i < 0) {
+				// the tick is inside the state before the insertion point.
+				i = -i - 2;
+			}
+			return i;
+		}
+	}
 }
@@ -21,16 +21,20 @@
  * Package: simulation
  * Author: Stefano Bertolin, Piero Dalle Pezze
  * Date: 28/01/2006
- * Version: 1.2
+ * Version: 1.7
  * 
  * Modifies:
+ *  v1.7 (17/10/2026): A running process is completed at the cpu usage of its completion. Removed the constructor from the history of the ticks.
+ *  v1.6 (17/10/2026): Added the processes aborted to recover from the deadlocks.
+ *  v1.5 (17/10/2026): Only the terminated processes are completed, the cpu usage can exceed the execution time.
+ *  v1.4 (17/10/2026): The terminated processes can be given, for the processes restarted after a deadlock.
+ *  v1.3 (17/10/2026): Single pass on the history and statistics from a StatisticsAccumulator.
  *  v1.2 (01/02/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  v1.1 (30/01/2006): Codify.
  *  v1.0 (28/01/2006): Documentation.
  */
 package org.rainbow.simulation;
 
-import java.util.*;
 import org.rainbow.data.*;
 
 /**
@@ -38,7 +42,7 @@ import org.rainbow.data.*;
  * 
  * @author Stefano Bertolin
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.7
  */
 public class ProcessStatistics {
 
@@ -73,37 +77,126 @@ public class ProcessStatistics {
 	private int turnAround = -1;
 
 	/**
-	 * It creates a collection of the statistics of a process.
+	 * true if the process was aborted to recover from a deadlock.
+	 */
+	private boolean aborted = false;
+
+	/**
+	 * It creates a collection of the statistics of a process from the
+	 * counters accumulated during the simulation.
+	 * 
+	 * @param proc
+	 *            The refered process.
+	 * @param accumulator
+	 *            The counters of the ticks executed so far.
+	 */
+	public ProcessStatistics(SimulatedProcess proc,
+			StatisticsAccumulator accumulator) {
+		this(proc, accumulator, false);
+	}
+
+	/**
+	 * It creates a collection of the statistics of a process from the
+	 * counters accumulated during the simulation.
+	 * 
+	 * @param proc
+	 *            The refered process.
+	 * @param accumulator
+	 *            The counters of the ticks executed so far.
+	 * @param terminated
+	 *            true if the process is terminated. A process restarted after
+	 *            a deadlock executes more than its execution time.
+	 */
+	public ProcessStatistics(SimulatedProcess proc,
+			StatisticsAccumulator accumulator, boolean terminated) {
+		this(proc, accumulator, terminated, false);
+	}
+
+	/**
+	 * It creates a collection of the statistics of a running process from the
+	 * counters accumulated during the simulation. The process is completed
+	 * when its cpu usage reaches the one of its completion: its execution
+	 * time, plus the warm-up time charged by its migrations and the usage
+	 * lost by its restarts.
 	 * 
 	 * @param proc
 	 *            The refered process.
-	 * @param executed
-	 *            The list containing, for each tick, the reference to the
-	 *            running process.
+	 * @param accumulator
+	 *            The counters of the ticks executed so far.
+	 * @param completion
+	 *            The cpu usage at the completion of the process.
 	 */
 	public ProcessStatistics(SimulatedProcess proc,
-			LinkedList<SimulatedProcess> executed) {
+			StatisticsAccumulator accumulator, int completion) {
+		this(proc, accumulator, accumulator.getCPUUsage(proc) == completion);
+	}
+
+	/**
+	 * It creates a collection of the statistics of a process from the
+	 * counters accumulated during the simulation. An aborted process is not
+	 * completed: like a process still blocked, it waits until the end of the
+	 * simulation.
+	 * 
+	 * @param proc
+	 *            The refered process.
+	 * @param accumulator
+	 *            The counters of the ticks executed so far.
+	 * @param terminated
+	 *            true if the process is terminated.
+	 * @param aborted
+	 *            true if the process was aborted to recover from a deadlock.
+	 */
+	public ProcessStatistics(SimulatedProcess proc,
+			StatisticsAccumulator accumulator, boolean terminated,
+			boolean aborted) {
+		this.aborted = aborted;
+		compute(proc, accumulator.getCPUUsage(proc), accumulator
+				.getFirstRun(proc), accumulator.getLastRun(proc), accumulator
+				.getTicks(), terminated);
+	}
+
+	/**
+	 * It computes the statistics of a process.
+	 * 
+	 * @param proc
+	 *            The refered process.
+	 * @param usage
+	 *            The ticks executed by the process.
+	 * @param firstRun
+	 *            The first tick executed by the process.
+	 * @param lastRun
+	 *            The last tick executed by the process.
+	 * @param ticks
+	 *            The ticks of the simulation.
+	 * @param terminated
+	 *            true if the process is terminated.
+	 */
+	private void compute(SimulatedProcess proc, int usage, int firstRun,
+			int lastRun, int ticks, boolean terminated) {
 		process = proc;
-		// count the tick that the process has executed.
-		for (int j = 0; j < executed.size(); j++) {
-			if (executed.get(j) != null && executed.get(j).equals(process))
-				cpuUsage++;
-		}
-		cpuUsagePercent = (double) 100 * cpuUsage / executed.size();
+		cpuUsage = usage;
+		cpuUsagePercent = (double) 100 * cpuUsage / ticks;
 		// Test if the process has terminated.
-		if (cpuUsage == process.getExecutionTime()) {
-			int endExecution = executed.lastIndexOf(process) + 1;
+		if (terminated) {
+			int endExecution = lastRun + 1;
 			waitingTime = endExecution - process.getActivationTime() - cpuUsage;
 			// set the turn around only if the process is terminated
 			turnAround = endExecution - process.getActivationTime();
 		} else
-			waitingTime = executed.size() - process.getActivationTime()
-					- cpuUsage;
+			waitingTime = ticks - process.getActivationTime() - cpuUsage;
 		if (cpuUsage != 0)
 			// set the response time only if the process has already executed at
 			// least for a tick.
-			responseTime = executed.indexOf(process)
-					- process.getActivationTime();
+			responseTime = firstRun - process.getActivationTime();
+	}
+
+	/**
+	 * It returns true if the process was aborted to recover from a deadlock.
+	 * 
+	 * @return true if the process was aborted.
+	 */
+	public boolean isAborted() {
+		return aborted;
 	}
 
 	/**
@@ -0,0 +1,312 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: ReadyQueue.java
+ * Package: simulation
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.1
+ * 
+ * Modifies:
+ *  v1.1 (17/10/2026): Levels can share the snapshots of the policy queues.
+ *  v1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.simulation;
+
+import java.io.Serializable;
+import java.util.*;
+import org.rainbow.data.*;
+
+/**
+ * This class represents the ready queue of a state. The processes are in the
+ * order of the scheduling policy. The policies with more queues (priorities or
+ * levels) split the processes in levels: each level has a number and the
+ * processes of a level follow the ones of the previous level. The levels do
+ * not contain placeholder processes, the title of a level is composed by the
+ * views from the level title of the queue and the level number.
+ * </br>The processes of a level can be a snapshot of a SharedDeque, so
+ * consecutive states share the queues that did not change.
+ * 
+ * @version 1.1
+ */
+public class ReadyQueue implements Iterable<SimulatedProcess>, Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = 304L;
+
+	/**
+	 * The processes of each level, or the processes if the queue has no level.
+	 */
+	private List<SimulatedProcess>[] segments;
+
+	/**
+	 * The title of the levels, null if the queue has no level.
+	 */
+	private String levelTitle;
+
+	/**
+	 * The number of each level.
+	 */
+	private int[] levels;
+
+	/**
+	 * The index of the first process of each level.
+	 */
+	private int[] starts;
+
+	/**
+	 * The number of segments.
+	 */
+	private int segmentCount = 0;
+
+	/**
+	 * The number of processes.
+	 */
+	private int size = 0;
+
+	/**
+	 * It creates an empty ready queue without levels.
+	 * 
+	 * @param capacity
+	 *            The number of processes.
+	 */
+	public ReadyQueue(int capacity) {
+		this(new ArrayList<SimulatedProcess>(capacity));
+	}
+
+	/**
+	 * It creates a ready queue without levels from a list of processes. The
+	 * list must not change later.
+	 * 
+	 * @param processes
+	 *            The processes.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ReadyQueue(List<SimulatedProcess> processes) {
+		segments = new List[1];
+		starts = new int[1];
+		segments[0] = processes;
+		segmentCount = 1;
+		size = processes.size();
+	}
+
+	/**
+	 * It creates an empty ready queue with levels.
+	 * 
+	 * @param capacity
+	 *            The number of processes.
+	 * @param levelTitle
+	 *            The title of the levels.
+	 * @param levels
+	 *            The number of levels.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public ReadyQueue(int capacity, String levelTitle, int levels) {
+		this.levelTitle = levelTitle;
+		this.segments = new List[levels];
+		this.levels = new int[levels];
+		this.starts = new int[levels];
+	}
+
+	/**
+	 * It starts a new level. The processes added later belong to it.
+	 * 
+	 * @param level
+	 *            The number of the level.
+	 */
+	public void addLevel(int level) {
+		addLevel(level, new ArrayList<SimulatedProcess>());
+	}
+
+	/**
+	 * It adds a level with its processes. The list must not change later.
+	 * 
+	 * @param level
+	 *            The number of the level.
+	 * @param processes
+	 *            The processes of the level.
+	 */
+	public void addLevel(int level, List<SimulatedProcess> processes) {
+		if (segmentCount == segments.length) {
+			int length = 2 * segmentCount + 1;
+			segments = Arrays.copyOf(segments, length);
+			levels = Arrays.copyOf(levels, length);
+			starts = Arrays.copyOf(starts, length);
+		}
+		segments[segmentCount] = processes;
+		levels[segmentCount] = level;
+		starts[segmentCount] = size;
+		segmentCount++;
+		size += processes.size();
+	}
+
+	/**
+	 * It adds a process in tail of the last level. The levels added with
+	 * their processes cannot be modified.
+	 * 
+	 * @param process
+	 *            The process.
+	 */
+	public void add(SimulatedProcess process) {
+		segments[segmentCount - 1].add(process);
+		size++;
+	}
+
+	/**
+	 * It returns the number of processes.
+	 * 
+	 * @return The number of processes.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * It returns a process.
+	 * 
+	 * @param index
+	 *            The position of the process.
+	 * @return The process.
+	 */
+	public SimulatedProcess get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: "
+					+ size);
+		}
+		// the last segment starting before index contains it
+		int low = 0, high = segmentCount - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (starts[middle] <= index) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return segments[low].get(index - starts[low]);
+	}
+
+	/**
+	 * It returns true if the process is ready.
+	 * 
+	 * @param process
+	 *            The process.
+	 * @return true if the process is in the queue.
+	 */
+	public boolean contains(SimulatedProcess process) {
+		for (int i = 0; i < segmentCount; i++) {
+			if (segments[i].contains(process)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * It returns an iterator on the processes.
+	 * 
+	 * @return The iterator.
+	 */
+	public Iterator<SimulatedProcess> iterator() {
+		return new Iterator<SimulatedProcess>() {
+			private int segment = 0;
+
+			private int index = 0;
+
+			public boolean hasNext() {
+				while (segment < segmentCount
+						&& index == segments[segment].size()) {
+					segment++;
+					index = 0;
+				}
+				return segment < segmentCount;
+			}
+
+			public SimulatedProcess next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return segments[segment].get(index++);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	/**
+	 * It returns the title of the levels.
+	 * 
+	 * @return The title of the levels, null if the queue has no level.
+	 */
+	public String getLevelTitle() {
+		return levelTitle;
+	}
+
+	/**
+	 * It returns the number of levels.
+	 * 
+	 * @return The number of levels.
+	 */
+	public int getLevelCount() {
+		if (levelTitle == null) {
+			return 0;
+		}
+		return segmentCount;
+	}
+
+	/**
+	 * It returns the number of a level.
+	 * 
+	 * @param index
+	 *            The position of the level.
+	 * @return The number of the level.
+	 */
+	public int getLevel(int index) {
+		return levels[index];
+	}
+
+	/**
+	 * It returns the position of the first process of a level.
+	 * 
+	 * @param index
+	 *            The position of the level.
+	 * @return The position of the first process.
+	 */
+	public int getLevelStart(int index) {
+		return starts[index];
+	}
+
+	/**
+	 * It returns the position after the last process of a level.
+	 * 
+	 * @param index
+	 *            The position of the level.
+	 * @return The position after the last process.
+	 */
+	public int getLevelEnd(int index) {
+		if (index + 1 < segmentCount) {
+			return starts[index + 1];
+		}
+		return size;
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: SharedDeque.java
+ * Package: simulation
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.0
+ * 
+ * Modifies:
+ *  v1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.simulation;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * This class is a queue whose snapshots share its array. The elements are
+ * added in tail or in head and removed from the head. A slot of the array is
+ * written only once: the elements are appended after the last slot written and
+ * the removal only moves the head, so a snapshot is the range of the array
+ * between head and tail at the time it was taken and it costs O(1). When the
+ * array is full, or when an element is added in head of a slot already
+ * written, the live elements are copied into a new array and the snapshots
+ * keep the old one.
+ * </br>It is used by the scheduler to store the queues of the states (ready
+ * and terminated processes) without copying them in every state.
+ * 
+ * @version 1.0
+ */
+public class SharedDeque<E> implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = 305L;
+
+	/**
+	 * The initial capacity.
+	 */
+	private static final int CAPACITY = 8;
+
+	/**
+	 * The slots, shared with the snapshots.
+	 */
+	private transient Object[] items;
+
+	/**
+	 * The slot of the first element.
+	 */
+	private transient int head;
+
+	/**
+	 * The slot after the last element.
+	 */
+	private transient int tail;
+
+	/**
+	 * The lowest slot written in the array. The slots below it are free.
+	 */
+	private transient int low;
+
+	/**
+	 * It creates an empty queue.
+	 */
+	public SharedDeque() {
+		reallocate(0, 0);
+	}
+
+	/**
+	 * It adds an element in tail.
+	 * 
+	 * @param e
+	 *            The element.
+	 */
+	public void addLast(E e) {
+		if (tail == items.length) {
+			reallocate(0, size());
+		}
+		items[tail++] = e;
+	}
+
+	/**
+	 * It adds an element in head.
+	 * 
+	 * @param e
+	 *            The element.
+	 */
+	public void addFirst(E e) {
+		if (head == 0 || head != low) {
+			// the slot before the head can be in a snapshot
+			reallocate(Math.max(CAPACITY, size()), size());
+		}
+		items[--head] = e;
+		low = head;
+	}
+
+	/**
+	 * It removes the element in head.
+	 * 
+	 * @return the element, null if the queue is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public E removeFirst() {
+		if (head == tail) {
+			return null;
+		}
+		return (E) items[head++];
+	}
+
+	/**
+	 * It returns the number of elements.
+	 * 
+	 * @return the number of elements.
+	 */
+	public int size() {
+		return tail - head;
+	}
+
+	/**
+	 * It returns an unmodifiable list of the elements. The list does not
+	 * change when the queue is modified.
+	 * 
+	 * @return the snapshot.
+	 */
+	public List<E> snapshot() {
+		return new Snapshot<E>(items, head, tail - head);
+	}
+
+	/**
+	 * It copies the elements in a new array.
+	 * 
+	 * @param front
+	 *            The free slots before the elements.
+	 * @param size
+	 *            The number of elements.
+	 */
+	private void reallocate(int front, int size) {
+		Object[] old = items;
+		items = new Object[front + Math.max(CAPACITY, 2 * size)];
+		if (old != null) {
+			System.arraycopy(old, head, items, front, size);
+		}
+		head = front;
+		tail = front + size;
+		low = front;
+	}
+
+	/**
+	 * It writes only the elements.
+	 * 
+	 * @param out
+	 *            The stream.
+	 * @throws IOException
+	 *             If the stream fails.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(size());
+		for (int i = head; i < tail; i++) {
+			out.writeObject(items[i]);
+		}
+	}
+
+	/**
+	 * It reads the elements in a new array.
+	 * 
+	 * @param in
+	 *            The stream.
+	 * @throws IOException
+	 *             If the stream fails.
+	 * @throws ClassNotFoundException
+	 *             If a class is unknown.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException,
+			ClassNotFoundException {
+		in.defaultReadObject();
+		int size = in.readInt();
+		items = new Object[Math.max(CAPACITY, 2 * size)];
+		for (int i = 0; i < size; i++) {
+			items[i] = in.readObject();
+		}
+		head = 0;
+		tail = size;
+		low = 0;
+	}
+
+	/**
+	 * An unmodifiable range of the array of a queue.
+	 */
+	private static class Snapshot<E> extends AbstractList<E> implements
+			RandomAccess, Serializable {
+
+		/**
+		 * To serialize
+		 */
+		private static final long serialVersionUID = 306L;
+
+		/**
+		 * The array of the queue.
+		 */
+		private Object[] items;
+
+		/**
+		 * The slot of the first element.
+		 */
+		private int offset;
+
+		/**
+		 * The number of elements.
+		 */
+		private int size;
+
+		/**
+		 * It creates a snapshot.
+		 * 
+		 * @param items
+		 *            The array.
+		 * @param offset
+		 *            The slot of the first element.
+		 * @param size
+		 *            The number of elements.
+		 */
+		private Snapshot(Object[] items, int offset, int size) {
+			this.items = items;
+			this.offset = offset;
+			this.size = size;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@SuppressWarnings("unchecked")
+		public E get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index
+						+ ", Size: " + size);
+			}
+			return (E) items[offset + index];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * It serializes a copy of the elements, not the whole array.
+		 * 
+		 * @return the copy.
+		 */
+		private Object writeReplace() {
+			return new ArrayList<E>(this);
+		}
+	}
+}
@@ -21,9 +21,12 @@
  * Package: simulation
  * Author: Stefano Bertolin, Piero Dalle Pezze
  * Date: 28/01/2006
- * Version: 1.2
+ * Version: 1.6
  *
  * Modifies:
+ *  v1.6 (17/10/2026): The statistics are accumulated for each core.
+ *  v1.5 (17/10/2026): The simulation is executed while it is shown.
+ *  v1.4 (17/10/2026): The statistics are accumulated while the ticks are produced.
  *  v1.3 (19/11/2014): Removed automatic advancement and inserted manual incremental step.
  *  v1.2 (01/02/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  v1.1 (30/01/2006): Codify.
@@ -41,7 +44,7 @@ import org.rainbow.data.*;
  *
  * @author Stefano Bertolin
  * @author Dalle Pezze Piero
- * @version 1.3
+ * @version 1.6
  */
 public class Simulation {
 
@@ -51,6 +54,16 @@ public class Simulation {
 	 */
 	private LinkedList<SimulatedProcess> executingProcesses;
 
+	/**
+	 * It contains, for each tick, the process running on each core.
+	 */
+	private LinkedList<SimulatedProcess[]> executingCores;
+
+	/**
+	 * The counters of the statistics of the ticks in executingCores.
+	 */
+	private StatisticsAccumulator accumulator;
+
 	/**
 	 * The actual time.
 	 */
@@ -89,6 +102,8 @@ public class Simulation {
 		rainbowViews = rainbowMainGUI.getViews();
 		now = null;
 		executingProcesses = new LinkedList<SimulatedProcess>();
+		executingCores = new LinkedList<SimulatedProcess[]>();
+		accumulator = new StatisticsAccumulator();
 		evolution = new Evolution(conf);
 	}
 
@@ -129,12 +144,14 @@ public class Simulation {
 				carryon = false;
 			} else {
 				executingProcesses.add(next.getRunning());
+				executingCores.add(next.getRunningCores());
+				accumulator.add(executingCores.getLast(), 1);
 				rainbowViews.viewRunningProcesses(executingProcesses);
 				if (now != next) {
 					now = next;
 					rainbowViews.updateState(next);
 				}
-				if (executingProcesses.size() == evolution.getDuration()) {
+				if (evolution.isEnd()) {
 					rainbowMainGUI.setSimTerminated();
 					carryon = false;
 				}
@@ -156,10 +173,13 @@ public class Simulation {
 			// There is not a previous
 			if (previous == null) {
 				executingProcesses.clear();
+				executingCores.clear();
+				accumulator.clear();
 				now = null;
 				carryon = false;
 			} else {
 				executingProcesses.removeLast();
+				accumulator.remove(executingCores.removeLast(), 1);
 				rainbowViews.viewRunningProcesses(executingProcesses);
 				if (now != previous) {
 					now = previous;
@@ -176,6 +196,8 @@ public class Simulation {
 	public void start() {
 		evolution.start();
 		executingProcesses.clear();
+		executingCores.clear();
+		accumulator.clear();
 		now = null;
 		// Reset the rainbowMainGUI
 		rainbowMainGUI.setStartUp();
@@ -188,6 +210,8 @@ public class Simulation {
 		State j = null, i = evolution.forward();
 		while (i != null) {
 			executingProcesses.add(i.getRunning());
+			executingCores.add(i.getRunningCores());
+			accumulator.add(executingCores.getLast(), 1);
 			j = i;
 			i = evolution.forward();
 		}
@@ -204,19 +228,20 @@ public class Simulation {
 	 * It computes the statistics until this point of the simulation.
 	 */
 	public void statistics() {
-		if (executingProcesses.size() == evolution.getDuration()) {
-			LinkedList<SimulatedProcess> last = new LinkedList<SimulatedProcess>(
-					executingProcesses);
-			last.removeLast();
-			rainbowViews.viewStatistics(new Statistics(now, last));
+		if (executingProcesses.size() > 0 && evolution.isEnd()) {
+			// the last tick is the final state and it is not considered.
+			SimulatedProcess[] last = executingCores.getLast();
+			accumulator.remove(last, 1);
+			rainbowViews.viewStatistics(new Statistics(now, accumulator));
+			accumulator.add(last, 1);
 		} else if (executingProcesses.size() > 0) {
-			rainbowViews
-					.viewStatistics(new Statistics(now, executingProcesses));
+			rainbowViews.viewStatistics(new Statistics(now, accumulator));
 		}
 	}
 
 	/**
-	 * It returns the duration of the simulation.
+	 * It returns the duration of the simulation. The simulation is executed
+	 * until the end.
 	 *
 	 * @return the duration of the simulation expressed in tick of time.
 	 */
@@ -224,4 +249,16 @@ public class Simulation {
 		return evolution.getDuration();
 	}
 
+	/**
+	 * It returns true if the simulation lasts at least the ticks specified. It
+	 * is executed at most until that tick.
+	 *
+	 * @param ticks
+	 *            The number of ticks.
+	 * @return true if the duration is greater or equal to ticks.
+	 */
+	public boolean lastsAtLeast(int ticks) {
+		return evolution.lastsAtLeast(ticks);
+	}
+
 }
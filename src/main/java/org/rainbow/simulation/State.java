@@ -21,15 +21,25 @@
  * Package: simulation
  * Author: Stefano Bertolin, Piero Dalle Pezze
  * Date: 28/01/2006
- * Version: 1.2
+ * Version: 1.11
  * 
  * Modifies:
+ *  v1.11 (17/10/2026): Added the cpu usage at which the running processes complete.
+ *  v1.10 (17/10/2026): Added the processes aborted to recover from the deadlocks.
+ *  v1.9 (17/10/2026): Added the steals and the migration overhead of the run queues per core.
+ *  v1.8 (17/10/2026): Added the process running on each core.
+ *  v1.7 (17/10/2026): Added the work lost by the victims of the deadlocks.
+ *  v1.6 (17/10/2026): Added the cycle of the deadlock.
+ *  v1.5 (17/10/2026): The terminated processes are a List, shared between states.
+ *  v1.4 (17/10/2026): The ready queue is a ReadyQueue.
+ *  v1.3 (17/10/2026): Serializable, to save the states of the simulation.
  *  v1.2 (01/02/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  v1.1 (30/01/2006): Codify.
  *  v1.0 (28/01/2006): Documentation.
  */
 package org.rainbow.simulation;
 
+import java.io.Serializable;
 import java.util.*;
 import org.rainbow.data.*;
 
@@ -39,9 +49,14 @@ import org.rainbow.data.*;
  * 
  * @author Bertolin Stefano
  * @author Dalle Pezze Piero
- * @version 1.2
+ * @version 1.11
  */
-public class State {
+public class State implements Serializable {
+
+	/**
+	 * To serialize
+	 */
+	private static final long serialVersionUID = 303L;
 
 	/**
 	 * The duration of the state.
@@ -53,6 +68,33 @@ public class State {
 	 */
 	private boolean deadlock;
 
+	/**
+	 * The cycle of the deadlock: each process waits for its resource, held by
+	 * the process of the following element. It is null if there is no cycle.
+	 */
+	private ArrayList<ResourceAttribution> deadlockCycle = null;
+
+	/**
+	 * The executed time lost by the victims of the deadlocks until now.
+	 */
+	private int lostWork = 0;
+
+	/**
+	 * The number of victims of the deadlocks until now.
+	 */
+	private int victims = 0;
+
+	/**
+	 * The processes stolen by each core until now, null if the cores do not
+	 * have their own run queues.
+	 */
+	private int[] steals = null;
+
+	/**
+	 * The warm-up time charged to the migrated processes until now.
+	 */
+	private int migrationOverhead = 0;
+
 	/**
 	 * The current attributions of the resources to processes.
 	 */
@@ -63,6 +105,22 @@ public class State {
 	 */
 	private SimulatedProcess running = null;
 
+	/**
+	 * The process running on each core, null if the CPU has a single core.
+	 */
+	private SimulatedProcess[] runningCores = null;
+
+	/**
+	 * The cpu usage at which the running process completes its execution.
+	 */
+	private int completion = 0;
+
+	/**
+	 * The cpu usage at which the process running on each core completes its
+	 * execution, null if the CPU has a single core.
+	 */
+	private int[] completionCores = null;
+
 	/**
 	 * A flag to notify if there is a priority inversion.
 	 */
@@ -76,7 +134,7 @@ public class State {
 	/**
 	 * The ready queue.
 	 */
-	private ArrayList<SimulatedProcess> readyQueue;
+	private ReadyQueue readyQueue;
 
 	/**
 	 * The current queues of blocked processes.
@@ -86,7 +144,12 @@ public class State {
 	/**
 	 * The list of terminated processes.
 	 */
-	private ArrayList<SimulatedProcess> terminatedProcesses;
+	private List<SimulatedProcess> terminatedProcesses;
+
+	/**
+	 * The list of processes aborted to recover from the deadlocks.
+	 */
+	private List<SimulatedProcess> abortedProcesses;
 
 	/**
 	 * It creates an inner scheduler state.
@@ -152,6 +215,114 @@ public class State {
 		this.deadlock = deadlock;
 	}
 
+	/**
+	 * It returns the cycle of the deadlock. Each element is a resource with
+	 * the process waiting for it, and the resource is held by the process of
+	 * the following element (the first one for the last element).
+	 * 
+	 * @return the cycle of the deadlock, null if there is not a cycle.
+	 */
+	public ArrayList<ResourceAttribution> getDeadlockCycle() {
+		return deadlockCycle;
+	}
+
+	/**
+	 * It sets the cycle of the deadlock.
+	 * 
+	 * @param deadlockCycle
+	 *            the cycle of the deadlock.
+	 */
+	public void setDeadlockCycle(ArrayList<ResourceAttribution> deadlockCycle) {
+		this.deadlockCycle = deadlockCycle;
+	}
+
+	/**
+	 * It returns the cycle of the deadlock as text, for instance
+	 * "P1 -> R1 -> P2 -> R2 -> P1".
+	 * 
+	 * @return the cycle of the deadlock, an empty string if there is not a
+	 *         cycle.
+	 */
+	public String getDeadlockCycleText() {
+		if (deadlockCycle == null || deadlockCycle.isEmpty()) {
+			return "";
+		}
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < deadlockCycle.size(); i++) {
+			ResourceAttribution wait = deadlockCycle.get(i);
+			text.append(wait.getProcessList().get(0).getName()).append(" -> ")
+					.append(wait.getResource().getName()).append(" -> ");
+		}
+		text.append(deadlockCycle.get(0).getProcessList().get(0).getName());
+		return text.toString();
+	}
+
+	/**
+	 * It returns the executed time lost by the victims of the deadlocks
+	 * until now.
+	 * 
+	 * @return the executed time lost.
+	 */
+	public int getLostWork() {
+		return lostWork;
+	}
+
+	/**
+	 * It returns the number of victims of the deadlocks until now.
+	 * 
+	 * @return the number of victims.
+	 */
+	public int getVictims() {
+		return victims;
+	}
+
+	/**
+	 * It sets the work lost by the victims of the deadlocks.
+	 * 
+	 * @param lostWork
+	 *            the executed time lost.
+	 * @param victims
+	 *            the number of victims.
+	 */
+	public void setLostWork(int lostWork, int victims) {
+		this.lostWork = lostWork;
+		this.victims = victims;
+	}
+
+	/**
+	 * It returns the processes stolen by each core until now.
+	 * 
+	 * @return the steals of each core, null if the cores do not have their
+	 *         own run queues.
+	 */
+	public int[] getSteals() {
+		return steals;
+	}
+
+	/**
+	 * It returns the warm-up time charged to the migrated processes until
+	 * now.
+	 * 
+	 * @return the migration overhead.
+	 */
+	public int getMigrationOverhead() {
+		return migrationOverhead;
+	}
+
+	/**
+	 * It sets the migrations of the processes between the run queues of the
+	 * cores.
+	 * 
+	 * @param steals
+	 *            the steals of each core. It must not change later.
+	 * @param migrationOverhead
+	 *            the warm-up time charged to the migrated processes.
+	 */
+	public void setMigrations(int[] steals, int migrationOverhead) {
+		this.steals = steals;
+		this.migrationOverhead = migrationOverhead;
+	}
+
 	/**
 	 * It returns the current attribution of the resources.
 	 * 
@@ -191,12 +362,74 @@ public class State {
 		this.running = running;
 	}
 
+	/**
+	 * It returns the process running on each core. An element is null if its
+	 * core is idle.
+	 * 
+	 * @return The running processes, one for each core.
+	 */
+	public SimulatedProcess[] getRunningCores() {
+		if (runningCores == null) {
+			return new SimulatedProcess[] { running };
+		}
+		return runningCores;
+	}
+
+	/**
+	 * It sets the process running on each core. The running process is the
+	 * one of the first core.
+	 * 
+	 * @param runningCores
+	 *            The running processes, one for each core.
+	 */
+	public void setRunningCores(SimulatedProcess[] runningCores) {
+		this.runningCores = runningCores;
+		this.running = runningCores.length > 0 ? runningCores[0] : null;
+	}
+
+	/**
+	 * It sets the cpu usage at which the running process completes its
+	 * execution: its execution time, plus the warm-up time charged by its
+	 * migrations and the usage lost by its restarts.
+	 * 
+	 * @param completion
+	 *            The cpu usage at the completion.
+	 */
+	public void setCompletion(int completion) {
+		this.completion = completion;
+	}
+
+	/**
+	 * It returns the cpu usage at which the process running on each core
+	 * completes its execution. An element is 0 if its core is idle.
+	 * 
+	 * @return The cpu usages at the completion, one for each core.
+	 */
+	public int[] getCompletionCores() {
+		if (completionCores == null) {
+			return new int[] { completion };
+		}
+		return completionCores;
+	}
+
+	/**
+	 * It sets the cpu usage at which the process running on each core
+	 * completes its execution.
+	 * 
+	 * @param completionCores
+	 *            The cpu usages at the completion, one for each core.
+	 */
+	public void setCompletionCores(int[] completionCores) {
+		this.completionCores = completionCores;
+		this.completion = completionCores.length > 0 ? completionCores[0] : 0;
+	}
+
 	/**
 	 * It returns the ready queue.
 	 * 
 	 * @return The ready queue.
 	 */
-	public ArrayList<SimulatedProcess> getReady() {
+	public ReadyQueue getReady() {
 		return readyQueue;
 	}
 
@@ -206,7 +439,7 @@ public class State {
 	 * @param readyQueue
 	 *            The ready queue.
 	 */
-	public void setReady(ArrayList<SimulatedProcess> readyQueue) {
+	public void setReady(ReadyQueue readyQueue) {
 		this.readyQueue = readyQueue;
 	}
 
@@ -215,7 +448,7 @@ public class State {
 	 * 
 	 * @return The list of the terminated processes.
 	 */
-	public ArrayList<SimulatedProcess> getTerminated() {
+	public List<SimulatedProcess> getTerminated() {
 		return terminatedProcesses;
 	}
 
@@ -225,10 +458,31 @@ public class State {
 	 * @param terminatedProcesses
 	 *            The terminated processes.
 	 */
-	public void setTerminated(ArrayList<SimulatedProcess> terminatedProcesses) {
+	public void setTerminated(List<SimulatedProcess> terminatedProcesses) {
 		this.terminatedProcesses = terminatedProcesses;
 	}
 
+	/**
+	 * It returns the list of the processes aborted to recover from the
+	 * deadlocks.
+	 * 
+	 * @return The list of the aborted processes.
+	 */
+	public List<SimulatedProcess> getAborted() {
+		return abortedProcesses;
+	}
+
+	/**
+	 * It sets the list of the processes aborted to recover from the
+	 * deadlocks.
+	 * 
+	 * @param abortedProcesses
+	 *            The aborted processes.
+	 */
+	public void setAborted(List<SimulatedProcess> abortedProcesses) {
+		this.abortedProcesses = abortedProcesses;
+	}
+
 	/**
 	 * It returns a list of queues that contain blocked processes.
 	 * 
@@ -21,9 +21,18 @@
  * Package: simulation
  * Author: Stefano Bertolin, Piero Dalle Pezze
  * Date: 28/01/2006
- * Version: 1.2
+ * Version: 1.11
  * 
  * Modifies:
+ *  v1.11 (17/10/2026): A running process is completed when it reaches the cpu usage of its completion.
+ *  v1.10 (17/10/2026): The processes aborted to recover from the deadlocks count in the averages.
+ *  v1.9 (17/10/2026): Added the utilization and the steals of each core, and the migration overhead.
+ *  v1.8 (17/10/2026): The statistics of the process running on each core.
+ *  v1.7 (17/10/2026): Added the work lost by the victims of the deadlocks.
+ *  v1.6 (17/10/2026): The terminated processes are a List.
+ *  v1.5 (17/10/2026): The ready queue has no placeholder process to skip.
+ *  v1.4 (17/10/2026): The totals are long, for large simulations.
+ *  v1.3 (17/10/2026): Statistics from a StatisticsAccumulator.
  *  v1.2 (01/02/2007): English translation. Java6 compatible. (Piero Dalle Pezze)
  *  v1.1 (30/01/2006): Codify.
  *  v1.0 (28/01/2006): Documentation.
@@ -38,7 +47,7 @@ import org.rainbow.data.*;
  * 
  * @author Stefano Bertolin
  * @author Piero Dalle Pezze
- * @version 1.2
+ * @version 1.11
  */
 public class Statistics {
 
@@ -62,6 +71,36 @@ public class Statistics {
 	 */
 	private double responseTimeAV = 0;
 
+	/**
+	 * The executed time lost by the victims of the deadlocks.
+	 */
+	private int lostWork = 0;
+
+	/**
+	 * The number of victims of the deadlocks.
+	 */
+	private int victims = 0;
+
+	/**
+	 * The number of processes aborted to recover from the deadlocks.
+	 */
+	private int aborted = 0;
+
+	/**
+	 * The percentage of the ticks each core was busy.
+	 */
+	private double[] coreUtilization;
+
+	/**
+	 * The processes stolen by each core.
+	 */
+	private int[] coreSteals;
+
+	/**
+	 * The warm-up time charged to the migrated processes.
+	 */
+	private int migrationOverhead = 0;
+
 	/**
 	 * List of ProcessStatistic.
 	 */
@@ -77,28 +116,39 @@ public class Statistics {
 	 *            running process.
 	 */
 	public Statistics(State now, LinkedList<SimulatedProcess> executed) {
+		this(now, accumulate(executed));
+	}
+
+	/**
+	 * It creates all the statistics of the simulation from the counters
+	 * accumulated during the simulation. The cost is proportional to the
+	 * number of processes.
+	 * 
+	 * @param now
+	 *            The actual time of the simulation.
+	 * @param executed
+	 *            The counters of the ticks executed until now.
+	 */
+	public Statistics(State now, StatisticsAccumulator executed) {
 		procStat = new ArrayList<ProcessStatistics>();
-		SimulatedProcess running = now.getRunning();
-		ArrayList<SimulatedProcess> ready = now.getReady();
+		SimulatedProcess[] running = now.getRunningCores();
+		int[] completions = now.getCompletionCores();
+		ReadyQueue ready = now.getReady();
 		ArrayList<ResourceAttribution> blocked = now.getBlockedQueues();
-		ArrayList<SimulatedProcess> terminated = now.getTerminated();
+		List<SimulatedProcess> terminated = now.getTerminated();
+		List<SimulatedProcess> aborted = now.getAborted();
 		int i;
 
 		// for each process, it computes its statistics.
-		if (running != null) {
-			procStat.add(new ProcessStatistics(running, executed));
+		for (i = 0; i < running.length; i++) {
+			if (running[i] != null) {
+				procStat.add(new ProcessStatistics(running[i], executed,
+						completions[i]));
+			}
 		}
 
 		for (i = 0; i < ready.size(); i++) {
-			/*
-			 * This test avoids to consider processes created during the
-			 * simulation from policies with priority or multilevel. (See the
-			 * method getReadyQueue() in HPF.java, MF.java,
-			 * PriorityRoundRobin.java .)
-			 */
-			if (ready.get(i).getActivationTime() != -1) {
-				procStat.add(new ProcessStatistics(ready.get(i), executed));
-			}
+			procStat.add(new ProcessStatistics(ready.get(i), executed));
 		}
 
 		ResourceAttribution ra;
@@ -111,11 +161,19 @@ public class Statistics {
 						executed));
 		}
 		for (i = 0; i < terminated.size(); i++) {
-			procStat.add(new ProcessStatistics(terminated.get(i), executed));
+			procStat.add(new ProcessStatistics(terminated.get(i), executed,
+					true));
+		}
+		// the aborted processes count in the averages, but not completed.
+		for (i = 0; i < aborted.size(); i++) {
+			procStat.add(new ProcessStatistics(aborted.get(i), executed,
+					false, true));
 		}
 
 		// it computes all general statistics.
-		int completed = 0, started = 0, totWaiting = 0, totResponse = 0, totTurnAround = 0;
+		int completed = 0, started = 0;
+		// the totals of large simulations do not fit in an int.
+		long totWaiting = 0, totResponse = 0, totTurnAround = 0;
 		ProcessStatistics sp;
 		for (i = 0; i < procStat.size(); i++) {
 			sp = procStat.get(i);
@@ -136,7 +194,35 @@ public class Statistics {
 			turnAroundAV = (double) totTurnAround / completed;
 		if (started != 0)
 			responseTimeAV = (double) totResponse / started;
-		throughput = (double) 100 * completed / executed.size();
+		throughput = (double) 100 * completed / executed.getTicks();
+		lostWork = now.getLostWork();
+		victims = now.getVictims();
+		this.aborted = aborted.size();
+
+		// the statistics of the cores.
+		coreUtilization = new double[running.length];
+		for (i = 0; i < running.length; i++) {
+			if (executed.getTicks() != 0)
+				coreUtilization[i] = (double) 100 * executed.getCoreBusy(i)
+						/ executed.getTicks();
+		}
+		int[] steals = now.getSteals();
+		coreSteals = steals == null ? new int[running.length] : steals.clone();
+		migrationOverhead = now.getMigrationOverhead();
+	}
+
+	/**
+	 * It returns the counters of a list containing, for each tick, the
+	 * reference to the running process.
+	 */
+	private static StatisticsAccumulator accumulate(
+			LinkedList<SimulatedProcess> executed) {
+		StatisticsAccumulator accumulator = new StatisticsAccumulator();
+		Iterator<SimulatedProcess> it = executed.iterator();
+		while (it.hasNext()) {
+			accumulator.add(it.next(), 1);
+		}
+		return accumulator;
 	}
 
 	/**
@@ -175,6 +261,64 @@ public class Statistics {
 		return throughput;
 	}
 
+	/**
+	 * It returns the executed time lost by the victims of the deadlocks. It is
+	 * included in the CPU usage of the restarted processes.
+	 * 
+	 * @return the executed time lost.
+	 */
+	public int getLostWork() {
+		return lostWork;
+	}
+
+	/**
+	 * It returns the number of victims of the deadlocks.
+	 * 
+	 * @return the number of victims.
+	 */
+	public int getVictims() {
+		return victims;
+	}
+
+	/**
+	 * It returns the number of processes aborted to recover from the
+	 * deadlocks.
+	 * 
+	 * @return the number of aborted processes.
+	 */
+	public int getAborted() {
+		return aborted;
+	}
+
+	/**
+	 * It returns the percentage of the ticks each core was busy.
+	 * 
+	 * @return the utilization of each core.
+	 */
+	public double[] getCoreUtilization() {
+		return coreUtilization;
+	}
+
+	/**
+	 * It returns the processes stolen by each core. They are all 0 if the
+	 * cores share the run queue.
+	 * 
+	 * @return the steals of each core.
+	 */
+	public int[] getCoreSteals() {
+		return coreSteals;
+	}
+
+	/**
+	 * It returns the warm-up time charged to the migrated processes. It is
+	 * included in the CPU usage of the processes.
+	 * 
+	 * @return the migration overhead.
+	 */
+	public int getMigrationOverhead() {
+		return migrationOverhead;
+	}
+
 	/**
 	 * It returns a list of the statistics of every process in the simulation.
 	 * 
@@ -0,0 +1,271 @@
+/*
+ * Rainbow - A simulator of processes and resources in a multitasking computer.
+ * Copyright (C) 2006. E-mail: piero.dallepezze@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ *
+ * File: StatisticsAccumulator.java
+ * Package: simulation
+ * Author: Rainbow team
+ * Date: 17/10/2026
+ * Version: 1.2
+ * 
+ * Modifies:
+ *  v1.2 (17/10/2026): Added the busy ticks of each core.
+ *  v1.1 (17/10/2026): Added the ticks of a CPU with more cores.
+ *  v1.0 (17/10/2026): Documentation and codify.
+ */
+package org.rainbow.simulation;
+
+import java.util.*;
+import org.rainbow.data.*;
+
+/**
+ * It accumulates the counters needed by the statistics while the ticks of a
+ * simulation are produced. For each process it keeps the cpu usage, the first
+ * and the last tick of execution, so the statistics at the current tick are
+ * computed in a time proportional to the number of processes instead of
+ * walking the whole history of the simulation.
+ * 
+ * Ticks can be removed from the end (moving the simulation backward). The
+ * last tick of execution is used only when the process has terminated, that
+ * is when its last tick is the last one added, so it is always correct.
+ * 
+ * @version 1.2
+ */
+public class StatisticsAccumulator {
+
+	/**
+	 * The counters of a process.
+	 */
+	private static class Counters {
+
+		/**
+		 * The cpu usage time.
+		 */
+		int cpuUsage = 0;
+
+		/**
+		 * The first tick of execution. (-1) if the process never executed.
+		 */
+		int firstRun = -1;
+
+		/**
+		 * The last tick of execution.
+		 */
+		int lastRun = -1;
+	}
+
+	/**
+	 * The counters of every process which executed.
+	 */
+	private HashMap<SimulatedProcess, Counters> counters;
+
+	/**
+	 * The number of ticks accumulated.
+	 */
+	private int ticks = 0;
+
+	/**
+	 * The number of ticks each core was busy.
+	 */
+	private int[] coreBusy = new int[1];
+
+	/**
+	 * It creates an empty accumulator.
+	 */
+	public StatisticsAccumulator() {
+		counters = new HashMap<SimulatedProcess, Counters>();
+	}
+
+	/**
+	 * It adds ticks at the end of the simulation.
+	 * 
+	 * @param running
+	 *            The process running in the ticks, null if the CPU is idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	public void add(SimulatedProcess running, int n) {
+		execute(0, running, n);
+		ticks += n;
+	}
+
+	/**
+	 * It adds ticks at the end of the simulation of a CPU with more cores.
+	 * 
+	 * @param running
+	 *            The process running on each core in the ticks. An element is
+	 *            null if its core is idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	public void add(SimulatedProcess[] running, int n) {
+		for (int i = 0; i < running.length; i++) {
+			execute(i, running[i], n);
+		}
+		ticks += n;
+	}
+
+	/**
+	 * It adds the ticks executed by a process at the end of the simulation.
+	 * 
+	 * @param core
+	 *            The core of the process.
+	 * @param running
+	 *            The process running in the ticks, null if the core is idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	private void execute(int core, SimulatedProcess running, int n) {
+		if (running != null && n > 0) {
+			if (core >= coreBusy.length) {
+				coreBusy = Arrays.copyOf(coreBusy, core + 1);
+			}
+			coreBusy[core] += n;
+			Counters c = counters.get(running);
+			if (c == null) {
+				c = new Counters();
+				counters.put(running, c);
+			}
+			if (c.cpuUsage == 0)
+				c.firstRun = ticks;
+			c.cpuUsage += n;
+			c.lastRun = ticks + n - 1;
+		}
+	}
+
+	/**
+	 * It removes ticks from the end of the simulation.
+	 * 
+	 * @param running
+	 *            The process running in the removed ticks, null if the CPU was
+	 *            idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	public void remove(SimulatedProcess running, int n) {
+		unexecute(0, running, n);
+		ticks -= n;
+	}
+
+	/**
+	 * It removes ticks from the end of the simulation of a CPU with more
+	 * cores.
+	 * 
+	 * @param running
+	 *            The process running on each core in the removed ticks. An
+	 *            element is null if its core was idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	public void remove(SimulatedProcess[] running, int n) {
+		for (int i = 0; i < running.length; i++) {
+			unexecute(i, running[i], n);
+		}
+		ticks -= n;
+	}
+
+	/**
+	 * It removes the ticks executed by a process from the end of the
+	 * simulation.
+	 * 
+	 * @param core
+	 *            The core of the process.
+	 * @param running
+	 *            The process running in the removed ticks, null if the core
+	 *            was idle.
+	 * @param n
+	 *            The number of ticks.
+	 */
+	private void unexecute(int core, SimulatedProcess running, int n) {
+		if (running != null && n > 0) {
+			coreBusy[core] -= n;
+			Counters c = counters.get(running);
+			c.cpuUsage -= n;
+			if (c.cpuUsage == 0) {
+				c.firstRun = -1;
+				c.lastRun = -1;
+			}
+		}
+	}
+
+	/**
+	 * It removes all the ticks.
+	 */
+	public void clear() {
+		counters.clear();
+		ticks = 0;
+		coreBusy = new int[1];
+	}
+
+	/**
+	 * It returns the number of ticks accumulated.
+	 * 
+	 * @return the number of ticks.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * It returns the number of ticks a core was busy.
+	 * 
+	 * @param core
+	 *            The core.
+	 * @return the number of busy ticks, 0 if the core never executed.
+	 */
+	public int getCoreBusy(int core) {
+		return core < coreBusy.length ? coreBusy[core] : 0;
+	}
+
+	/**
+	 * It returns the cpu usage time of a process.
+	 * 
+	 * @param process
+	 *            The process.
+	 * @return the number of ticks the process executed.
+	 */
+	public int getCPUUsage(SimulatedProcess process) {
+		Counters c = counters.get(process);
+		return c == null ? 0 : c.cpuUsage;
+	}
+
+	/**
+	 * It returns the first tick of execution of a process.
+	 * 
+	 * @param process
+	 *            The process.
+	 * @return the first tick of execution, -1 if the process never executed.
+	 */
+	public int getFirstRun(SimulatedProcess process) {
+		Counters c = counters.get(process);
+		return c == null ? -1 : c.firstRun;
+	}
+
+	/**
+	 * It returns the last tick of execution of a process.
+	 * 
+	 * @param process
+	 *            The process.
+	 * @return the last tick of execution, -1 if the process never executed.
+	 */
+	public int getLastRun(SimulatedProcess process) {
+		Counters c = counters.get(process);
+		return c == null ? -1 : c.lastRun;
+	}
+
+}